@@ -0,0 +1,78 @@
+package com.n11.eventflow.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.n11.eventflow.config.ModelMapperConfig;
+import com.n11.eventflow.model.dto.Agenda.Response.GetConferenceAgendaResponseDTO;
+import com.n11.eventflow.model.dto.Agenda.Response.TrackResponseDTO;
+import com.n11.eventflow.model.dto.Presentation.PresentationInfoDTO;
+import com.n11.eventflow.model.entity.Presentation;
+import com.n11.eventflow.util.ConferenceAgendaUtil;
+import com.n11.eventflow.util.mapper.MapperUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Regression benchmark of the three steps behind GET /agenda: mapping the stored presentations to
+ * DTOs, scheduling them with the default GREEDY strategy and serializing the agenda to JSON.
+ *
+ * Every step is measured from 10 to 1M presentations for each DurationDistribution, so a change
+ * that only hurts small events or a single duration mix still shows up. Results are written as
+ * JSON by the benchmark profile and can be compared against a stored baseline with
+ * BenchmarkBaselineComparator.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class AgendaHotPathBenchmark {
+
+    @Param({"10", "1000", "100000", "1000000"})
+    private int presentationCount;
+
+    @Param({"UNIFORM", "CONFERENCE", "LIGHTNING", "WORKSHOP"})
+    private DurationDistribution distribution;
+
+    private final ConferenceAgendaUtil conferenceAgendaUtil = new ConferenceAgendaUtil();
+    private final MapperUtil mapperUtil = new MapperUtil(new ModelMapperConfig().modelMapper());
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private List<Presentation> entities;
+    private List<PresentationInfoDTO> presentations;
+    private GetConferenceAgendaResponseDTO agenda;
+
+    @Setup
+    public void setUp() {
+        presentations = distribution.presentations(presentationCount);
+        entities = new ArrayList<>(presentationCount);
+        for (PresentationInfoDTO presentation : presentations) {
+            entities.add(new Presentation(presentation.getName(), presentation.getDuration()));
+        }
+        agenda = new GetConferenceAgendaResponseDTO(conferenceAgendaUtil.allocateSessions(presentations));
+    }
+
+    @Benchmark
+    public List<PresentationInfoDTO> convertToDTO() {
+        return mapperUtil.convertToDTOList(entities, PresentationInfoDTO.class);
+    }
+
+    @Benchmark
+    public List<TrackResponseDTO> allocateSessions() {
+        return conferenceAgendaUtil.allocateSessions(presentations);
+    }
+
+    /**
+     * Writes to a discarding stream, so only the serializer is measured and not the growth of an
+     * output buffer.
+     */
+    @Benchmark
+    public void serializeAgenda() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), agenda);
+    }
+}
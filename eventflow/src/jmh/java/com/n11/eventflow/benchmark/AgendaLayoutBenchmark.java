@@ -0,0 +1,59 @@
+package com.n11.eventflow.benchmark;
+
+import com.n11.eventflow.model.dto.Agenda.Response.TrackResponseDTO;
+import com.n11.eventflow.model.dto.Presentation.PresentationInfoDTO;
+import com.n11.eventflow.util.ConferenceAgendaUtil;
+import com.n11.eventflow.util.scheduling.AgendaLayout;
+import com.n11.eventflow.util.scheduling.SchedulingStrategyType;
+import com.n11.eventflow.util.scheduling.TrackPlan;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures time and allocation of laying agendas out in time.
+ *
+ * The benchmark profile runs JMH with the GC profiler, so gc.alloc.rate.norm reports the bytes
+ * allocated per operation. layoutSessions only fills the primitive layout arrays, toTrackResponses
+ * adds the response DTOs on top of it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AgendaLayoutBenchmark {
+
+    @Param({"1000", "100000"})
+    private int presentationCount;
+
+    private final ConferenceAgendaUtil conferenceAgendaUtil = new ConferenceAgendaUtil();
+    private List<PresentationInfoDTO> presentations;
+    private List<TrackPlan> greedyPlans;
+
+    @Param({"UNIFORM"})
+    private DurationDistribution distribution;
+
+    @Setup
+    public void setUp() {
+        presentations = distribution.presentations(presentationCount);
+        greedyPlans = conferenceAgendaUtil.planSessions(presentations, SchedulingStrategyType.GREEDY);
+    }
+
+    @Benchmark
+    public AgendaLayout greedyLayout() {
+        return conferenceAgendaUtil.layoutSessions(presentations, SchedulingStrategyType.GREEDY);
+    }
+
+    @Benchmark
+    public List<TrackResponseDTO> greedyAgenda() {
+        return conferenceAgendaUtil.allocateSessions(presentations, SchedulingStrategyType.GREEDY);
+    }
+
+    @Benchmark
+    public List<TrackResponseDTO> plannedTracksLayout() {
+        return conferenceAgendaUtil.layoutTracks(greedyPlans);
+    }
+}
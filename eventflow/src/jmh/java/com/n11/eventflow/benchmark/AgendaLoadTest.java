@@ -0,0 +1,207 @@
+package com.n11.eventflow.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.n11.eventflow.EventflowApplication;
+import com.n11.eventflow.model.dto.Presentation.Request.CreatePresentationRequestDTO;
+import com.n11.eventflow.service.PresentationService;
+import com.n11.eventflow.util.importer.PresentationImportRow;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares throughput and latency of the platform thread mode, the virtual thread mode and the
+ * write-behind mode, in which creates are stored in micro-batches, under a mixed load of
+ * presentation creates and agenda reads.
+ *
+ * Starts a throwaway Postgres container, then runs the application once per mode against it, each
+ * with its own event so the runs do not share data. Every client sends requests back to back;
+ * GREEDY agendas are mostly patched in the cache, FIRST_FIT_DECREASING agendas are evicted by every
+ * create and reloaded from the database. The virtual thread mode is skipped on Java versions
+ * before 21.
+ *
+ * Results are printed and written to target/load-test-result.json.
+ *
+ * Usage: AgendaLoadTest [clients, default 200] [seconds, default 30]
+ */
+public class AgendaLoadTest {
+
+    private static final int SEED_PRESENTATIONS = 2000;
+    private static final double CREATE_RATIO = 0.2;
+    private static final int WARMUP_SECONDS = 10;
+
+    private static final String CREATE = "POST /presentation/create";
+    private static final String GREEDY_AGENDA = "GET /agenda?strategy=GREEDY";
+    private static final String PACKED_AGENDA = "GET /agenda?strategy=FIRST_FIT_DECREASING";
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+
+        Map<String, Map<String, EndpointResult>> results = new LinkedHashMap<>();
+        try (PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine").withCommand("postgres", "-c", "max_connections=200")) {
+            postgres.start();
+            results.put("platform", run(postgres, "platform", clients, seconds));
+            if (Runtime.version().feature() >= 21) {
+                results.put("virtual", run(postgres, "virtual", clients, seconds));
+            } else {
+                System.out.println("Skipping the virtual thread mode, it requires Java 21");
+            }
+            results.put("write-behind", run(postgres, "write-behind", clients, seconds));
+        }
+
+        File resultFile = new File("target/load-test-result.json");
+        resultFile.getParentFile().mkdirs();
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(resultFile, results);
+        System.out.println("Results written to " + resultFile.getPath());
+    }
+
+    private static Map<String, EndpointResult> run(PostgreSQLContainer<?> postgres, String mode, int clients, int seconds) throws InterruptedException {
+        String eventKey = "load-" + mode;
+        SpringApplicationBuilder application = new SpringApplicationBuilder(EventflowApplication.class)
+                .properties("server.port=0",
+                        "spring.datasource.url=" + postgres.getJdbcUrl() + "&reWriteBatchedInserts=true",
+                        "spring.datasource.username=" + postgres.getUsername(),
+                        "spring.datasource.password=" + postgres.getPassword(),
+                        "spring.sql.init.mode=never");
+        if (mode.equals("virtual")) {
+            application.profiles("virtual");
+        } else if (mode.equals("write-behind")) {
+            application.properties("eventflow.presentation.write-behind.enabled=true");
+        }
+
+        try (ConfigurableApplicationContext context = application.run()) {
+            seed(context.getBean(PresentationService.class), eventKey);
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).connectTimeout(Duration.ofSeconds(5)).build();
+
+            System.out.printf("%s mode: warming up for %d s with %d clients%n", mode, WARMUP_SECONDS, clients);
+            drive(httpClient, baseUrl, eventKey, clients, WARMUP_SECONDS);
+            System.out.printf("%s mode: measuring for %d s%n", mode, seconds);
+            Map<String, EndpointResult> result = drive(httpClient, baseUrl, eventKey, clients, seconds);
+            result.forEach((endpoint, endpointResult) -> System.out.printf("%-12s %-42s %s%n", mode, endpoint, endpointResult));
+            return result;
+        }
+    }
+
+    static void seed(PresentationService presentationService, String eventKey) {
+        List<PresentationImportRow> rows = new ArrayList<>(SEED_PRESENTATIONS);
+        for (int i = 0; i < SEED_PRESENTATIONS; i++) {
+            rows.add(new PresentationImportRow(i + 1, new CreatePresentationRequestDTO("Talk " + i, 30 + i % 4 * 15), null));
+        }
+        presentationService.bulkCreatePresentation(eventKey, rows.iterator());
+    }
+
+    private static Map<String, EndpointResult> drive(HttpClient httpClient, String baseUrl, String eventKey, int clients, int seconds) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        List<Map<String, Recorder>> recorders = new ArrayList<>(clients);
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        for (int client = 0; client < clients; client++) {
+            Map<String, Recorder> clientRecorders = Map.of(CREATE, new Recorder(), GREEDY_AGENDA, new Recorder(), PACKED_AGENDA, new Recorder());
+            recorders.add(clientRecorders);
+            executor.execute(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                int created = 0;
+                while (System.nanoTime() < deadline) {
+                    double draw = random.nextDouble();
+                    if (draw < CREATE_RATIO) {
+                        String body = "{\"name\":\"Load talk " + Thread.currentThread().getId() + "-" + created++ + "\",\"duration\":" + (15 + random.nextInt(16) * 5) + "}";
+                        send(httpClient, HttpRequest.newBuilder(URI.create(baseUrl + "/presentation/create?event=" + eventKey))
+                                .header("Content-Type", "application/json").POST(HttpRequest.BodyPublishers.ofString(body)), clientRecorders.get(CREATE));
+                    } else if (draw < (1 + CREATE_RATIO) / 2) {
+                        send(httpClient, HttpRequest.newBuilder(URI.create(baseUrl + "/agenda?strategy=GREEDY&event=" + eventKey)).GET(), clientRecorders.get(GREEDY_AGENDA));
+                    } else {
+                        send(httpClient, HttpRequest.newBuilder(URI.create(baseUrl + "/agenda?strategy=FIRST_FIT_DECREASING&event=" + eventKey)).GET(), clientRecorders.get(PACKED_AGENDA));
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(seconds + 60L, TimeUnit.SECONDS);
+
+        Map<String, EndpointResult> results = new LinkedHashMap<>();
+        for (String endpoint : List.of(CREATE, GREEDY_AGENDA, PACKED_AGENDA)) {
+            Recorder merged = new Recorder();
+            for (Map<String, Recorder> clientRecorders : recorders) {
+                merged.addAll(clientRecorders.get(endpoint));
+            }
+            results.put(endpoint, merged.toResult(seconds));
+        }
+        return results;
+    }
+
+    private static void send(HttpClient httpClient, HttpRequest.Builder request, Recorder recorder) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<Void> response = httpClient.send(request.timeout(Duration.ofSeconds(30)).build(), HttpResponse.BodyHandlers.discarding());
+            recorder.record(System.nanoTime() - start, response.statusCode() < 400);
+        } catch (IOException e) {
+            recorder.record(System.nanoTime() - start, false);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Latencies of one client and endpoint, in nanoseconds. Only written by its own client.
+     */
+    static class Recorder {
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+
+        void record(long latency, boolean success) {
+            if (!success) {
+                errors++;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latency;
+        }
+
+        void addAll(Recorder other) {
+            for (int i = 0; i < other.count; i++) {
+                record(other.latencies[i], true);
+            }
+            errors += other.errors;
+        }
+
+        EndpointResult toResult(int seconds) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return new EndpointResult(count, errors, (double) count / seconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.99), count == 0 ? 0 : sorted[count - 1] / 1e6);
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            return sorted.length == 0 ? 0 : sorted[(int) Math.ceil(quantile * sorted.length) - 1] / 1e6;
+        }
+    }
+
+    public record EndpointResult(int requests, int errors, double throughput, double p50Millis, double p99Millis, double maxMillis) {
+        @Override
+        public String toString() {
+            return String.format("%8d req %6d err %9.1f req/s  p50 %8.2f ms  p99 %8.2f ms  max %8.2f ms",
+                    requests, errors, throughput, p50Millis, p99Millis, maxMillis);
+        }
+    }
+}
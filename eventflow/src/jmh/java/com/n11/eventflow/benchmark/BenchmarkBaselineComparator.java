@@ -0,0 +1,121 @@
+package com.n11.eventflow.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares a JMH JSON result file with a baseline run and fails if a benchmark got slower.
+ *
+ * Benchmarks are matched by name and parameters. A result counts as a regression when it is worse
+ * than the baseline by more than the threshold, after both scores have been moved towards each
+ * other by their error margins, so noise alone does not fail the comparison. Benchmarks that exist
+ * in only one of the files are listed but never fail it. Without a baseline file the comparison is
+ * skipped.
+ *
+ * Usage: BenchmarkBaselineComparator baseline.json result.json [threshold, default 0.10]
+ */
+public class BenchmarkBaselineComparator {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkBaselineComparator <baseline.json> <result.json> [threshold]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 0.10;
+        File baselineFile = new File(args[0]);
+        if (!baselineFile.isFile()) {
+            // A fresh checkout has no baseline yet, which is not a regression
+            System.out.printf("No baseline at %s, skipping the comparison. Copy the result of a release run there to create one.%n", baselineFile);
+            return;
+        }
+        ObjectMapper objectMapper = new ObjectMapper();
+        Map<String, JsonNode> baseline = readResults(objectMapper, baselineFile);
+        Map<String, JsonNode> current = readResults(objectMapper, new File(args[1]));
+
+        int regressions = 0;
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("NEW        %s%n", entry.getKey());
+                continue;
+            }
+            double change = relativeChange(before, entry.getValue());
+            boolean regressed = isRegression(before, entry.getValue(), threshold);
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-10s %s %+.1f%% (%s -> %s %s)%n", regressed ? "REGRESSED" : "OK", entry.getKey(), change * 100,
+                    format(score(before)), format(score(entry.getValue())), entry.getValue().path("primaryMetric").path("scoreUnit").asText());
+        }
+        for (String key : baseline.keySet()) {
+            if (!current.containsKey(key)) {
+                System.out.printf("MISSING    %s%n", key);
+            }
+        }
+
+        System.out.printf("%d of %d benchmarks regressed by more than %.0f%%%n", regressions, current.size(), threshold * 100);
+        System.exit(regressions == 0 ? 0 : 1);
+    }
+
+    private static Map<String, JsonNode> readResults(ObjectMapper objectMapper, File file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : objectMapper.readTree(file)) {
+            results.put(key(result), result);
+        }
+        return results;
+    }
+
+    /**
+     * The benchmark method with its parameters in name order, e.g.
+     * AgendaHotPathBenchmark.allocateSessions{distribution=UNIFORM, presentationCount=1000}.
+     */
+    private static String key(JsonNode result) {
+        String benchmark = result.path("benchmark").asText();
+        Map<String, String> params = new TreeMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = result.path("params").fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            params.put(field.getKey(), field.getValue().asText());
+        }
+        return benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1) + (params.isEmpty() ? "" : params.toString());
+    }
+
+    // Throughput is better when higher, every other mode measures time
+    private static boolean higherIsBetter(JsonNode result) {
+        return "thrpt".equals(result.path("mode").asText());
+    }
+
+    private static double score(JsonNode result) {
+        return result.path("primaryMetric").path("score").asDouble();
+    }
+
+    private static double scoreError(JsonNode result) {
+        double error = result.path("primaryMetric").path("scoreError").asDouble();
+        return Double.isNaN(error) ? 0 : error;
+    }
+
+    /**
+     * Change of the score relative to the baseline, positive when the benchmark got worse.
+     */
+    private static double relativeChange(JsonNode baseline, JsonNode current) {
+        double change = (score(current) - score(baseline)) / score(baseline);
+        return higherIsBetter(current) ? -change : change;
+    }
+
+    private static boolean isRegression(JsonNode baseline, JsonNode current, double threshold) {
+        double errors = scoreError(baseline) + scoreError(current);
+        double difference = higherIsBetter(current) ? score(baseline) - score(current) : score(current) - score(baseline);
+        return difference - errors > threshold * score(baseline);
+    }
+
+    private static String format(double score) {
+        return String.format("%.3f", score);
+    }
+}
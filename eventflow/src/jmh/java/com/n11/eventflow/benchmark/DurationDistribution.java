@@ -0,0 +1,71 @@
+package com.n11.eventflow.benchmark;
+
+import com.n11.eventflow.model.dto.Presentation.PresentationInfoDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Presentation durations the benchmarks are run with. Every distribution is drawn from a fixed
+ * seed, so runs on different commits schedule exactly the same presentations.
+ */
+public enum DurationDistribution {
+
+    /**
+     * Any length from 5 minutes to a full afternoon.
+     */
+    UNIFORM {
+        @Override
+        int nextDuration(Random random) {
+            return 5 + random.nextInt(236);
+        }
+    },
+
+    /**
+     * Mostly 30-60 minute talks with the occasional lightning talk or workshop.
+     */
+    CONFERENCE {
+        @Override
+        int nextDuration(Random random) {
+            return switch (random.nextInt(10)) {
+                case 0 -> 5;
+                case 1 -> 90 + random.nextInt(91);
+                default -> 30 + 15 * random.nextInt(3);
+            };
+        }
+    },
+
+    /**
+     * Only 5-15 minute lightning talks, so sessions hold many presentations.
+     */
+    LIGHTNING {
+        @Override
+        int nextDuration(Random random) {
+            return 5 + 5 * random.nextInt(3);
+        }
+    },
+
+    /**
+     * Half day workshops mixed with short talks, the hardest case for filling sessions.
+     */
+    WORKSHOP {
+        @Override
+        int nextDuration(Random random) {
+            return random.nextBoolean() ? 120 + random.nextInt(121) : 20 + random.nextInt(21);
+        }
+    };
+
+    private static final long SEED = 42;
+
+    abstract int nextDuration(Random random);
+
+    public List<PresentationInfoDTO> presentations(int count) {
+        Random random = new Random(SEED);
+        List<PresentationInfoDTO> presentations = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            presentations.add(new PresentationInfoDTO("Talk " + i, nextDuration(random)));
+        }
+        return presentations;
+    }
+}
@@ -0,0 +1,75 @@
+package com.n11.eventflow.benchmark;
+
+import com.n11.eventflow.constants.CommonConstants;
+import com.n11.eventflow.model.dto.Presentation.PresentationInfoDTO;
+import com.n11.eventflow.util.scheduling.BestFitDecreasingStrategy;
+import com.n11.eventflow.util.scheduling.ParallelBestFitDecreasingStrategy;
+import com.n11.eventflow.util.scheduling.SessionLayout;
+import com.n11.eventflow.util.scheduling.TrackPlan;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Speedup of PARALLEL_BEST_FIT_DECREASING over BEST_FIT_DECREASING by the number of cores.
+ *
+ * Every parallelism gets its own ForkJoinPool; the speedup of a row is the bestFitDecreasing time
+ * divided by the parallelBestFitDecreasing time. The track count of both is reported as an
+ * auxiliary counter, so the cost of packing the partitions separately is visible next to the gain.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParallelSchedulingBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int presentationCount;
+
+    @Param({"1", "2", "4", "8"})
+    private int parallelism;
+
+    @Param({"CONFERENCE", "UNIFORM"})
+    private DurationDistribution distribution;
+
+    private final BestFitDecreasingStrategy bestFitDecreasing = new BestFitDecreasingStrategy();
+    private ForkJoinPool pool;
+    private ParallelBestFitDecreasingStrategy parallelBestFitDecreasing;
+    private List<PresentationInfoDTO> presentations;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PackingQuality {
+        public long tracks;
+    }
+
+    @Setup
+    public void setUp() {
+        presentations = distribution.presentations(presentationCount);
+        pool = new ForkJoinPool(parallelism);
+        parallelBestFitDecreasing = new ParallelBestFitDecreasingStrategy(pool, CommonConstants.PARALLEL_PARTITION_SIZE);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public List<TrackPlan> bestFitDecreasing(PackingQuality quality) {
+        List<TrackPlan> tracks = bestFitDecreasing.schedule(presentations, SessionLayout.DEFAULT);
+        quality.tracks = tracks.size();
+        return tracks;
+    }
+
+    @Benchmark
+    public List<TrackPlan> parallelBestFitDecreasing(PackingQuality quality) {
+        List<TrackPlan> tracks = parallelBestFitDecreasing.schedule(presentations, SessionLayout.DEFAULT);
+        quality.tracks = tracks.size();
+        return tracks;
+    }
+}
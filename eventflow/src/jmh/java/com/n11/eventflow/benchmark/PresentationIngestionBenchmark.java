@@ -0,0 +1,78 @@
+package com.n11.eventflow.benchmark;
+
+import com.n11.eventflow.EventflowApplication;
+import com.n11.eventflow.constants.CommonConstants;
+import com.n11.eventflow.model.dto.Presentation.Request.CreatePresentationRequestDTO;
+import com.n11.eventflow.repository.PresentationRepository;
+import com.n11.eventflow.service.PresentationService;
+import com.n11.eventflow.util.importer.PresentationImportRow;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the throughput of importing presentations one createPresentation call at a time
+ * with a single bulkCreatePresentation call.
+ *
+ * Runs against the database configured in application.properties, which is emptied after every
+ * iteration. Results are presentations stored per second.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PresentationIngestionBenchmark {
+
+    private static final int ROWS = 1000;
+
+    private ConfigurableApplicationContext context;
+    private PresentationService presentationService;
+    private PresentationRepository presentationRepository;
+    private List<PresentationImportRow> rows;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(EventflowApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.sql.init.mode=never")
+                .run();
+        presentationService = context.getBean(PresentationService.class);
+        presentationRepository = context.getBean(PresentationRepository.class);
+
+        rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(new PresentationImportRow(i + 1, new CreatePresentationRequestDTO("Talk " + i, 30 + i % 4 * 15), null));
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearPresentations() {
+        presentationRepository.deleteAllInBatch();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void singleCreate() {
+        for (PresentationImportRow row : rows) {
+            presentationService.createPresentation(CommonConstants.DEFAULT_EVENT_KEY, row.getPresentation().getName(), row.getPresentation().getDuration());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public Object bulkCreate() {
+        return presentationService.bulkCreatePresentation(CommonConstants.DEFAULT_EVENT_KEY, rows.iterator());
+    }
+}
@@ -0,0 +1,63 @@
+package com.n11.eventflow.benchmark;
+
+import com.n11.eventflow.config.ModelMapperConfig;
+import com.n11.eventflow.model.dto.Presentation.PresentationInfoDTO;
+import com.n11.eventflow.model.entity.Presentation;
+import com.n11.eventflow.util.mapper.MapperUtil;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the reflective ModelMapper configured by ModelMapperConfig with the hand-written
+ * mappings behind MapperUtil when mapping a full presentation list.
+ *
+ * Run with -prof gc to compare the allocation rate per operation as well.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PresentationMappingBenchmark {
+
+    @Param({"100", "10000"})
+    private int presentationCount;
+
+    private ModelMapper modelMapper;
+    private MapperUtil mapperUtil;
+    private List<Presentation> presentations;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapperConfig().modelMapper();
+        mapperUtil = new MapperUtil(modelMapper);
+        presentations = new ArrayList<>(presentationCount);
+        for (int i = 0; i < presentationCount; i++) {
+            presentations.add(new Presentation("Talk " + i, 30 + 15 * (i % 3)));
+        }
+    }
+
+    @Benchmark
+    public List<PresentationInfoDTO> modelMapper() {
+        return presentations.stream()
+                .map(presentation -> modelMapper.map(presentation, PresentationInfoDTO.class))
+                .toList();
+    }
+
+    @Benchmark
+    public List<PresentationInfoDTO> mapperUtilPerElement() {
+        return presentations.stream()
+                .map(presentation -> mapperUtil.convertToDTO(presentation, PresentationInfoDTO.class))
+                .toList();
+    }
+
+    @Benchmark
+    public List<PresentationInfoDTO> mapperUtilList() {
+        return mapperUtil.convertToDTOList(presentations, PresentationInfoDTO.class);
+    }
+}
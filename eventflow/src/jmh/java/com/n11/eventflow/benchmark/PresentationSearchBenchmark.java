@@ -0,0 +1,154 @@
+package com.n11.eventflow.benchmark;
+
+import com.n11.eventflow.model.dto.Presentation.PresentationInfoDTO;
+import com.n11.eventflow.util.search.PresentationSearchIndex;
+import com.n11.eventflow.util.search.SearchMode;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the search latency of PresentationSearchIndex over up to a million presentation names,
+ * next to a linear scan of all names as a client filtering GET /presentation/get-all would do.
+ *
+ * Names are three to six words drawn with a skewed distribution from a vocabulary of common
+ * conference words and generated ones, so some words occur in a large part of the names and most
+ * in very few. Every invocation searches the next query of a fixed list that mixes frequent,
+ * rare and unknown words, with typos for FUZZY. Sample time reports the latency percentiles.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class PresentationSearchBenchmark {
+
+    private static final String[] COMMON_WORDS = {
+            "java", "cloud", "native", "reactive", "testing", "microservices", "kotlin", "spring", "data", "streaming",
+            "kubernetes", "security", "performance", "architecture", "design", "patterns", "concurrency", "functional",
+            "programming", "delivery", "continuous", "scalability", "observability", "serverless", "machine", "learning",
+            "python", "rust", "web", "api", "graphql", "event", "driven", "domain", "migration", "legacy", "platform",
+            "engineering", "async", "database", "postgres", "caching", "monitoring", "systems", "distributed", "modern"
+    };
+    private static final int GENERATED_WORDS = 50_000;
+    private static final int LIMIT = 20;
+
+    private static final String[] PREFIX_QUERIES = {"ja", "micro", "clo nat", "obs", "kub sec", "zq", "perf arch", "stre"};
+    private static final String[] FUZZY_QUERIES = {"jva", "microservces", "kubernets securty", "concurency", "obsevability", "pythn", "xqzzy"};
+    private static final String[] FULL_TEXT_QUERIES = {"java", "cloud native", "reactive testing", "observability", "rust", "nonexistent", "event driven design"};
+
+    @Param({"1000000"})
+    private int titleCount;
+
+    @Param({"PREFIX", "FUZZY", "FULL_TEXT"})
+    private SearchMode mode;
+
+    private PresentationSearchIndex index;
+    private List<String> lowerCaseNames;
+    private String[] queries;
+    private int nextQuery;
+    private Random random;
+    private List<String> vocabulary;
+
+    @Setup
+    public void setUp() {
+        random = new Random(42);
+        vocabulary = new ArrayList<>(COMMON_WORDS.length + GENERATED_WORDS);
+        vocabulary.addAll(List.of(COMMON_WORDS));
+        for (int i = 0; i < GENERATED_WORDS; i++) {
+            vocabulary.add(generatedWord());
+        }
+
+        index = new PresentationSearchIndex();
+        lowerCaseNames = new ArrayList<>(titleCount);
+        List<PresentationInfoDTO> batch = new ArrayList<>(10_000);
+        for (int i = 0; i < titleCount; i++) {
+            String name = title();
+            lowerCaseNames.add(name.toLowerCase(Locale.ROOT));
+            batch.add(new PresentationInfoDTO(name, 30));
+            if (batch.size() == 10_000) {
+                index.addAll(batch);
+                batch.clear();
+            }
+        }
+        index.addAll(batch);
+
+        queries = switch (mode) {
+            case PREFIX -> PREFIX_QUERIES;
+            case FUZZY -> FUZZY_QUERIES;
+            case FULL_TEXT -> FULL_TEXT_QUERIES;
+        };
+    }
+
+    private String generatedWord() {
+        StringBuilder word = new StringBuilder();
+        int length = 4 + random.nextInt(7);
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('a' + random.nextInt(26)));
+        }
+        return word.toString();
+    }
+
+    /**
+     * Three to six words; squaring the uniform draw favours the common words at the front.
+     */
+    private String title() {
+        int words = 3 + random.nextInt(4);
+        StringBuilder title = new StringBuilder();
+        for (int w = 0; w < words; w++) {
+            double draw = random.nextDouble();
+            String word = vocabulary.get((int) (draw * draw * draw * vocabulary.size()));
+            if (w > 0) {
+                title.append(' ');
+            }
+            title.append(Character.toUpperCase(word.charAt(0))).append(word, 1, word.length());
+        }
+        return title.toString();
+    }
+
+    private String nextQuery() {
+        String query = queries[nextQuery];
+        nextQuery = (nextQuery + 1) % queries.length;
+        return query;
+    }
+
+    @Benchmark
+    public List<PresentationInfoDTO> search() {
+        return index.search(nextQuery(), mode, LIMIT);
+    }
+
+    /**
+     * Every query word as a substring of the lower-cased name, the cheapest client-side filter.
+     */
+    @Benchmark
+    public List<String> linearScan() {
+        String[] words = nextQuery().toLowerCase(Locale.ROOT).split(" ");
+        List<String> result = new ArrayList<>(LIMIT);
+        for (String name : lowerCaseNames) {
+            boolean matches = true;
+            for (String word : words) {
+                if (!name.contains(word)) {
+                    matches = false;
+                    break;
+                }
+            }
+            if (matches && result.size() < LIMIT) {
+                result.add(name);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Adds one presentation to the index, as a create on this node does.
+     */
+    @Benchmark
+    public void add() {
+        index.addAll(List.of(new PresentationInfoDTO(title(), 30)));
+    }
+}
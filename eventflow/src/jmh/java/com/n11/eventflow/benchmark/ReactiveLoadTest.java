@@ -0,0 +1,159 @@
+package com.n11.eventflow.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.n11.eventflow.EventflowApplication;
+import com.n11.eventflow.service.PresentationService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the Spring MVC endpoints with their reactive variants under many concurrent streaming
+ * subscribers.
+ *
+ * Starts a throwaway Postgres container and runs the application once on Tomcat, serving
+ * /agenda/stream and /presentation/get-all, and once with the reactive profile on Netty, serving
+ * /reactive/agenda/stream and /reactive/presentation/get-all. Every client streams one endpoint
+ * after the other. The clients are driven asynchronously by a small fixed pool, so the peak
+ * thread count of the JVM is dominated by the threads the server needs to keep up.
+ *
+ * Results are printed and written to target/reactive-load-test-result.json.
+ *
+ * Usage: ReactiveLoadTest [clients, default 2000] [seconds, default 30]
+ */
+public class ReactiveLoadTest {
+
+    private static final int WARMUP_SECONDS = 10;
+    private static final int CLIENT_THREADS = 8;
+
+    private record Mode(String name, String agendaPath, String listingPath, boolean reactive) {
+    }
+
+    private static final List<Mode> MODES = List.of(
+            new Mode("mvc", "/agenda/stream", "/presentation/get-all", false),
+            new Mode("reactive", "/reactive/agenda/stream", "/reactive/presentation/get-all", true));
+
+    public record ModeResult(Map<String, AgendaLoadTest.EndpointResult> endpoints, int peakThreads) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+
+        Map<String, ModeResult> results = new LinkedHashMap<>();
+        try (PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine").withCommand("postgres", "-c", "max_connections=200")) {
+            postgres.start();
+            for (Mode mode : MODES) {
+                results.put(mode.name(), run(postgres, mode, clients, seconds));
+            }
+        }
+
+        File resultFile = new File("target/reactive-load-test-result.json");
+        resultFile.getParentFile().mkdirs();
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(resultFile, results);
+        System.out.println("Results written to " + resultFile.getPath());
+    }
+
+    private static ModeResult run(PostgreSQLContainer<?> postgres, Mode mode, int clients, int seconds) throws InterruptedException {
+        String eventKey = "reactive-load-" + mode.name();
+        SpringApplicationBuilder application = new SpringApplicationBuilder(EventflowApplication.class)
+                .properties("server.port=0",
+                        "spring.datasource.url=" + postgres.getJdbcUrl() + "&reWriteBatchedInserts=true",
+                        "spring.datasource.username=" + postgres.getUsername(),
+                        "spring.datasource.password=" + postgres.getPassword(),
+                        "spring.r2dbc.url=r2dbc:postgresql://" + postgres.getHost() + ":" + postgres.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT)
+                                + "/" + postgres.getDatabaseName(),
+                        "spring.r2dbc.username=" + postgres.getUsername(),
+                        "spring.r2dbc.password=" + postgres.getPassword(),
+                        "spring.sql.init.mode=never");
+        if (mode.reactive()) {
+            application.profiles("reactive");
+        }
+
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(CLIENT_THREADS);
+        try (ConfigurableApplicationContext context = application.run()) {
+            AgendaLoadTest.seed(context.getBean(PresentationService.class), eventKey);
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(clientExecutor)
+                    .connectTimeout(Duration.ofSeconds(5)).build();
+            List<String> endpoints = List.of(baseUrl + mode.agendaPath() + "?event=" + eventKey, baseUrl + mode.listingPath() + "?event=" + eventKey);
+
+            System.out.printf("%s mode: warming up for %d s with %d clients%n", mode.name(), WARMUP_SECONDS, clients);
+            drive(httpClient, endpoints, clients, WARMUP_SECONDS);
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            threads.resetPeakThreadCount();
+            System.out.printf("%s mode: measuring for %d s%n", mode.name(), seconds);
+            Map<String, AgendaLoadTest.EndpointResult> endpointResults = drive(httpClient, endpoints, clients, seconds);
+            ModeResult result = new ModeResult(endpointResults, threads.getPeakThreadCount());
+            endpointResults.forEach((endpoint, endpointResult) -> System.out.printf("%-9s %-32s %s%n", mode.name(),
+                    URI.create(endpoint).getPath(), endpointResult));
+            System.out.printf("%-9s peak threads %d%n", mode.name(), result.peakThreads());
+            return result;
+        } finally {
+            clientExecutor.shutdownNow();
+        }
+    }
+
+    private static Map<String, AgendaLoadTest.EndpointResult> drive(HttpClient httpClient, List<String> endpoints, int clients, int seconds) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        List<List<AgendaLoadTest.Recorder>> recorders = new ArrayList<>(clients);
+        CountDownLatch finished = new CountDownLatch(clients);
+        for (int client = 0; client < clients; client++) {
+            List<AgendaLoadTest.Recorder> clientRecorders = new ArrayList<>();
+            for (int endpoint = 0; endpoint < endpoints.size(); endpoint++) {
+                clientRecorders.add(new AgendaLoadTest.Recorder());
+            }
+            recorders.add(clientRecorders);
+            // Clients start on different endpoints, so both are under load from the start
+            stream(httpClient, endpoints, client % endpoints.size(), clientRecorders, deadline, finished);
+        }
+        finished.await(seconds + 60L, TimeUnit.SECONDS);
+
+        Map<String, AgendaLoadTest.EndpointResult> results = new LinkedHashMap<>();
+        for (int endpoint = 0; endpoint < endpoints.size(); endpoint++) {
+            AgendaLoadTest.Recorder merged = new AgendaLoadTest.Recorder();
+            for (List<AgendaLoadTest.Recorder> clientRecorders : recorders) {
+                merged.addAll(clientRecorders.get(endpoint));
+            }
+            results.put(endpoints.get(endpoint), merged.toResult(seconds));
+        }
+        return results;
+    }
+
+    /**
+     * Reads the whole response of an endpoint and then continues with the next one, until the
+     * deadline. The next request is only sent from the completion of the previous one, so every
+     * client has a single request in flight.
+     */
+    private static void stream(HttpClient httpClient, List<String> endpoints, int endpoint, List<AgendaLoadTest.Recorder> recorders,
+                               long deadline, CountDownLatch finished) {
+        if (System.nanoTime() >= deadline) {
+            finished.countDown();
+            return;
+        }
+        long start = System.nanoTime();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(endpoints.get(endpoint))).timeout(Duration.ofSeconds(60)).GET().build();
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, failure) -> {
+            recorders.get(endpoint).record(System.nanoTime() - start, failure == null && response.statusCode() < 400);
+            stream(httpClient, endpoints, (endpoint + 1) % endpoints.size(), recorders, deadline, finished);
+        });
+    }
+}
@@ -0,0 +1,110 @@
+package com.n11.eventflow.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.n11.eventflow.model.dto.Agenda.Response.GetConferenceAgendaResponseDTO;
+import com.n11.eventflow.model.dto.Presentation.PresentationInfoDTO;
+import com.n11.eventflow.model.dto.Presentation.PresentationListDTO;
+import com.n11.eventflow.util.ConferenceAgendaUtil;
+import com.n11.eventflow.util.GenericResponseHandler;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpStatus;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compares the encodings offered by GET /agenda and GET /presentation/get-all.
+ *
+ * Every response is serialized as the controllers return it, wrapped in the GenericResponseHandler
+ * envelope, to a stream that only counts the bytes. With GZIP the bytes are compressed the way
+ * server.compression does it before they are counted. The time per operation is the serialization
+ * cost; the bytes on the wire of every combination are printed once per trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseEncodingBenchmark {
+
+    public enum Encoding {
+        JSON(new ObjectMapper()),
+        SMILE(new ObjectMapper(new SmileFactory())),
+        CBOR(new ObjectMapper(new CBORFactory()));
+
+        private final ObjectMapper objectMapper;
+
+        Encoding(ObjectMapper objectMapper) {
+            this.objectMapper = objectMapper;
+        }
+    }
+
+    public enum Payload {
+        AGENDA, PRESENTATIONS
+    }
+
+    @Param({"1000", "100000"})
+    private int presentationCount;
+
+    @Param({"UNIFORM"})
+    private DurationDistribution distribution;
+
+    @Param({"AGENDA", "PRESENTATIONS"})
+    private Payload payload;
+
+    @Param({"JSON", "SMILE", "CBOR"})
+    private Encoding encoding;
+
+    @Param({"false", "true"})
+    private boolean gzip;
+
+    private Object response;
+
+    @Setup
+    public void setUp() {
+        List<PresentationInfoDTO> presentations = distribution.presentations(presentationCount);
+        Object data = payload == Payload.AGENDA
+                ? new GetConferenceAgendaResponseDTO(new ConferenceAgendaUtil().allocateSessions(presentations))
+                : new PresentationListDTO(presentations);
+        response = GenericResponseHandler.successResponse(HttpStatus.OK, data).getBody();
+    }
+
+    @TearDown
+    public void reportSize() throws IOException {
+        System.out.println(payload + " " + encoding + (gzip ? " gzip" : "") + ": " + encode() + " bytes for "
+                + presentationCount + " presentations");
+    }
+
+    @Benchmark
+    public long encode() throws IOException {
+        CountingOutputStream counter = new CountingOutputStream();
+        if (gzip) {
+            try (GZIPOutputStream compressed = new GZIPOutputStream(counter)) {
+                encoding.objectMapper.writeValue(compressed, response);
+            }
+        } else {
+            encoding.objectMapper.writeValue(counter, response);
+        }
+        return counter.count;
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
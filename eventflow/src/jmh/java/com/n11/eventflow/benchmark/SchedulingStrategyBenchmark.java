@@ -0,0 +1,61 @@
+package com.n11.eventflow.benchmark;
+
+import com.n11.eventflow.model.dto.Agenda.Response.TrackResponseDTO;
+import com.n11.eventflow.model.dto.Presentation.PresentationInfoDTO;
+import com.n11.eventflow.util.ConferenceAgendaUtil;
+import com.n11.eventflow.util.scheduling.SchedulingStrategyType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares runtime, track count and idle minutes of the scheduling strategies.
+ *
+ * Presentations are drawn from a fixed seed so every strategy schedules the same submission mix.
+ * Track count and idle minutes are reported as auxiliary counters next to the timing results.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SchedulingStrategyBenchmark {
+
+    private static final int TRACK_DURATION = 180 + 240;
+
+    @Param({"1000", "10000"})
+    private int presentationCount;
+
+    @Param({"GREEDY", "FIRST_FIT_DECREASING", "BEST_FIT_DECREASING", "SUBSET_SUM", "LARGEST_FIT", "PARALLEL_BEST_FIT_DECREASING"})
+    private SchedulingStrategyType strategy;
+
+    private final ConferenceAgendaUtil conferenceAgendaUtil = new ConferenceAgendaUtil();
+    private List<PresentationInfoDTO> presentations;
+    private int totalDuration;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PackingQuality {
+        public long tracks;
+        public long idleMinutes;
+    }
+
+    @Param({"CONFERENCE"})
+    private DurationDistribution distribution;
+
+    @Setup
+    public void setUp() {
+        presentations = distribution.presentations(presentationCount);
+        totalDuration = presentations.stream().mapToInt(PresentationInfoDTO::getDuration).sum();
+    }
+
+    @Benchmark
+    public List<TrackResponseDTO> allocateSessions(PackingQuality quality) {
+        List<TrackResponseDTO> tracks = conferenceAgendaUtil.allocateSessions(presentations, strategy);
+        quality.tracks = tracks.size();
+        quality.idleMinutes = (long) tracks.size() * TRACK_DURATION - totalDuration;
+        return tracks;
+    }
+}
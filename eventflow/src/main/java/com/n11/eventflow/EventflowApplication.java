@@ -2,8 +2,10 @@ package com.n11.eventflow;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableAsync;
 
 @SpringBootApplication
+@EnableAsync
 public class EventflowApplication {
 
     public static void main(String[] args) {
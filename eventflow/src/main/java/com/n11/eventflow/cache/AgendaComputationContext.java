@@ -0,0 +1,45 @@
+package com.n11.eventflow.cache;
+
+import com.n11.eventflow.util.scheduling.AgendaLayout;
+import com.n11.eventflow.util.scheduling.SchedulingStrategyType;
+import io.micrometer.common.KeyValue;
+import io.micrometer.observation.Observation;
+import lombok.Getter;
+
+/**
+ * Observation context of computing or patching the agenda of an event.
+ *
+ * The strategy is a low cardinality key, so it becomes a tag of the timer; the event key is only
+ * attached to traces. The size of the resulting agenda is filled in before the observation stops.
+ */
+@Getter
+public class AgendaComputationContext extends Observation.Context {
+
+    public static final String COMPUTE = "eventflow.agenda.scheduling";
+    public static final String PATCH = "eventflow.agenda.patch";
+
+    private final String eventKey;
+    private final SchedulingStrategyType strategyType;
+    private int presentationCount;
+    private int trackCount;
+    private long idleMinutes;
+
+    public AgendaComputationContext(String eventKey, SchedulingStrategyType strategyType) {
+        this.eventKey = eventKey;
+        this.strategyType = strategyType;
+        addLowCardinalityKeyValue(KeyValue.of("strategy", strategyType.name()));
+        addHighCardinalityKeyValue(KeyValue.of("event", eventKey));
+    }
+
+    void setAgenda(CachedAgenda agenda, int trackDuration) {
+        this.presentationCount = agenda.getPresentationCount();
+        this.trackCount = agenda.getResponse().getConferenceAgenda().size();
+        this.idleMinutes = (long) trackCount * trackDuration - agenda.getScheduledMinutes();
+    }
+
+    void setLayout(AgendaLayout layout, int presentationCount, int trackDuration) {
+        this.presentationCount = presentationCount;
+        this.trackCount = layout.getTrackCount();
+        this.idleMinutes = (long) trackCount * trackDuration - layout.getScheduledMinutes();
+    }
+}
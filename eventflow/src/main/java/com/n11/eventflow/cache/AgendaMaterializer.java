@@ -0,0 +1,47 @@
+package com.n11.eventflow.cache;
+
+import com.n11.eventflow.model.dto.Presentation.PresentationInfoDTO;
+import com.n11.eventflow.util.scheduling.AgendaLayout;
+import com.n11.eventflow.util.scheduling.SchedulingStrategyType;
+import com.n11.eventflow.util.scheduling.SessionLayout;
+
+import java.util.List;
+
+/**
+ * Durable copy of computed agendas, the level behind the AgendaStore. It survives restarts, so an
+ * agenda is only scheduled again when presentations were added since it was stored.
+ */
+public interface AgendaMaterializer {
+
+    /**
+     * Keeps nothing, every agenda missing from the AgendaStore is computed.
+     */
+    AgendaMaterializer NONE = new AgendaMaterializer() {
+        @Override
+        public CachedAgenda read(String eventKey, SchedulingStrategyType strategyType, long version, SessionLayout sessionLayout) {
+            return null;
+        }
+
+        @Override
+        public void write(String eventKey, SchedulingStrategyType strategyType, AgendaLayout layout, List<PresentationInfoDTO> presentations) {
+        }
+    };
+
+    /**
+     * Returns the stored agenda if it covers all presentations of the event, bringing it up to
+     * date first where that is cheaper than computing it.
+     *
+     * @param version The version the returned agenda is stamped with.
+     * @param sessionLayout The layout of the event's day.
+     * @return The agenda, or null if it has to be computed.
+     */
+    CachedAgenda read(String eventKey, SchedulingStrategyType strategyType, long version, SessionLayout sessionLayout);
+
+    /**
+     * Replaces the stored agenda with a computed one.
+     *
+     * @param layout The computed agenda.
+     * @param presentations The presentations the agenda was computed from, in submission order.
+     */
+    void write(String eventKey, SchedulingStrategyType strategyType, AgendaLayout layout, List<PresentationInfoDTO> presentations);
+}
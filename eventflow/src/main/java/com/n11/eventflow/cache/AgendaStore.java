@@ -0,0 +1,55 @@
+package com.n11.eventflow.cache;
+
+import com.n11.eventflow.util.scheduling.SchedulingStrategyType;
+
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Storage shared by every application node for the presentation set versions, the computed
+ * agendas and the presentation lists, all kept separately per event.
+ *
+ * The version of an event is incremented once for every batch of presentations stored for it.
+ * Entries are stamped with the version they were built from and are only valid while that is
+ * still the current version of their event, so a stale entry is simply ignored instead of having
+ * to be deleted.
+ */
+public interface AgendaStore {
+
+    /**
+     * Version reported while the store cannot be reached. No entry is cached at it.
+     */
+    long UNAVAILABLE_VERSION = -1;
+
+    long currentVersion(String eventKey);
+
+    /**
+     * Increments the version of the event after presentations have been stored for it.
+     *
+     * @return The new version.
+     */
+    long nextVersion(String eventKey);
+
+    /**
+     * @return The stored agenda of the event for the strategy, or null if there is none.
+     */
+    CachedAgenda getAgenda(String eventKey, SchedulingStrategyType strategyType);
+
+    void putAgenda(String eventKey, SchedulingStrategyType strategyType, CachedAgenda agenda);
+
+    /**
+     * @return The stored presentation list of the event, or null if there is none.
+     */
+    CachedPresentations getPresentations(String eventKey);
+
+    void putPresentations(String eventKey, CachedPresentations presentations);
+
+    /**
+     * Notifies every node, including this one, that the event has reached the given version.
+     */
+    void publishInvalidation(String eventKey, long version);
+
+    /**
+     * Registers a listener that receives the event keys and versions published by publishInvalidation.
+     */
+    void subscribe(ObjLongConsumer<String> listener);
+}
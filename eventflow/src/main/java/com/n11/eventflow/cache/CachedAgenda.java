@@ -0,0 +1,44 @@
+package com.n11.eventflow.cache;
+
+import com.n11.eventflow.model.dto.Agenda.Response.GetConferenceAgendaResponseDTO;
+import com.n11.eventflow.util.scheduling.TrackPlan;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Cache entry holding a computed agenda and the version of the presentation set it was built from.
+ *
+ * The plan of the last track is kept so that a new presentation can be scheduled into it without
+ * rescheduling the tracks before it, and the number and total minutes of the scheduled
+ * presentations so that a patched agenda can report its idle minutes without summing up all of
+ * its tracks again. Entries are never modified once they are cached.
+ *
+ * lastModified is the time the agenda was built or patched, in epoch milliseconds, and 0 for
+ * entries stored before it was recorded. Together with the version it identifies the content of
+ * the agenda, see eTag.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CachedAgenda {
+    private long version;
+    private GetConferenceAgendaResponseDTO response;
+    private TrackPlan lastTrack;
+    private int presentationCount;
+    private long scheduledMinutes;
+    private long lastModified;
+
+    /**
+     * Weak entity tag of the agenda. The version alone is not enough, as the versions of an
+     * in-memory store start over when the application restarts; the build time tells agendas of
+     * the same version apart.
+     *
+     * The tag is weak because the agenda is sent as JSON, Smile or CBOR, each possibly gzipped,
+     * and a strong tag would have to tell these bytes apart. Tomcat also never compresses a
+     * response with a strong ETag.
+     */
+    public String eTag() {
+        return "W/\"" + version + "-" + Long.toString(lastModified, 36) + "\"";
+    }
+}
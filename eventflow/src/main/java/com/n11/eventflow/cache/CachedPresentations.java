@@ -0,0 +1,19 @@
+package com.n11.eventflow.cache;
+
+import com.n11.eventflow.model.dto.Presentation.PresentationInfoDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Cache entry holding all presentations, in submission order, at the given version.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CachedPresentations {
+    private long version;
+    private List<PresentationInfoDTO> presentations;
+}
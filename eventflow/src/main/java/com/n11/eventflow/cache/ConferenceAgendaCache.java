@@ -0,0 +1,361 @@
+package com.n11.eventflow.cache;
+
+import com.n11.eventflow.model.dto.Agenda.Response.GetConferenceAgendaResponseDTO;
+import com.n11.eventflow.model.dto.Agenda.Response.TrackResponseDTO;
+import com.n11.eventflow.model.dto.Presentation.PresentationInfoDTO;
+import com.n11.eventflow.util.BoundedMap;
+import com.n11.eventflow.util.ConferenceAgendaUtil;
+import com.n11.eventflow.util.scheduling.AgendaLayout;
+import com.n11.eventflow.util.scheduling.SchedulingStrategyType;
+import com.n11.eventflow.util.scheduling.SessionLayout;
+import com.n11.eventflow.util.scheduling.TrackPlan;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Versioned cache of computed conference agendas, one entry per event and scheduling strategy, and
+ * of the presentation lists they are computed from.
+ *
+ * The cache has two levels: a near-cache in the memory of this node, read with two map lookups,
+ * and the AgendaStore shared by all nodes. Behind them the AgendaMaterializer keeps a durable copy
+ * of every computed agenda, which is read before an agenda is scheduled from scratch. Entries are stamped with the version of the event's
+ * presentation set they were built from, and the store's version of an event is incremented for
+ * every batch of new presentations.
+ *
+ * Agendas are laid out with the SessionLayout of their event. Changing the layout increments the
+ * version of the event like a new presentation does, which drops every agenda built with the old one.
+ *
+ * Every event has its own near-cache, version and lock, so creating presentations for one event
+ * neither invalidates nor blocks the agendas of the others. Event keys come from clients, so only
+ * the eventflow.cache.max-events most recently used events are kept; a dropped event is picked up
+ * from the store again like on a node that has not seen it yet.
+ *
+ * When presentations are created on this node, the GREEDY agenda is patched instead of being
+ * recomputed: the FIFO queue only ever runs dry in the last track, so appending a presentation to
+ * the queue can only change that track, and rescheduling the last track's presentations plus the
+ * new ones gives the result of a full recomputation. Both see the presentations in the same order:
+ * a recomputation reads them by the sequence number the database assigns on insert, and this node
+ * inserts and appends them under the same lock. The patched agenda is written through
+ * to the store. The packing strategies sort the whole presentation set, so their entries are
+ * evicted and rebuilt on the next read. Other nodes receive an invalidation through the store and
+ * drop their near-cache of the event, after which they pick the patched agenda up from the store.
+ *
+ * Computing and patching an agenda are observed with an AgendaComputationContext, which times
+ * them per strategy and reports the size of the resulting agenda.
+ *
+ * Every entry records when it was built or patched, which together with its version makes up the
+ * ETag that GET /agenda is validated with.
+ *
+ * Cached responses are never modified after they are published; a patch builds a new track list
+ * that shares the unchanged TrackResponseDTOs with the previous one.
+ */
+@Component
+public class ConferenceAgendaCache {
+
+    private final ConferenceAgendaUtil conferenceAgendaUtil;
+    private final AgendaStore agendaStore;
+    private final SessionLayoutProvider sessionLayoutProvider;
+    private final ObservationRegistry observationRegistry;
+    private final AgendaMaterializer agendaMaterializer;
+    // Events whose lock is held are never dropped
+    private final BoundedMap<String, EventAgendas> events;
+
+    /**
+     * Near-cache of a single event. The epoch and the known version are guarded by the lock; the
+     * epoch changes whenever the near-cache is patched or dropped, the known version is the newest
+     * store version of the event this node has seen.
+     *
+     * The lock is held while presentations are stored, so it is a ReentrantLock rather than a
+     * monitor: a virtual thread that blocks on JDBC inside a synchronized block would pin its
+     * carrier thread.
+     */
+    private static class EventAgendas {
+        private final Map<SchedulingStrategyType, CachedAgenda> agendas = new ConcurrentHashMap<>();
+        private final ReentrantLock lock = new ReentrantLock();
+        private long epoch;
+        private long knownVersion;
+
+        EventAgendas(long knownVersion) {
+            this.knownVersion = knownVersion;
+        }
+
+        long getEpoch() {
+            lock.lock();
+            try {
+                return epoch;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    public ConferenceAgendaCache(ConferenceAgendaUtil conferenceAgendaUtil, AgendaStore agendaStore, SessionLayoutProvider sessionLayoutProvider,
+                                 ObservationRegistry observationRegistry, AgendaMaterializer agendaMaterializer,
+                                 @Value("${eventflow.cache.max-events:1000}") int maxEvents) {
+        this.conferenceAgendaUtil = conferenceAgendaUtil;
+        this.agendaStore = agendaStore;
+        this.sessionLayoutProvider = sessionLayoutProvider;
+        this.observationRegistry = observationRegistry;
+        this.agendaMaterializer = agendaMaterializer;
+        this.events = new BoundedMap<>(maxEvents, event -> !event.lock.isLocked());
+        agendaStore.subscribe(this::onInvalidation);
+    }
+
+    private EventAgendas event(String eventKey) {
+        return events.computeIfAbsent(eventKey, key -> new EventAgendas(agendaStore.currentVersion(key)));
+    }
+
+    /**
+     * The store version of the event's presentation set, which changes with every write and
+     * session template change.
+     */
+    public long currentVersion(String eventKey) {
+        return agendaStore.currentVersion(eventKey);
+    }
+
+    /**
+     * Returns the agenda if this node has it in its near-cache, without touching the shared store.
+     *
+     * @return The cached agenda, or null.
+     */
+    public GetConferenceAgendaResponseDTO getIfPresent(String eventKey, SchedulingStrategyType strategyType) {
+        CachedAgenda cached = getEntryIfPresent(eventKey, strategyType);
+        return cached == null ? null : cached.getResponse();
+    }
+
+    /**
+     * Like getIfPresent, but returns the cache entry with its version and build time.
+     */
+    public CachedAgenda getEntryIfPresent(String eventKey, SchedulingStrategyType strategyType) {
+        EventAgendas event = events.get(eventKey);
+        return event == null ? null : event.agendas.get(strategyType);
+    }
+
+    /**
+     * Returns the agenda from the near-cache, or from the shared store if it is stamped with the
+     * current version of the event, without reading the materialized agenda or scheduling. Used to
+     * answer conditional requests; the near-cache is not filled from the store here.
+     *
+     * @return The current agenda, or null if neither level holds it.
+     */
+    public CachedAgenda getCurrentEntryIfPresent(String eventKey, SchedulingStrategyType strategyType) {
+        CachedAgenda cached = getEntryIfPresent(eventKey, strategyType);
+        if (cached != null) {
+            return cached;
+        }
+        long version = agendaStore.currentVersion(eventKey);
+        CachedAgenda shared = agendaStore.getAgenda(eventKey, strategyType);
+        return shared != null && shared.getVersion() == version ? shared : null;
+    }
+
+    /**
+     * Returns the cached agenda of the event for the strategy, falling back to the shared store, the
+     * materialized agenda and finally computing it from the loaded presentations.
+     *
+     * A computed agenda is only stored and materialized if the version did not change while it was
+     * being built, and the near-cache is only filled if this node did not see a write in the
+     * meantime; otherwise a later patch could add the same presentation twice.
+     *
+     * @param eventKey The event of the requested agenda.
+     * @param strategyType The scheduling strategy of the requested agenda.
+     * @param presentationLoader Supplies all presentations of the event, in submission order, on a cache miss.
+     * @return The agenda for the current set of presentations of the event.
+     */
+    public GetConferenceAgendaResponseDTO getOrCompute(String eventKey, SchedulingStrategyType strategyType, Supplier<List<PresentationInfoDTO>> presentationLoader) {
+        return getOrComputeEntry(eventKey, strategyType, presentationLoader).getResponse();
+    }
+
+    /**
+     * Like getOrCompute, but returns the cache entry with its version and build time.
+     */
+    public CachedAgenda getOrComputeEntry(String eventKey, SchedulingStrategyType strategyType, Supplier<List<PresentationInfoDTO>> presentationLoader) {
+        EventAgendas event = event(eventKey);
+        CachedAgenda cached = event.agendas.get(strategyType);
+        if (cached != null) {
+            return cached;
+        }
+
+        long epochBeforeLoad = event.getEpoch();
+        long version = agendaStore.currentVersion(eventKey);
+        CachedAgenda shared = agendaStore.getAgenda(eventKey, strategyType);
+        if (shared == null || shared.getVersion() != version) {
+            SessionLayout sessionLayout = sessionLayoutProvider.getLayout(eventKey);
+            shared = agendaMaterializer.read(eventKey, strategyType, version, sessionLayout);
+            if (shared == null) {
+                List<PresentationInfoDTO> presentations = presentationLoader.get();
+                AgendaLayout layout = compute(eventKey, strategyType, presentations, sessionLayout);
+                shared = new CachedAgenda(version, new GetConferenceAgendaResponseDTO(layout.toTrackResponses()), lastTrack(layout),
+                        presentations.size(), layout.getScheduledMinutes(), System.currentTimeMillis());
+                if (agendaStore.currentVersion(eventKey) == version) {
+                    agendaMaterializer.write(eventKey, strategyType, layout, presentations);
+                }
+            }
+            if (agendaStore.currentVersion(eventKey) == version) {
+                agendaStore.putAgenda(eventKey, strategyType, shared);
+            }
+        }
+
+        // Without a version this node would miss the invalidation of the entry
+        if (version == AgendaStore.UNAVAILABLE_VERSION) {
+            return shared;
+        }
+        event.lock.lock();
+        try {
+            if (event.epoch == epochBeforeLoad) {
+                event.agendas.put(strategyType, shared);
+            }
+        } finally {
+            event.lock.unlock();
+        }
+        return shared;
+    }
+
+    /**
+     * Returns all presentations of the event from the shared store, loading them on a miss.
+     *
+     * @param eventKey The event of the presentations.
+     * @param presentationLoader Loads all presentations of the event, in submission order, from the database.
+     * @return The presentations at the current version of the event.
+     */
+    public List<PresentationInfoDTO> getOrLoadPresentations(String eventKey, Supplier<List<PresentationInfoDTO>> presentationLoader) {
+        long version = agendaStore.currentVersion(eventKey);
+        CachedPresentations cached = agendaStore.getPresentations(eventKey);
+        if (cached != null && cached.getVersion() == version) {
+            return cached.getPresentations();
+        }
+
+        List<PresentationInfoDTO> presentations = presentationLoader.get();
+        if (agendaStore.currentVersion(eventKey) == version) {
+            agendaStore.putPresentations(eventKey, new CachedPresentations(version, presentations));
+        }
+        return presentations;
+    }
+
+    /**
+     * Stores a presentation and brings the cache of its event up to date.
+     *
+     * @param eventKey The event of the presentation.
+     * @param presentation The presentation that is appended to the presentation set of the event.
+     * @param persist Stores the presentation.
+     */
+    public void createPresentation(String eventKey, PresentationInfoDTO presentation, Runnable persist) {
+        createPresentations(eventKey, List.of(presentation), persist);
+    }
+
+    /**
+     * Stores a batch of presentations of one event and brings its cache up to date with a single
+     * version bump.
+     *
+     * The presentations are persisted while the event's cache is locked, so no agenda that already
+     * contains them can be cached on this node before the patch below is applied.
+     *
+     * @param eventKey The event of the presentations.
+     * @param presentations The presentations that are appended to the presentation set of the event, in order.
+     * @param persist Stores the presentations.
+     */
+    public void createPresentations(String eventKey, List<PresentationInfoDTO> presentations, Runnable persist) {
+        EventAgendas event = event(eventKey);
+        long version;
+        event.lock.lock();
+        try {
+            // Read before the version is incremented, a layout change in between fails the patch check below
+            SessionLayout sessionLayout = sessionLayoutProvider.getLayout(eventKey);
+            persist.run();
+            version = agendaStore.nextVersion(eventKey);
+            event.epoch++;
+
+            CachedAgenda greedyAgenda = event.agendas.get(SchedulingStrategyType.GREEDY);
+            event.agendas.clear();
+            // The patch is only valid if no other node added a presentation since the agenda was built
+            if (greedyAgenda != null && greedyAgenda.getVersion() == version - 1) {
+                CachedAgenda patched = observe(AgendaComputationContext.PATCH, eventKey, SchedulingStrategyType.GREEDY, sessionLayout,
+                        () -> appendToLastTrack(greedyAgenda, presentations, version, sessionLayout));
+                event.agendas.put(SchedulingStrategyType.GREEDY, patched);
+                agendaStore.putAgenda(eventKey, SchedulingStrategyType.GREEDY, patched);
+            }
+
+            event.knownVersion = Math.max(event.knownVersion, version);
+        } finally {
+            event.lock.unlock();
+        }
+        agendaStore.publishInvalidation(eventKey, version);
+    }
+
+    /**
+     * Drops the near-cache of an event when another node published a newer version of it.
+     */
+    private void onInvalidation(String eventKey, long version) {
+        EventAgendas event = events.get(eventKey);
+        if (event == null) {
+            return;
+        }
+        event.lock.lock();
+        try {
+            if (version > event.knownVersion) {
+                event.knownVersion = version;
+                event.epoch++;
+                event.agendas.clear();
+            }
+        } finally {
+            event.lock.unlock();
+        }
+    }
+
+    private CachedAgenda appendToLastTrack(CachedAgenda cached, List<PresentationInfoDTO> presentations, long version, SessionLayout sessionLayout) {
+        List<TrackResponseDTO> tracks = cached.getResponse().getConferenceAgenda();
+        List<PresentationInfoDTO> tail = new ArrayList<>();
+        int unchangedTracks = tracks.size();
+        long lastTrackMinutes = 0;
+        if (cached.getLastTrack() != null) {
+            for (List<PresentationInfoDTO> session : cached.getLastTrack().getSessions()) {
+                for (PresentationInfoDTO presentation : session) {
+                    lastTrackMinutes += presentation.getDuration();
+                }
+                tail.addAll(session);
+            }
+            unchangedTracks--;
+        }
+        tail.addAll(presentations);
+
+        AgendaLayout tailLayout = conferenceAgendaUtil.layoutSessions(tail, SchedulingStrategyType.GREEDY, sessionLayout);
+        List<TrackResponseDTO> patchedTracks = new ArrayList<>(unchangedTracks + tailLayout.getTrackCount());
+        patchedTracks.addAll(tracks.subList(0, unchangedTracks));
+        patchedTracks.addAll(tailLayout.toTrackResponses());
+
+        // Only the minutes of the rescheduled last track change
+        return new CachedAgenda(version, new GetConferenceAgendaResponseDTO(patchedTracks), lastTrack(tailLayout),
+                cached.getPresentationCount() + presentations.size(), cached.getScheduledMinutes() - lastTrackMinutes + tailLayout.getScheduledMinutes(),
+                System.currentTimeMillis());
+    }
+
+    private CachedAgenda observe(String name, String eventKey, SchedulingStrategyType strategyType, SessionLayout sessionLayout, Supplier<CachedAgenda> computation) {
+        AgendaComputationContext context = new AgendaComputationContext(eventKey, strategyType);
+        return Observation.createNotStarted(name, () -> context, observationRegistry).observe(() -> {
+            CachedAgenda agenda = computation.get();
+            context.setAgenda(agenda, sessionLayout.getTrackDuration());
+            return agenda;
+        });
+    }
+
+    private AgendaLayout compute(String eventKey, SchedulingStrategyType strategyType, List<PresentationInfoDTO> presentations, SessionLayout sessionLayout) {
+        AgendaComputationContext context = new AgendaComputationContext(eventKey, strategyType);
+        return Observation.createNotStarted(AgendaComputationContext.COMPUTE, () -> context, observationRegistry).observe(() -> {
+            AgendaLayout layout = conferenceAgendaUtil.layoutSessions(presentations, strategyType, sessionLayout);
+            context.setLayout(layout, presentations.size(), sessionLayout.getTrackDuration());
+            return layout;
+        });
+    }
+
+    private static TrackPlan lastTrack(AgendaLayout layout) {
+        return layout.getTrackCount() == 0 ? null : layout.toTrackPlan(layout.getTrackCount() - 1);
+    }
+}
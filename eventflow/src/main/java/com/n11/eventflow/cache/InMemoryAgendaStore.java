@@ -0,0 +1,85 @@
+package com.n11.eventflow.cache;
+
+import com.n11.eventflow.util.BoundedMap;
+import com.n11.eventflow.util.scheduling.SchedulingStrategyType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * AgendaStore kept in the memory of a single node.
+ *
+ * Used when the application runs on one node and the Redis cache is disabled. Several caches
+ * sharing one instance behave like several nodes sharing Redis, which makes it a stand-in for
+ * Redis in tests.
+ *
+ * Agendas and presentation lists are kept for the eventflow.cache.max-events most recently used
+ * events, as any event key a client sends gets an agenda; a dropped entry is simply missing.
+ * Versions are only created by writes, so they are kept for every event.
+ */
+@Component
+@ConditionalOnProperty(name = "eventflow.cache.redis.enabled", havingValue = "false", matchIfMissing = true)
+public class InMemoryAgendaStore implements AgendaStore {
+
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final BoundedMap<String, CachedAgenda> agendas;
+    private final BoundedMap<String, CachedPresentations> presentations;
+    private final List<ObjLongConsumer<String>> listeners = new CopyOnWriteArrayList<>();
+
+    public InMemoryAgendaStore(@Value("${eventflow.cache.max-events:1000}") int maxEvents) {
+        this.agendas = new BoundedMap<>(maxEvents * SchedulingStrategyType.values().length);
+        this.presentations = new BoundedMap<>(maxEvents);
+    }
+
+    @Override
+    public long currentVersion(String eventKey) {
+        AtomicLong version = versions.get(eventKey);
+        return version == null ? 0 : version.get();
+    }
+
+    @Override
+    public long nextVersion(String eventKey) {
+        return versions.computeIfAbsent(eventKey, key -> new AtomicLong()).incrementAndGet();
+    }
+
+    @Override
+    public CachedAgenda getAgenda(String eventKey, SchedulingStrategyType strategyType) {
+        return agendas.get(agendaKey(eventKey, strategyType));
+    }
+
+    @Override
+    public void putAgenda(String eventKey, SchedulingStrategyType strategyType, CachedAgenda agenda) {
+        agendas.put(agendaKey(eventKey, strategyType), agenda);
+    }
+
+    private static String agendaKey(String eventKey, SchedulingStrategyType strategyType) {
+        return eventKey + ":" + strategyType;
+    }
+
+    @Override
+    public CachedPresentations getPresentations(String eventKey) {
+        return presentations.get(eventKey);
+    }
+
+    @Override
+    public void putPresentations(String eventKey, CachedPresentations presentations) {
+        this.presentations.put(eventKey, presentations);
+    }
+
+    @Override
+    public void publishInvalidation(String eventKey, long version) {
+        listeners.forEach(listener -> listener.accept(eventKey, version));
+    }
+
+    @Override
+    public void subscribe(ObjLongConsumer<String> listener) {
+        listeners.add(listener);
+    }
+}
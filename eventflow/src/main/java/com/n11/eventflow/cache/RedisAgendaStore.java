@@ -0,0 +1,147 @@
+package com.n11.eventflow.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.n11.eventflow.constants.CommonConstants;
+import com.n11.eventflow.util.scheduling.SchedulingStrategyType;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * AgendaStore backed by Redis, shared by every node behind the load balancer.
+ *
+ * Every event has its own Redis version counter, agendas and presentation lists are stored as
+ * JSON strings under keys that contain the event key, and invalidations of all events are
+ * published on one pub/sub channel.
+ *
+ * Requests keep being served while Redis cannot be reached. An entry that cannot be read is
+ * treated as missing and one that cannot be written is skipped, so every node recomputes agendas
+ * from the database, and the version of an event is reported as UNAVAILABLE_VERSION, which no
+ * entry is ever cached at. Presentations stored meanwhile are not lost, but their version bump
+ * and invalidation are: until the next presentation of the event, or until its entries expire,
+ * other nodes may keep serving the agendas they had before the outage.
+ *
+ * Agendas and presentation lists expire after eventflow.cache.redis.ttl-ms, so the entries of event
+ * keys that clients only ever read do not stay in Redis for good. Version counters are only
+ * created by writes and never expire, as a counter that started over could stamp a new agenda
+ * with the version of an old one.
+ */
+@Component
+@ConditionalOnProperty(name = "eventflow.cache.redis.enabled", havingValue = "true")
+public class RedisAgendaStore implements AgendaStore {
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+
+    private static final Logger logger = LogManager.getLogger(RedisAgendaStore.class);
+
+    public RedisAgendaStore(StringRedisTemplate redisTemplate, RedisMessageListenerContainer listenerContainer, ObjectMapper objectMapper,
+                            @Value("${eventflow.cache.redis.ttl-ms:86400000}") long ttlMillis) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.objectMapper = objectMapper;
+        this.ttl = Duration.ofMillis(ttlMillis);
+    }
+
+    @Override
+    public long currentVersion(String eventKey) {
+        try {
+            String version = redisTemplate.opsForValue().get(CommonConstants.REDIS_VERSION_KEY_PREFIX + eventKey);
+            return version == null ? 0 : Long.parseLong(version);
+        } catch (DataAccessException e) {
+            logger.error("Could not read the version of " + eventKey + ": " + e.getMessage());
+            return UNAVAILABLE_VERSION;
+        }
+    }
+
+    @Override
+    public long nextVersion(String eventKey) {
+        try {
+            Long version = redisTemplate.opsForValue().increment(CommonConstants.REDIS_VERSION_KEY_PREFIX + eventKey);
+            return version == null ? 0 : version;
+        } catch (DataAccessException e) {
+            // The presentations are already stored, failing the request would not undo them
+            logger.error("Could not increment the version of " + eventKey + ": " + e.getMessage());
+            return UNAVAILABLE_VERSION;
+        }
+    }
+
+    @Override
+    public CachedAgenda getAgenda(String eventKey, SchedulingStrategyType strategyType) {
+        return read(agendaKey(eventKey, strategyType), CachedAgenda.class);
+    }
+
+    @Override
+    public void putAgenda(String eventKey, SchedulingStrategyType strategyType, CachedAgenda agenda) {
+        write(agendaKey(eventKey, strategyType), agenda);
+    }
+
+    private static String agendaKey(String eventKey, SchedulingStrategyType strategyType) {
+        return CommonConstants.REDIS_AGENDA_KEY_PREFIX + eventKey + ":" + strategyType;
+    }
+
+    @Override
+    public CachedPresentations getPresentations(String eventKey) {
+        return read(CommonConstants.REDIS_PRESENTATIONS_KEY_PREFIX + eventKey, CachedPresentations.class);
+    }
+
+    @Override
+    public void putPresentations(String eventKey, CachedPresentations presentations) {
+        write(CommonConstants.REDIS_PRESENTATIONS_KEY_PREFIX + eventKey, presentations);
+    }
+
+    @Override
+    public void publishInvalidation(String eventKey, long version) {
+        if (version == UNAVAILABLE_VERSION) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(CommonConstants.REDIS_INVALIDATION_CHANNEL, eventKey + ":" + version);
+        } catch (DataAccessException e) {
+            logger.error("Could not publish version " + version + " of " + eventKey + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Invalidation messages are "eventKey:version"; event keys never contain ':'.
+     */
+    @Override
+    public void subscribe(ObjLongConsumer<String> listener) {
+        listenerContainer.addMessageListener((message, pattern) -> {
+            String invalidation = new String(message.getBody(), StandardCharsets.UTF_8);
+            int separator = invalidation.lastIndexOf(':');
+            listener.accept(invalidation.substring(0, separator), Long.parseLong(invalidation.substring(separator + 1)));
+        }, new ChannelTopic(CommonConstants.REDIS_INVALIDATION_CHANNEL));
+    }
+
+    private <T> T read(String key, Class<T> type) {
+        try {
+            String json = redisTemplate.opsForValue().get(key);
+            return json == null ? null : objectMapper.readValue(json, type);
+        } catch (JsonProcessingException | DataAccessException e) {
+            logger.error("Could not read cached " + key + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void write(String key, Object value) {
+        try {
+            redisTemplate.opsForValue().set(key, objectMapper.writeValueAsString(value), ttl);
+        } catch (JsonProcessingException | DataAccessException e) {
+            logger.error("Could not cache " + key + ": " + e.getMessage());
+        }
+    }
+}
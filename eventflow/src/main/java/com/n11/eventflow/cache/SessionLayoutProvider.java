@@ -0,0 +1,14 @@
+package com.n11.eventflow.cache;
+
+import com.n11.eventflow.util.scheduling.SessionLayout;
+
+/**
+ * Supplies the layout of the conference day of an event.
+ *
+ * Changing the layout of an event increments its AgendaStore version, so agendas built with the
+ * previous layout are never served or patched afterwards.
+ */
+public interface SessionLayoutProvider {
+
+    SessionLayout getLayout(String eventKey);
+}
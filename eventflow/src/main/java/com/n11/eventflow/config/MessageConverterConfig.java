@@ -0,0 +1,32 @@
+package com.n11.eventflow.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Binary encodings of the JSON responses, selected with the Accept header.
+ *
+ * application/x-jackson-smile writes every key name once and refers back to it afterwards, so the
+ * startTime, name and duration keys of the agenda slots cost a single byte each after the first
+ * slot. application/cbor keeps the keys but encodes numbers and lengths in binary. Both mappers
+ * are built from the application's Jackson2ObjectMapperBuilder, so they follow the same settings
+ * as the JSON output. JSON stays the default for clients that do not ask for either.
+ */
+@Configuration
+public class MessageConverterConfig {
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+}
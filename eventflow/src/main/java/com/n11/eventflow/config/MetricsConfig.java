@@ -0,0 +1,20 @@
+package com.n11.eventflow.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.n11.eventflow.metrics.ObservedJacksonHttpMessageConverter;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Replaces the JSON converter of Spring MVC with one that times writing the response.
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper, ObservationRegistry observationRegistry) {
+        return new ObservedJacksonHttpMessageConverter(objectMapper, observationRegistry);
+    }
+}
@@ -0,0 +1,28 @@
+package com.n11.eventflow.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.DataSourceInitializer;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+
+@Configuration
+@ConditionalOnProperty(name = "eventflow.presentation.search.backend", havingValue = "postgres")
+public class PresentationSearchConfig {
+
+    /**
+     * Creates the search indexes once Hibernate has created the presentation table.
+     */
+    @Bean
+    @DependsOn("entityManagerFactory")
+    public DataSourceInitializer presentationSearchIndexInitializer(DataSource dataSource) {
+        DataSourceInitializer initializer = new DataSourceInitializer();
+        initializer.setDataSource(dataSource);
+        initializer.setDatabasePopulator(new ResourceDatabasePopulator(new ClassPathResource("db/presentation-search.sql")));
+        return initializer;
+    }
+}
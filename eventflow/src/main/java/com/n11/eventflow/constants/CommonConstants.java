@@ -18,6 +18,43 @@ public class CommonConstants {
     public static final LocalTime NETWORKING_EVENT_START_TIME = LocalTime.of(16, 0);
     public static final LocalTime NETWORKING_EVENT_END_TIME = LocalTime.of(17, 0);
 
+    // The same times in minutes since midnight, used by the agenda layout
+    public static final int MORNING_SESSION_START_MINUTE = MORNING_SESSION_START_TIME.toSecondOfDay() / 60;
+    public static final int AFTERNOON_SESSION_START_MINUTE = AFTERNOON_SESSION_START_TIME.toSecondOfDay() / 60;
+    public static final int LUNCH_MINUTE = LUNCH_TIME.toSecondOfDay() / 60;
+    public static final int NETWORKING_EVENT_START_MINUTE = NETWORKING_EVENT_START_TIME.toSecondOfDay() / 60;
+    public static final int NETWORKING_EVENT_END_MINUTE = NETWORKING_EVENT_END_TIME.toSecondOfDay() / 60;
+    public static final int LUNCH_DURATION = 60;
+
+    // Events
+    public static final String DEFAULT_EVENT_KEY = "default";
+    public static final String EVENT_KEY_PATTERN = "[A-Za-z0-9_-]{1,64}";
+
+    // Bulk import
+    public static final int BULK_INSERT_BATCH_SIZE = 500;
+
+    // Parallel scheduling
+    public static final int PARALLEL_PARTITION_SIZE = 16384;
+
+    // Track count optimization
+    public static final String DEFAULT_OPTIMIZATION_BUDGET_MS = "1000";
+    public static final int MAX_OPTIMIZATION_BUDGET_MS = 10000;
+
+    // Presentation listing
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    // Presentation search
+    public static final int DEFAULT_SEARCH_LIMIT = 20;
+    public static final int MAX_SEARCH_LIMIT = 100;
+    public static final int MAX_SEARCH_QUERY_LENGTH = 200;
+
     // Time format
     public static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("hh:mma");
+
+    // Shared agenda cache
+    public static final String REDIS_VERSION_KEY_PREFIX = "eventflow:version:";
+    public static final String REDIS_AGENDA_KEY_PREFIX = "eventflow:agenda:";
+    public static final String REDIS_PRESENTATIONS_KEY_PREFIX = "eventflow:presentations:";
+    public static final String REDIS_INVALIDATION_CHANNEL = "eventflow:invalidation";
 }
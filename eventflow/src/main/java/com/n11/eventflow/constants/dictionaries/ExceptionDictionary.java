@@ -2,4 +2,12 @@ package com.n11.eventflow.constants.dictionaries;
 
 public class ExceptionDictionary {
     public static final String INVALID_PARAMETERS = "Invalid Parameters";
+    public static final String INVALID_CURSOR = "Invalid page cursor: ";
+    public static final String INVALID_EVENT_KEY = "Invalid event key: ";
+    public static final String INVALID_SESSION_TEMPLATE = "Invalid session template: ";
+    public static final String UNSCHEDULABLE_PRESENTATION = "Presentation does not fit into any session: ";
+    public static final String INVALID_AGENDA_PREVIEW = "Exactly one of add and remove is required";
+    public static final String UNKNOWN_PRESENTATION = "Presentation not found: ";
+    public static final String INVALID_SEARCH_QUERY = "Invalid search query: ";
+    public static final String WRITE_QUEUE_FULL = "Too many presentations are waiting to be stored, please retry later";
 }
@@ -1,37 +1,162 @@
 package com.n11.eventflow.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.n11.eventflow.cache.CachedAgenda;
+import com.n11.eventflow.constants.CommonConstants;
+import com.n11.eventflow.model.dto.Agenda.Request.PreviewAgendaRequestDTO;
+import com.n11.eventflow.model.dto.Agenda.Response.AgendaPreviewResponseDTO;
 import com.n11.eventflow.model.dto.Agenda.Response.GetConferenceAgendaResponseDTO;
+import com.n11.eventflow.model.dto.Agenda.Response.GetEventAgendasResponseDTO;
+import com.n11.eventflow.model.dto.Agenda.Response.OptimizedAgendaResponseDTO;
 import com.n11.eventflow.model.dto.Agenda.Response.TrackResponseDTO;
+import com.n11.eventflow.service.AgendaBroadcaster;
 import com.n11.eventflow.service.ConferenceAgendaService;
 import com.n11.eventflow.util.GenericResponseHandler;
 import com.n11.eventflow.constants.dictionaries.ResponseDictionary;
+import com.n11.eventflow.util.scheduling.SchedulingStrategyType;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.ObjectUtils;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @CrossOrigin(origins = "*", allowedHeaders = "*")
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/agenda")
 public class ConferenceAgendaController {
 
     private final ConferenceAgendaService conferenceAgendaService;
+    private final AgendaBroadcaster agendaBroadcaster;
+    private final ObjectMapper objectMapper;
 
-    public ConferenceAgendaController(ConferenceAgendaService conferenceAgendaService) {
+    public ConferenceAgendaController(ConferenceAgendaService conferenceAgendaService, AgendaBroadcaster agendaBroadcaster, ObjectMapper objectMapper) {
         this.conferenceAgendaService = conferenceAgendaService;
+        this.agendaBroadcaster = agendaBroadcaster;
+        this.objectMapper = objectMapper;
     }
 
+    /**
+     * Returns the agenda of an event with a weak ETag and its Last-Modified time. A request whose
+     * If-None-Match or If-Modified-Since still matches the cached agenda is answered with 304 and
+     * no body. The agenda is looked up in the near-cache and the shared store first and only
+     * computed if neither holds its current version, so a poll of an unchanged agenda is answered
+     * without scheduling it.
+     *
+     * The body is encoded as JSON, Smile or CBOR depending on the Accept header, so every response
+     * varies by it.
+     */
     @GetMapping()
-    public ResponseEntity<Object> getConferenceAgenda() {
-        GetConferenceAgendaResponseDTO response = conferenceAgendaService.getConferenceAgenda();
+    public ResponseEntity<Object> getConferenceAgenda(@RequestParam(defaultValue = CommonConstants.DEFAULT_EVENT_KEY) String event,
+                                                      @RequestParam(defaultValue = "GREEDY") SchedulingStrategyType strategy,
+                                                      WebRequest webRequest, HttpServletResponse servletResponse) {
+        servletResponse.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        CachedAgenda agenda = conferenceAgendaService.getCachedConferenceAgendaIfPresent(event, strategy);
+        if (agenda == null) {
+            agenda = conferenceAgendaService.getCachedConferenceAgenda(event, strategy);
+        }
+        // Also sets the ETag and Last-Modified headers of the response; -1 leaves out an unknown build time
+        long lastModified = agenda.getLastModified() > 0 ? agenda.getLastModified() : -1;
+        if (webRequest.checkNotModified(agenda.eTag(), lastModified)) {
+            return null;
+        }
+        GetConferenceAgendaResponseDTO response = agenda.getResponse();
         if (ObjectUtils.isEmpty(response)) {
             return GenericResponseHandler.errorResponse(HttpStatus.INTERNAL_SERVER_ERROR, ResponseDictionary.INTERNAL_SERVER_ERROR);
         }
-        return GenericResponseHandler.successResponse(HttpStatus.CREATED, response);
+        return GenericResponseHandler.successResponse(HttpStatus.OK, response);
+    }
+
+    /**
+     * Returns the agendas of several events, e.g. /agenda/events?event=a&event=b. Missing agendas
+     * are computed in parallel.
+     */
+    @GetMapping("/events")
+    public ResponseEntity<Object> getConferenceAgendas(@RequestParam List<String> event,
+                                                       @RequestParam(defaultValue = "GREEDY") SchedulingStrategyType strategy) {
+        GetEventAgendasResponseDTO response = conferenceAgendaService.getConferenceAgendas(event, strategy);
+        if (ObjectUtils.isEmpty(response)) {
+            return GenericResponseHandler.errorResponse(HttpStatus.INTERNAL_SERVER_ERROR, ResponseDictionary.INTERNAL_SERVER_ERROR);
+        }
+        return GenericResponseHandler.successResponse(HttpStatus.OK, response);
+    }
+
+    /**
+     * Packs the agenda of an event into as few tracks as possible, spending at most budgetMs on the
+     * search, and reports the achieved track count next to its lower bound.
+     */
+    @GetMapping("/optimized")
+    public ResponseEntity<Object> optimizeConferenceAgenda(@RequestParam(defaultValue = CommonConstants.DEFAULT_EVENT_KEY) String event,
+                                                           @RequestParam(defaultValue = CommonConstants.DEFAULT_OPTIMIZATION_BUDGET_MS) long budgetMs) {
+        OptimizedAgendaResponseDTO response = conferenceAgendaService.optimizeConferenceAgenda(event, budgetMs);
+        if (ObjectUtils.isEmpty(response)) {
+            return GenericResponseHandler.errorResponse(HttpStatus.INTERNAL_SERVER_ERROR, ResponseDictionary.INTERNAL_SERVER_ERROR);
+        }
+        return GenericResponseHandler.successResponse(HttpStatus.OK, response);
+    }
+
+    /**
+     * Shows where a presentation would land before it is accepted, or what removing one would
+     * change: the body holds either add (name and duration) or remove (a presentation id). Only
+     * the tracks that would change are returned; nothing is stored.
+     */
+    @PostMapping("/preview")
+    public ResponseEntity<Object> previewConferenceAgenda(@RequestParam(defaultValue = CommonConstants.DEFAULT_EVENT_KEY) String event,
+                                                          @RequestParam(defaultValue = "GREEDY") SchedulingStrategyType strategy,
+                                                          @Valid @RequestBody PreviewAgendaRequestDTO previewAgendaRequestDTO) {
+        AgendaPreviewResponseDTO response = conferenceAgendaService.previewConferenceAgenda(event, strategy, previewAgendaRequestDTO);
+        if (ObjectUtils.isEmpty(response)) {
+            return GenericResponseHandler.errorResponse(HttpStatus.INTERNAL_SERVER_ERROR, ResponseDictionary.INTERNAL_SERVER_ERROR);
+        }
+        return GenericResponseHandler.successResponse(HttpStatus.OK, response);
+    }
+
+    /**
+     * Streams the GREEDY agenda of an event as newline delimited JSON, one TrackResponseDTO per line.
+     * Each track is written and flushed as soon as it is scheduled.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamConferenceAgenda(@RequestParam(defaultValue = CommonConstants.DEFAULT_EVENT_KEY) String event) {
+        StreamingResponseBody body = outputStream -> conferenceAgendaService.streamConferenceAgenda(event, track -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(track));
+                outputStream.write('\n');
+                outputStream.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * Subscribes to the agenda of an event as Server-Sent Events. The agenda is sent once as an
+     * "agenda" event; every later change is sent as a "delta" event with only the changed slots.
+     * Event ids are agenda ETags, so a client that reconnects with an up to date Last-Event-ID
+     * only receives deltas.
+     */
+    @GetMapping(value = "/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeConferenceAgenda(@RequestParam(defaultValue = CommonConstants.DEFAULT_EVENT_KEY) String event,
+                                                @RequestParam(defaultValue = "GREEDY") SchedulingStrategyType strategy,
+                                                @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return agendaBroadcaster.subscribe(event, strategy, lastEventId);
     }
 }
@@ -1,30 +1,74 @@
 package com.n11.eventflow.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.n11.eventflow.constants.CommonConstants;
 import com.n11.eventflow.model.dto.Presentation.Request.CreatePresentationRequestDTO;
-import com.n11.eventflow.model.dto.Presentation.Response.CreatePresentationResponseDTO;
+import com.n11.eventflow.model.dto.Presentation.Response.BulkCreatePresentationResponseDTO;
 import com.n11.eventflow.model.dto.Presentation.PresentationListDTO;
+import com.n11.eventflow.model.dto.Presentation.PresentationPageDTO;
+import com.n11.eventflow.service.PresentationSearchService;
 import com.n11.eventflow.service.PresentationService;
 import com.n11.eventflow.util.GenericResponseHandler;
+import com.n11.eventflow.util.importer.PresentationImportFormat;
+import com.n11.eventflow.util.importer.PresentationImportReader;
+import com.n11.eventflow.util.search.SearchMode;
 import com.n11.eventflow.constants.dictionaries.ResponseDictionary;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.ObjectUtils;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.util.concurrent.CompletableFuture;
+
 @CrossOrigin(origins = "*", allowedHeaders = "*")
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/presentation")
 public class PresentationController {
     private final PresentationService presentationService;
+    private final PresentationSearchService presentationSearchService;
+    private final ObjectMapper objectMapper;
 
-    public PresentationController(PresentationService presentationService) {
+    public PresentationController(PresentationService presentationService, PresentationSearchService presentationSearchService, ObjectMapper objectMapper) {
         this.presentationService = presentationService;
+        this.presentationSearchService = presentationSearchService;
+        this.objectMapper = objectMapper;
     }
 
+    /**
+     * Creates a presentation. With eventflow.presentation.write-behind.enabled the request thread is
+     * released while the presentation waits for its micro-batch, and the response is sent once the
+     * batch has been committed; a full write queue is answered with 503.
+     */
     @PostMapping("/create")
-    public ResponseEntity<Object> createPresentation(@Valid @RequestBody CreatePresentationRequestDTO createPresentationRequestDTO) {
-        CreatePresentationResponseDTO response = presentationService.createPresentation(createPresentationRequestDTO.getName(), createPresentationRequestDTO.getDuration());
+    public CompletableFuture<ResponseEntity<Object>> createPresentation(@RequestParam(defaultValue = CommonConstants.DEFAULT_EVENT_KEY) String event,
+                                                                        @Valid @RequestBody CreatePresentationRequestDTO createPresentationRequestDTO) {
+        return presentationService.submitPresentation(event, createPresentationRequestDTO.getName(), createPresentationRequestDTO.getDuration())
+                .thenApply(response -> {
+                    if (ObjectUtils.isEmpty(response)) {
+                        return GenericResponseHandler.errorResponse(HttpStatus.INTERNAL_SERVER_ERROR, ResponseDictionary.INTERNAL_SERVER_ERROR);
+                    }
+                    return GenericResponseHandler.successResponse(HttpStatus.CREATED, response);
+                });
+    }
+
+    /**
+     * Imports presentations of an event from a JSON array, NDJSON or CSV ("name,duration") request
+     * body, reading the body as a stream. Rows that fail validation are reported with their row number.
+     */
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE, PresentationImportFormat.TEXT_CSV_VALUE})
+    public ResponseEntity<Object> bulkCreatePresentation(@RequestParam(defaultValue = CommonConstants.DEFAULT_EVENT_KEY) String event,
+                                                         @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType, Reader body) throws IOException {
+        BulkCreatePresentationResponseDTO response;
+        try (PresentationImportReader rows = new PresentationImportReader(body, PresentationImportFormat.fromContentType(contentType), objectMapper)) {
+            response = presentationService.bulkCreatePresentation(event, rows);
+        }
         if (ObjectUtils.isEmpty(response)) {
             return GenericResponseHandler.errorResponse(HttpStatus.INTERNAL_SERVER_ERROR, ResponseDictionary.INTERNAL_SERVER_ERROR);
         }
@@ -32,11 +76,43 @@ public class PresentationController {
     }
 
     @GetMapping("/get-all")
-    public ResponseEntity<Object> getAllPresentation() {
-        PresentationListDTO response = presentationService.getAllPresentation();
+    public ResponseEntity<Object> getAllPresentation(@RequestParam(defaultValue = CommonConstants.DEFAULT_EVENT_KEY) String event) {
+        PresentationListDTO response = presentationService.getAllPresentation(event);
         if (ObjectUtils.isEmpty(response)) {
             return GenericResponseHandler.errorResponse(HttpStatus.INTERNAL_SERVER_ERROR, ResponseDictionary.INTERNAL_SERVER_ERROR);
         }
         return GenericResponseHandler.successResponse(HttpStatus.CREATED, response);
     }
+
+    /**
+     * Returns one page of the presentations of an event in creation order. Pass the nextCursor of a page as cursor
+     * to get the following one; includeTotal additionally counts all presentations.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<Object> getPresentationPage(@RequestParam(defaultValue = CommonConstants.DEFAULT_EVENT_KEY) String event,
+                                                      @RequestParam(required = false) String cursor,
+                                                      @RequestParam(defaultValue = "" + CommonConstants.DEFAULT_PAGE_SIZE) int size,
+                                                      @RequestParam(defaultValue = "false") boolean includeTotal) {
+        PresentationPageDTO response = presentationService.getPresentationPage(event, cursor, size, includeTotal);
+        if (ObjectUtils.isEmpty(response)) {
+            return GenericResponseHandler.errorResponse(HttpStatus.INTERNAL_SERVER_ERROR, ResponseDictionary.INTERNAL_SERVER_ERROR);
+        }
+        return GenericResponseHandler.successResponse(HttpStatus.OK, response);
+    }
+
+    /**
+     * Finds the presentations of an event whose names match every word of q: as word prefixes
+     * (PREFIX, for search as you type), with a few typos (FUZZY) or as whole words (FULL_TEXT).
+     */
+    @GetMapping("/search")
+    public ResponseEntity<Object> searchPresentation(@RequestParam(defaultValue = CommonConstants.DEFAULT_EVENT_KEY) String event,
+                                                     @RequestParam String q,
+                                                     @RequestParam(defaultValue = "PREFIX") SearchMode mode,
+                                                     @RequestParam(defaultValue = "" + CommonConstants.DEFAULT_SEARCH_LIMIT) int limit) {
+        PresentationListDTO response = presentationSearchService.search(event, q, mode, limit);
+        if (ObjectUtils.isEmpty(response)) {
+            return GenericResponseHandler.errorResponse(HttpStatus.INTERNAL_SERVER_ERROR, ResponseDictionary.INTERNAL_SERVER_ERROR);
+        }
+        return GenericResponseHandler.successResponse(HttpStatus.OK, response);
+    }
 }
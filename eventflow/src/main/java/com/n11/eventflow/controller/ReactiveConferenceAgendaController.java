@@ -0,0 +1,37 @@
+package com.n11.eventflow.controller;
+
+import com.n11.eventflow.constants.CommonConstants;
+import com.n11.eventflow.model.dto.Agenda.Response.TrackResponseDTO;
+import com.n11.eventflow.service.ReactivePresentationService;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+/**
+ * Reactive variant of the agenda stream, served by WebFlux with the reactive profile and by
+ * Spring MVC otherwise.
+ */
+@CrossOrigin(origins = "*", allowedHeaders = "*")
+@RestController
+@RequestMapping("/reactive/agenda")
+public class ReactiveConferenceAgendaController {
+
+    private final ReactivePresentationService reactivePresentationService;
+
+    public ReactiveConferenceAgendaController(ReactivePresentationService reactivePresentationService) {
+        this.reactivePresentationService = reactivePresentationService;
+    }
+
+    /**
+     * Streams the GREEDY agenda of an event as newline delimited JSON, one TrackResponseDTO per
+     * line, with backpressure down to the database.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TrackResponseDTO> streamConferenceAgenda(@RequestParam(defaultValue = CommonConstants.DEFAULT_EVENT_KEY) String event) {
+        return reactivePresentationService.streamConferenceAgenda(event);
+    }
+}
@@ -0,0 +1,36 @@
+package com.n11.eventflow.controller;
+
+import com.n11.eventflow.constants.CommonConstants;
+import com.n11.eventflow.model.dto.Presentation.PresentationInfoDTO;
+import com.n11.eventflow.service.ReactivePresentationService;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+/**
+ * Reactive variant of the presentation listing, served by WebFlux with the reactive profile and
+ * by Spring MVC otherwise.
+ */
+@CrossOrigin(origins = "*", allowedHeaders = "*")
+@RestController
+@RequestMapping("/reactive/presentation")
+public class ReactivePresentationController {
+
+    private final ReactivePresentationService reactivePresentationService;
+
+    public ReactivePresentationController(ReactivePresentationService reactivePresentationService) {
+        this.reactivePresentationService = reactivePresentationService;
+    }
+
+    /**
+     * Streams the presentations of an event as newline delimited JSON, in submission order.
+     */
+    @GetMapping(value = "/get-all", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<PresentationInfoDTO> getAllPresentation(@RequestParam(defaultValue = CommonConstants.DEFAULT_EVENT_KEY) String event) {
+        return reactivePresentationService.streamAllPresentation(event);
+    }
+}
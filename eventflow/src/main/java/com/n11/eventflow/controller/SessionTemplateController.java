@@ -0,0 +1,52 @@
+package com.n11.eventflow.controller;
+
+import com.n11.eventflow.constants.CommonConstants;
+import com.n11.eventflow.model.dto.SessionTemplate.SessionTemplateDTO;
+import com.n11.eventflow.service.SessionTemplateService;
+import com.n11.eventflow.util.GenericResponseHandler;
+import com.n11.eventflow.constants.dictionaries.ResponseDictionary;
+import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.ObjectUtils;
+import org.springframework.web.bind.annotation.*;
+
+@CrossOrigin(origins = "*", allowedHeaders = "*")
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/session-template")
+public class SessionTemplateController {
+
+    private final SessionTemplateService sessionTemplateService;
+
+    public SessionTemplateController(SessionTemplateService sessionTemplateService) {
+        this.sessionTemplateService = sessionTemplateService;
+    }
+
+    /**
+     * Returns the sessions, breaks and networking event of an event's day, or the default day if
+     * the event has no template.
+     */
+    @GetMapping()
+    public ResponseEntity<Object> getSessionTemplate(@RequestParam(defaultValue = CommonConstants.DEFAULT_EVENT_KEY) String event) {
+        SessionTemplateDTO response = sessionTemplateService.getTemplate(event);
+        if (ObjectUtils.isEmpty(response)) {
+            return GenericResponseHandler.errorResponse(HttpStatus.INTERNAL_SERVER_ERROR, ResponseDictionary.INTERNAL_SERVER_ERROR);
+        }
+        return GenericResponseHandler.successResponse(HttpStatus.OK, response);
+    }
+
+    /**
+     * Replaces the template of an event. The agendas of the event are rebuilt with it on their next read.
+     */
+    @PutMapping()
+    public ResponseEntity<Object> saveSessionTemplate(@RequestParam(defaultValue = CommonConstants.DEFAULT_EVENT_KEY) String event,
+                                                      @Valid @RequestBody SessionTemplateDTO sessionTemplateDTO) {
+        SessionTemplateDTO response = sessionTemplateService.saveTemplate(event, sessionTemplateDTO);
+        if (ObjectUtils.isEmpty(response)) {
+            return GenericResponseHandler.errorResponse(HttpStatus.INTERNAL_SERVER_ERROR, ResponseDictionary.INTERNAL_SERVER_ERROR);
+        }
+        return GenericResponseHandler.successResponse(HttpStatus.OK, response);
+    }
+}
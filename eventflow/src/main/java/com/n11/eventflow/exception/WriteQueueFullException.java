@@ -0,0 +1,18 @@
+package com.n11.eventflow.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a write cannot be queued because the write-behind queue is full or shutting down.
+ * Answered with 503, so clients back off and retry.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class WriteQueueFullException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public WriteQueueFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,98 @@
+package com.n11.eventflow.metrics;
+
+import com.n11.eventflow.cache.AgendaComputationContext;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Publishes the size of every agenda computed or patched on this node as gauges, tagged with the
+ * event and the strategy: eventflow.agenda.tracks, eventflow.agenda.presentations and
+ * eventflow.agenda.idle.minutes.
+ *
+ * The gauges of an agenda are registered the first time it is computed and keep the values of its
+ * latest computation. Every event adds three gauges per strategy, so only the first
+ * eventflow.metrics.agenda.max-events events scheduled on this node get gauges of their own; the
+ * agendas of all later events share the gauges tagged with the event "other", which report the
+ * latest of them. The number of series therefore stays bounded whatever event keys clients send.
+ */
+@Component
+public class AgendaGaugeHandler implements ObservationHandler<AgendaComputationContext> {
+
+    private static final String OTHER_EVENTS = "other";
+
+    private final MeterRegistry meterRegistry;
+    private final int maxEvents;
+    private final Map<AgendaKey, AgendaSize> sizes = new ConcurrentHashMap<>();
+    // Events with gauges of their own, at most maxEvents
+    private final Set<String> taggedEvents = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private record AgendaKey(String eventKey, String strategy) {
+    }
+
+    // Read by the gauges, which only keep a weak reference to it
+    private static class AgendaSize {
+        private volatile double tracks;
+        private volatile double presentations;
+        private volatile double idleMinutes;
+    }
+
+    public AgendaGaugeHandler(MeterRegistry meterRegistry, @Value("${eventflow.metrics.agenda.max-events:100}") int maxEvents) {
+        this.meterRegistry = meterRegistry;
+        this.maxEvents = maxEvents;
+    }
+
+    @Override
+    public boolean supportsContext(Observation.Context context) {
+        return context instanceof AgendaComputationContext;
+    }
+
+    @Override
+    public void onStop(AgendaComputationContext context) {
+        if (context.getError() != null) {
+            return;
+        }
+        AgendaSize size = sizes.computeIfAbsent(new AgendaKey(eventTag(context.getEventKey()), context.getStrategyType().name()), this::register);
+        size.tracks = context.getTrackCount();
+        size.presentations = context.getPresentationCount();
+        size.idleMinutes = context.getIdleMinutes();
+    }
+
+    private String eventTag(String eventKey) {
+        if (taggedEvents.contains(eventKey)) {
+            return eventKey;
+        }
+        lock.lock();
+        try {
+            if (taggedEvents.size() < maxEvents) {
+                taggedEvents.add(eventKey);
+                return eventKey;
+            }
+            return taggedEvents.contains(eventKey) ? eventKey : OTHER_EVENTS;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private AgendaSize register(AgendaKey key) {
+        AgendaSize size = new AgendaSize();
+        Tags tags = Tags.of("event", key.eventKey(), "strategy", key.strategy());
+        Gauge.builder("eventflow.agenda.tracks", size, s -> s.tracks).tags(tags)
+                .description("Tracks of the latest agenda").register(meterRegistry);
+        Gauge.builder("eventflow.agenda.presentations", size, s -> s.presentations).tags(tags)
+                .description("Presentations scheduled in the latest agenda").register(meterRegistry);
+        Gauge.builder("eventflow.agenda.idle.minutes", size, s -> s.idleMinutes).tags(tags)
+                .description("Session minutes of the latest agenda without a presentation").register(meterRegistry);
+        return size;
+    }
+}
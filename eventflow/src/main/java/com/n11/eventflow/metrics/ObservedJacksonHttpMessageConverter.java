@@ -0,0 +1,45 @@
+package com.n11.eventflow.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.common.KeyValue;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Map;
+
+/**
+ * Jackson converter that times writing every JSON response as eventflow.response.write.
+ *
+ * Responses built by GenericResponseHandler are tagged with the type of their data, e.g.
+ * GetConferenceAgendaResponseDTO, so serializing the agenda can be told apart from the other
+ * endpoints. The time includes writing to the client, as the body is streamed while it is
+ * serialized.
+ */
+public class ObservedJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    public static final String WRITE_OBSERVATION = "eventflow.response.write";
+
+    private final ObservationRegistry observationRegistry;
+
+    public ObservedJacksonHttpMessageConverter(ObjectMapper objectMapper, ObservationRegistry observationRegistry) {
+        super(objectMapper);
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException, HttpMessageNotWritableException {
+        Observation.createNotStarted(WRITE_OBSERVATION, observationRegistry)
+                .lowCardinalityKeyValue(KeyValue.of("type", responseType(object)))
+                .observeChecked(() -> super.writeInternal(object, type, outputMessage));
+    }
+
+    private static String responseType(Object object) {
+        Object data = object instanceof Map<?, ?> response ? response.get("data") : object;
+        return data == null ? "none" : data.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,23 @@
+package com.n11.eventflow.model.dto.Agenda.Request;
+
+import com.n11.eventflow.model.dto.Presentation.Request.CreatePresentationRequestDTO;
+import jakarta.validation.Valid;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * A hypothetical change of the presentations of an event: either a presentation that would be
+ * added or the id of one that would be removed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PreviewAgendaRequestDTO {
+    @Valid
+    private CreatePresentationRequestDTO add;
+
+    private UUID remove;
+}
@@ -0,0 +1,19 @@
+package com.n11.eventflow.model.dto.Agenda.Response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * The changes between two versions of an agenda. Tracks beyond trackCount are dropped, tracks
+ * that are not listed stay as they are.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AgendaDeltaResponseDTO {
+    private int trackCount;
+    private List<TrackDeltaDTO> changedTracks;
+}
@@ -0,0 +1,20 @@
+package com.n11.eventflow.model.dto.Agenda.Response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * The tracks of an agenda that a hypothetical change would alter. Tracks beyond trackCount would
+ * be dropped, all others stay as they are.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AgendaPreviewResponseDTO {
+    private int trackCount;
+    // Position of the track in the agenda -> its new schedule
+    private Map<Integer, TrackResponseDTO> changedTracks;
+}
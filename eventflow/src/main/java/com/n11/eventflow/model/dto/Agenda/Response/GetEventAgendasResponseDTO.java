@@ -0,0 +1,14 @@
+package com.n11.eventflow.model.dto.Agenda.Response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GetEventAgendasResponseDTO {
+    private Map<String, GetConferenceAgendaResponseDTO> agendas;
+}
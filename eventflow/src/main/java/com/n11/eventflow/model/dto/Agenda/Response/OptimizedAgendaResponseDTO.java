@@ -0,0 +1,25 @@
+package com.n11.eventflow.model.dto.Agenda.Response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * An agenda packed into as few tracks as the time budget allowed, with the numbers to judge it by.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OptimizedAgendaResponseDTO {
+    private List<TrackResponseDTO> conferenceAgenda;
+    // Tracks of the initial best-fit-decreasing packing
+    private int initialTrackCount;
+    private int trackCount;
+    // Total minutes of all presentations divided by the minutes of a track, rounded up
+    private int lowerBound;
+    private long idleMinutes;
+    // Scheduled minutes divided by the minutes of all sessions
+    private double utilization;
+}
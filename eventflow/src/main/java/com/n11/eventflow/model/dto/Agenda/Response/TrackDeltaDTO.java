@@ -0,0 +1,21 @@
+package com.n11.eventflow.model.dto.Agenda.Response;
+
+import com.n11.eventflow.model.dto.Agenda.ConferenceAgendaUtilDTO;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * The changed part of one track: the slots before fromSlot stay as they are, the rest of the
+ * track is replaced with slots. A new track has fromSlot 0.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrackDeltaDTO {
+    private int track;
+    private int fromSlot;
+    private List<ConferenceAgendaUtilDTO> slots;
+}
@@ -1,13 +1,24 @@
 package com.n11.eventflow.model.dto.Presentation;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.UUID;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class PresentationInfoDTO {
+    // Null for presentations that have not been read from the database
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private UUID id;
     private String name;
     private int duration;
-}
\ No newline at end of file
+
+    public PresentationInfoDTO(String name, int duration) {
+        this.name = name;
+        this.duration = duration;
+    }
+}
@@ -0,0 +1,18 @@
+package com.n11.eventflow.model.dto.Presentation;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PresentationPageDTO {
+    private List<PresentationInfoDTO> presentations;
+    // Null on the last page
+    private String nextCursor;
+    // Only set when the total count was requested
+    private Long totalCount;
+}
@@ -0,0 +1,15 @@
+package com.n11.eventflow.model.dto.Presentation.Response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCreatePresentationResponseDTO {
+    private int created;
+    private List<BulkRowErrorDTO> errors;
+}
@@ -0,0 +1,13 @@
+package com.n11.eventflow.model.dto.Presentation.Response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkRowErrorDTO {
+    private int row;
+    private String errorMessage;
+}
@@ -0,0 +1,27 @@
+package com.n11.eventflow.model.dto.SessionTemplate;
+
+import com.n11.eventflow.constants.dictionaries.ValidationDictionary;
+import com.n11.eventflow.model.entity.SessionBlockType;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionTemplateBlockDTO {
+    @NotNull(message = "Type " + ValidationDictionary.NULL_FIELD)
+    private SessionBlockType type;
+
+    private String name;
+
+    @NotNull(message = "Start time " + ValidationDictionary.NULL_FIELD)
+    private LocalTime startTime;
+
+    @Min(value = 1, message = "Duration " + ValidationDictionary.GREATER_THAN_ZERO)
+    private int duration;
+}
@@ -0,0 +1,21 @@
+package com.n11.eventflow.model.dto.SessionTemplate;
+
+import com.n11.eventflow.constants.dictionaries.ValidationDictionary;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionTemplateDTO {
+    private String name;
+
+    @Valid
+    @NotEmpty(message = "Blocks " + ValidationDictionary.EMPTY_FIELD)
+    private List<SessionTemplateBlockDTO> blocks;
+}
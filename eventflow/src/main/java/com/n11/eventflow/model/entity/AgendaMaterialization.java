@@ -0,0 +1,59 @@
+package com.n11.eventflow.model.entity;
+
+import com.n11.eventflow.util.scheduling.SchedulingStrategyType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Describes the materialized agenda of an event for one strategy, whose slots are stored in
+ * agenda_slot.
+ *
+ * The agenda covers the presentationCount presentations of the event up to and including the
+ * sequence number lastSequenceNumber. It is up to date while the event has exactly that many
+ * presentations and none with a higher sequence number. A presentation that commits late with a
+ * lower sequence number raises the count without moving the last sequence number, so it is noticed
+ * as well. layoutFingerprint is the SessionLayout fingerprint of the day the agenda was laid out
+ * with; an agenda built with another template is out of date whatever the watermark says. builtAt
+ * is the time the agenda was computed or last extended, reported as its Last-Modified time.
+ */
+@Entity
+@IdClass(AgendaMaterializationId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AgendaMaterialization {
+
+    @Id
+    @Column(length = 64)
+    private String eventKey;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 32)
+    private SchedulingStrategyType strategy;
+
+    private int presentationCount;
+
+    // The default fills materializations stored before the column existed, which are then recomputed
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long lastSequenceNumber;
+
+    // Materializations stored before the column existed match no layout and are recomputed
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long layoutFingerprint;
+
+    private int trackCount;
+
+    private long scheduledMinutes;
+
+    private Instant builtAt;
+}
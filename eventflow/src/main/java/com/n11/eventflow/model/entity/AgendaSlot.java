@@ -0,0 +1,95 @@
+package com.n11.eventflow.model.entity;
+
+import com.n11.eventflow.util.scheduling.SchedulingStrategyType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.util.UUID;
+
+/**
+ * One slot of a materialized agenda: a presentation, break or networking event at its start time.
+ *
+ * The slots of an agenda are ordered by (event_key, strategy, track, position), and reading an
+ * agenda is a single range scan of the index on these columns; Hibernate does not keep that column
+ * order for the primary key. Slots are only ever inserted or deleted, never
+ * updated, so they report themselves as new and saveAll inserts them in JDBC batches without
+ * selecting them first.
+ */
+@Entity
+@Table(name = "agenda_slot", indexes = @Index(name = "idx_agenda_slot_event_key_strategy_track_position", columnList = "event_key, strategy, track, position"))
+@IdClass(AgendaSlotId.class)
+@Data
+@NoArgsConstructor
+public class AgendaSlot implements Persistable<AgendaSlotId> {
+
+    @Id
+    @Column(length = 64)
+    private String eventKey;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 32)
+    private SchedulingStrategyType strategy;
+
+    @Id
+    private int track;
+
+    @Id
+    private int position;
+
+    // Session of a presentation, -1 for a break or networking event
+    private int session;
+
+    // Minutes since midnight
+    private int startMinute;
+
+    private int duration;
+
+    private String name;
+
+    // Null for a break or networking event
+    private UUID presentationId;
+
+    @Transient
+    private boolean isNew = true;
+
+    public AgendaSlot(String eventKey, SchedulingStrategyType strategy, int track, int position, int session, int startMinute, int duration, String name, UUID presentationId) {
+        this.eventKey = eventKey;
+        this.strategy = strategy;
+        this.track = track;
+        this.position = position;
+        this.session = session;
+        this.startMinute = startMinute;
+        this.duration = duration;
+        this.name = name;
+        this.presentationId = presentationId;
+    }
+
+    @Override
+    public AgendaSlotId getId() {
+        return new AgendaSlotId(eventKey, strategy, track, position);
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+}
@@ -0,0 +1,20 @@
+package com.n11.eventflow.model.entity;
+
+import com.n11.eventflow.util.scheduling.SchedulingStrategyType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AgendaSlotId implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private String eventKey;
+    private SchedulingStrategyType strategy;
+    private int track;
+    private int position;
+}
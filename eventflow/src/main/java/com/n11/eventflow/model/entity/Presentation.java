@@ -1,9 +1,13 @@
 package com.n11.eventflow.model.entity;
 
+import com.n11.eventflow.constants.CommonConstants;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -11,6 +15,7 @@ import lombok.NoArgsConstructor;
 import java.util.UUID;
 
 @Entity
+@Table(indexes = @Index(name = "idx_presentation_event_key_sequence_number", columnList = "event_key, sequence_number"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -20,11 +25,25 @@ public class Presentation {
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
+    // The event the presentation belongs to. The default fills rows that are inserted without it
+    @Column(nullable = false, columnDefinition = "varchar(64) default '" + CommonConstants.DEFAULT_EVENT_KEY + "'")
+    private String eventKey;
+
     private String name;
 
     private int duration;
 
+    // Assigned by the database on insert and the submission order of the presentations. Unlike
+    // a timestamp it cannot tie within a batch or depend on the clock of the node that inserted the row
+    @Column(insertable = false, updatable = false, columnDefinition = "bigint generated by default as identity")
+    private Long sequenceNumber;
+
     public Presentation(String name, int duration) {
+        this(CommonConstants.DEFAULT_EVENT_KEY, name, duration);
+    }
+
+    public Presentation(String eventKey, String name, int duration) {
+        this.eventKey = eventKey;
         this.name = name;
         this.duration = duration;
     }
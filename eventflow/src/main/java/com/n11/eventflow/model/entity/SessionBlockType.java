@@ -0,0 +1,14 @@
+package com.n11.eventflow.model.entity;
+
+/**
+ * Kind of a block in the day of a SessionTemplate.
+ */
+public enum SessionBlockType {
+    // Filled with presentations, back to back from its start
+    SESSION,
+    // Fixed item such as a lunch break or a keynote, held at its start for its duration
+    BREAK,
+    // Starts when the preceding session ends, but not before the block's start, and is dropped
+    // if that session runs until the end of the block
+    NETWORKING
+}
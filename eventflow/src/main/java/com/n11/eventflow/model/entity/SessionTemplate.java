@@ -0,0 +1,48 @@
+package com.n11.eventflow.model.entity;
+
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.OrderColumn;
+import jakarta.persistence.Version;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The shape of a conference day for one event: its sessions, breaks and networking event, in the
+ * order they are held. Events without a template use the default day from CommonConstants.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionTemplate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(nullable = false, unique = true, length = 64)
+    private String eventKey;
+
+    private String name;
+
+    @ElementCollection
+    @CollectionTable(name = "session_template_block", joinColumns = @JoinColumn(name = "session_template_id"))
+    @OrderColumn(name = "position")
+    private List<SessionTemplateBlock> blocks = new ArrayList<>();
+
+    // Incremented on every update for optimistic locking; compiled layouts are cached per event and AgendaStore version instead
+    @Version
+    private long version;
+}
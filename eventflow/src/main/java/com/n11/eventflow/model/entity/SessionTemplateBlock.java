@@ -0,0 +1,27 @@
+package com.n11.eventflow.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionTemplateBlock {
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private SessionBlockType type;
+
+    private String name;
+
+    // Minutes since midnight
+    private int startMinute;
+
+    private int duration;
+}
@@ -0,0 +1,11 @@
+package com.n11.eventflow.model.event;
+
+/**
+ * Published in the transaction that stores new presentations of an event, once per create call
+ * or bulk import batch.
+ *
+ * @param eventKey The event the presentations were added to.
+ * @param count The number of presentations stored in the transaction.
+ */
+public record PresentationCreated(String eventKey, int count) {
+}
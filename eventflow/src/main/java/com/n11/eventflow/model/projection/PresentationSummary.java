@@ -0,0 +1,16 @@
+package com.n11.eventflow.model.projection;
+
+import java.util.UUID;
+
+/**
+ * Read-only view of the columns needed to list presentations and to continue a listing after them.
+ */
+public interface PresentationSummary {
+    UUID getId();
+
+    String getName();
+
+    int getDuration();
+
+    long getSequenceNumber();
+}
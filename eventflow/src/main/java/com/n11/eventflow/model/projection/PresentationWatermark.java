@@ -0,0 +1,10 @@
+package com.n11.eventflow.model.projection;
+
+/**
+ * How many presentations an event has and the sequence number of the last of them, 0 if it has none.
+ */
+public interface PresentationWatermark {
+    long getCount();
+
+    long getLastSequenceNumber();
+}
@@ -0,0 +1,16 @@
+package com.n11.eventflow.repository;
+
+import com.n11.eventflow.model.entity.AgendaMaterialization;
+import com.n11.eventflow.model.entity.AgendaMaterializationId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+
+@RepositoryRestResource(exported = false)
+public interface AgendaMaterializationRepository extends JpaRepository<AgendaMaterialization, AgendaMaterializationId> {
+
+    @Modifying
+    @Query("delete from AgendaMaterialization m where m.eventKey = :eventKey")
+    int deleteByEvent(String eventKey);
+}
@@ -0,0 +1,29 @@
+package com.n11.eventflow.repository;
+
+import com.n11.eventflow.model.entity.AgendaSlot;
+import com.n11.eventflow.model.entity.AgendaSlotId;
+import com.n11.eventflow.util.scheduling.SchedulingStrategyType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+
+import java.util.List;
+
+@RepositoryRestResource(exported = false)
+public interface AgendaSlotRepository extends JpaRepository<AgendaSlot, AgendaSlotId> {
+
+    /**
+     * All slots of a materialized agenda in agenda order, a range scan of the primary key.
+     */
+    @Query("select s from AgendaSlot s where s.eventKey = :eventKey and s.strategy = :strategy order by s.track, s.position")
+    List<AgendaSlot> findAgenda(String eventKey, SchedulingStrategyType strategy);
+
+    @Modifying
+    @Query("delete from AgendaSlot s where s.eventKey = :eventKey and s.strategy = :strategy and s.track >= :fromTrack")
+    int deleteTracksFrom(String eventKey, SchedulingStrategyType strategy, int fromTrack);
+
+    @Modifying
+    @Query("delete from AgendaSlot s where s.eventKey = :eventKey")
+    int deleteByEvent(String eventKey);
+}
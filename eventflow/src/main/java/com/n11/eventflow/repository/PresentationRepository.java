@@ -1,9 +1,94 @@
 package com.n11.eventflow.repository;
 
 import com.n11.eventflow.model.entity.Presentation;
+import com.n11.eventflow.model.projection.PresentationSummary;
+import com.n11.eventflow.model.projection.PresentationWatermark;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.rest.core.annotation.RepositoryRestResource;
 
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+// Presentations are only written through PresentationService, which keeps the agenda cache up to date
+@RepositoryRestResource(exported = false)
 public interface PresentationRepository extends JpaRepository<Presentation, UUID> {
+
+    /**
+     * All presentations of an event in submission order.
+     */
+    @Query("select p from Presentation p where p.eventKey = :eventKey order by p.sequenceNumber")
+    List<Presentation> findAllByEvent(String eventKey);
+
+    /**
+     * Streams all presentations of an event, in submission order, with a cursor instead of loading
+     * them all at once. Must be consumed, and closed, inside a transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select p from Presentation p where p.eventKey = :eventKey order by p.sequenceNumber")
+    Stream<Presentation> streamAllByEvent(String eventKey);
+
+    long countByEventKey(String eventKey);
+
+    /**
+     * The number of presentations of an event and the highest sequence number among them, read
+     * together from idx_presentation_event_key_sequence_number.
+     */
+    @Query("select count(p) as count, coalesce(max(p.sequenceNumber), 0) as lastSequenceNumber from Presentation p where p.eventKey = :eventKey")
+    PresentationWatermark findWatermark(String eventKey);
+
+    /**
+     * First page of the keyset pagination of an event, in submission order.
+     */
+    @Query("select p.id as id, p.name as name, p.duration as duration, p.sequenceNumber as sequenceNumber " +
+            "from Presentation p where p.eventKey = :eventKey order by p.sequenceNumber")
+    List<PresentationSummary> findFirstPage(String eventKey, Limit limit);
+
+    /**
+     * Page of an event that starts right after the given sequence number, a seek into
+     * idx_presentation_event_key_sequence_number.
+     */
+    @Query("select p.id as id, p.name as name, p.duration as duration, p.sequenceNumber as sequenceNumber " +
+            "from Presentation p where p.eventKey = :eventKey and p.sequenceNumber > :sequenceNumber order by p.sequenceNumber")
+    List<PresentationSummary> findPageAfter(String eventKey, long sequenceNumber, Limit limit);
+
+    /**
+     * Presentations of an event with a sequence number after the first and up to the last one.
+     */
+    @Query("select p.id as id, p.name as name, p.duration as duration, p.sequenceNumber as sequenceNumber " +
+            "from Presentation p where p.eventKey = :eventKey and p.sequenceNumber > :after and p.sequenceNumber <= :last " +
+            "order by p.sequenceNumber")
+    List<PresentationSummary> findPageBetween(String eventKey, long after, long last, Limit limit);
+
+    /**
+     * Presentations of an event whose name contains every word of the query. Uses the tsvector index
+     * idx_presentation_name_tsv of db/presentation-search.sql; the expression has to stay the same.
+     */
+    @Query(value = "select * from presentation where event_key = :eventKey " +
+            "and to_tsvector('simple', name) @@ plainto_tsquery('simple', :query) order by sequence_number limit :limit", nativeQuery = true)
+    List<Presentation> searchFullText(String eventKey, String query, int limit);
+
+    /**
+     * Presentations of an event whose name has a word starting with every prefix of the tsquery,
+     * e.g. "clo:* & nat:*".
+     */
+    @Query(value = "select * from presentation where event_key = :eventKey " +
+            "and to_tsvector('simple', name) @@ to_tsquery('simple', :tsquery) order by sequence_number limit :limit", nativeQuery = true)
+    List<Presentation> searchPrefix(String eventKey, String tsquery, int limit);
+
+    /**
+     * Presentations of an event whose name has a part similar to the query, most similar first.
+     * Uses the trigram index idx_presentation_name_trgm of db/presentation-search.sql.
+     */
+    @Query(value = "select * from presentation where event_key = :eventKey " +
+            "and :query <% name order by word_similarity(:query, name) desc, sequence_number limit :limit", nativeQuery = true)
+    List<Presentation> searchSimilar(String eventKey, String query, int limit);
 }
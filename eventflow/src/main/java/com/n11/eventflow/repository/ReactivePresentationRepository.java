@@ -0,0 +1,26 @@
+package com.n11.eventflow.repository;
+
+import com.n11.eventflow.model.dto.Presentation.PresentationInfoDTO;
+import com.n11.eventflow.model.entity.Presentation;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+import reactor.core.publisher.Flux;
+
+import java.util.UUID;
+
+/**
+ * Non-blocking reads of the presentation table over R2DBC, next to the JPA PresentationRepository.
+ *
+ * Rows are emitted as the subscriber requests them, so a slow client holds back the query
+ * instead of the presentations piling up in memory.
+ */
+@RepositoryRestResource(exported = false)
+public interface ReactivePresentationRepository extends R2dbcRepository<Presentation, UUID> {
+
+    /**
+     * All presentations of an event in submission order.
+     */
+    @Query("select id, name, duration from presentation where event_key = :eventKey order by sequence_number")
+    Flux<PresentationInfoDTO> streamAllByEvent(String eventKey);
+}
@@ -0,0 +1,19 @@
+package com.n11.eventflow.repository;
+
+import com.n11.eventflow.model.entity.SessionTemplate;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@RepositoryRestResource(exported = false)
+public interface SessionTemplateRepository extends JpaRepository<SessionTemplate, UUID> {
+
+    /**
+     * The template of an event with its blocks, so it can be compiled outside of a transaction.
+     */
+    @EntityGraph(attributePaths = "blocks")
+    Optional<SessionTemplate> findByEventKey(String eventKey);
+}
@@ -0,0 +1,227 @@
+package com.n11.eventflow.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.n11.eventflow.cache.AgendaStore;
+import com.n11.eventflow.cache.CachedAgenda;
+import com.n11.eventflow.model.dto.Agenda.Response.AgendaDeltaResponseDTO;
+import com.n11.eventflow.util.scheduling.AgendaDiff;
+import com.n11.eventflow.util.scheduling.SchedulingStrategyType;
+import jakarta.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pushes agendas to live subscribers over Server-Sent Events: the whole agenda once when they
+ * subscribe, and afterwards only the delta whenever the agenda changes.
+ *
+ * Subscribers are grouped by event and strategy. A change of an event's version, published by the
+ * AgendaStore on this node or any other, schedules one broadcast per event after the configured
+ * delay; further changes before it starts are covered by it. The broadcast reads the new agenda
+ * through ConferenceAgendaService once per group, diffs it against the agenda the group last
+ * received, serializes the delta once and sends the same bytes to every subscriber. However many
+ * dashboards are connected, a change costs one agenda computation, usually the patch the cache
+ * already applied.
+ *
+ * Every event carries the ETag of its agenda as its id. A client that reconnects with the
+ * Last-Event-ID of the agenda that is still current is not sent the agenda again.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class AgendaBroadcaster {
+
+    private static final String AGENDA_EVENT = "agenda";
+    private static final String DELTA_EVENT = "delta";
+
+    private final ConferenceAgendaService conferenceAgendaService;
+    private final AgendaStore agendaStore;
+    private final ObjectMapper objectMapper;
+    private final long timeoutMillis;
+    private final long delayMillis;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("agenda-live-"));
+
+    private final Map<AgendaKey, Subscribers> subscribers = new ConcurrentHashMap<>();
+
+    // Events with a broadcast that has been scheduled but has not started yet -> the version that scheduled it
+    private final Map<String, Long> pendingBroadcasts = new ConcurrentHashMap<>();
+
+    private static final Logger logger = LogManager.getLogger(AgendaBroadcaster.class);
+
+    private record AgendaKey(String eventKey, SchedulingStrategyType strategyType) {
+    }
+
+    /**
+     * The subscribers of one agenda and the agenda they have all received. The lock is held while
+     * a subscriber is sent the agenda and added, and while a delta is sent, so every subscriber
+     * receives each delta exactly once and on top of the agenda it has.
+     */
+    private static class Subscribers {
+        private final Set<SseEmitter> emitters = ConcurrentHashMap.newKeySet();
+        private final ReentrantLock lock = new ReentrantLock();
+        private CachedAgenda current;
+    }
+
+    public AgendaBroadcaster(ConferenceAgendaService conferenceAgendaService, AgendaStore agendaStore, ObjectMapper objectMapper,
+                             @Value("${eventflow.agenda.live.timeout-ms:1800000}") long timeoutMillis,
+                             @Value("${eventflow.agenda.live.delay-ms:100}") long delayMillis) {
+        this.conferenceAgendaService = conferenceAgendaService;
+        this.agendaStore = agendaStore;
+        this.objectMapper = objectMapper;
+        this.timeoutMillis = timeoutMillis;
+        this.delayMillis = delayMillis;
+        agendaStore.subscribe(this::onVersionChange);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        subscribers.values().forEach(group -> group.emitters.forEach(SseEmitter::complete));
+    }
+
+    /**
+     * Subscribes to the agenda of an event.
+     *
+     * @param eventKey The event of the agenda.
+     * @param strategyType The scheduling strategy of the agenda.
+     * @param lastEventId The Last-Event-ID a reconnecting client sent, or null.
+     * @return The emitter that receives the agenda and its deltas.
+     */
+    public SseEmitter subscribe(String eventKey, SchedulingStrategyType strategyType, String lastEventId) {
+        // Validates the event key and warms the cache before the group lock is taken
+        CachedAgenda agenda = conferenceAgendaService.getCachedConferenceAgenda(eventKey, strategyType);
+
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscribers group = subscribers.computeIfAbsent(new AgendaKey(eventKey, strategyType), key -> new Subscribers());
+        emitter.onCompletion(() -> group.emitters.remove(emitter));
+        emitter.onError(e -> group.emitters.remove(emitter));
+
+        long subscribedVersion;
+        group.lock.lock();
+        try {
+            // A newer agenda is delivered by the broadcast that is on its way
+            if (group.current == null) {
+                group.current = agenda;
+            }
+            if (!group.current.eTag().equals(lastEventId)) {
+                emitter.send(event(AGENDA_EVENT, group.current, group.current.getResponse()));
+            }
+            group.emitters.add(emitter);
+            subscribedVersion = group.current.getVersion();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            group.lock.unlock();
+        }
+
+        // A broadcast that found the group empty before the emitter was added skipped it
+        long version = agendaStore.currentVersion(eventKey);
+        if (version > subscribedVersion) {
+            onVersionChange(eventKey, version);
+        }
+        return emitter;
+    }
+
+    private void onVersionChange(String eventKey, long version) {
+        if (pendingBroadcasts.putIfAbsent(eventKey, version) == null) {
+            scheduler.schedule(() -> broadcast(eventKey), delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void broadcast(String eventKey) {
+        long version = pendingBroadcasts.remove(eventKey);
+        for (SchedulingStrategyType strategyType : SchedulingStrategyType.values()) {
+            Subscribers group = subscribers.get(new AgendaKey(eventKey, strategyType));
+            if (group == null) {
+                continue;
+            }
+            if (group.emitters.isEmpty()) {
+                release(group);
+                continue;
+            }
+            try {
+                CachedAgenda agenda = conferenceAgendaService.getCachedConferenceAgenda(eventKey, strategyType);
+                if (agenda.getVersion() < version) {
+                    // The near-cache of this node has not seen the change yet
+                    onVersionChange(eventKey, version);
+                    continue;
+                }
+                publish(group, agenda);
+            } catch (RuntimeException e) {
+                logger.error("Agenda broadcast of event " + eventKey + " failed", e);
+            }
+        }
+    }
+
+    private void publish(Subscribers group, CachedAgenda agenda) {
+        group.lock.lock();
+        try {
+            CachedAgenda previous = group.current;
+            if (previous == null || agenda.getVersion() <= previous.getVersion()) {
+                return;
+            }
+            group.current = agenda;
+
+            AgendaDeltaResponseDTO delta = AgendaDiff.diff(previous.getResponse().getConferenceAgenda(), agenda.getResponse().getConferenceAgenda());
+            if (delta.getChangedTracks().isEmpty() && delta.getTrackCount() == previous.getResponse().getConferenceAgenda().size()) {
+                return;
+            }
+            Set<ResponseBodyEmitter.DataWithMediaType> event = event(DELTA_EVENT, agenda, delta);
+            for (Iterator<SseEmitter> iterator = group.emitters.iterator(); iterator.hasNext(); ) {
+                SseEmitter emitter = iterator.next();
+                try {
+                    emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    // The client went away or the emitter timed out, the container completes it
+                    iterator.remove();
+                }
+            }
+        } finally {
+            group.lock.unlock();
+        }
+    }
+
+    /**
+     * Drops the agenda of a group that nobody is subscribed to any more; the next subscriber
+     * starts from the agenda that is current then.
+     */
+    private void release(Subscribers group) {
+        group.lock.lock();
+        try {
+            if (group.emitters.isEmpty()) {
+                group.current = null;
+            }
+        } finally {
+            group.lock.unlock();
+        }
+    }
+
+    /**
+     * Serializes an event once, so the same bytes can be sent to every subscriber.
+     */
+    private Set<ResponseBodyEmitter.DataWithMediaType> event(String name, CachedAgenda agenda, Object data) {
+        try {
+            return SseEmitter.event().id(agenda.eTag()).name(name)
+                    .data(objectMapper.writeValueAsString(data), MediaType.APPLICATION_JSON).build();
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
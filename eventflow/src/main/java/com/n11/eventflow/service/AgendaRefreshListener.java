@@ -0,0 +1,74 @@
+package com.n11.eventflow.service;
+
+import com.n11.eventflow.model.event.PresentationCreated;
+import com.n11.eventflow.util.scheduling.SchedulingStrategyType;
+import jakarta.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.modulith.events.ApplicationModuleListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recomputes the agendas of an event after presentations were added to it, so readers find them
+ * in the cache instead of waiting for the scheduling.
+ *
+ * PresentationCreated is delivered through the Modulith event publication registry after the
+ * presentations were committed. Events of the same event key are coalesced: the first one
+ * schedules a refresh after the configured delay, and every event that arrives before the refresh
+ * starts is covered by it, so a bulk import of many batches triggers one recomputation per delay
+ * instead of one per batch. Events that arrive while a refresh is running schedule the next one.
+ */
+@Component
+@ConditionalOnProperty(name = "eventflow.agenda.refresh.enabled", havingValue = "true", matchIfMissing = true)
+public class AgendaRefreshListener {
+
+    private final ConferenceAgendaService conferenceAgendaService;
+    private final Set<SchedulingStrategyType> strategyTypes;
+    private final long delayMillis;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("agenda-refresh-"));
+
+    // Events with a refresh that has been scheduled but has not started yet
+    private final Map<String, Boolean> pendingRefreshes = new ConcurrentHashMap<>();
+
+    private static final Logger logger = LogManager.getLogger(AgendaRefreshListener.class);
+
+    public AgendaRefreshListener(ConferenceAgendaService conferenceAgendaService,
+                                 @Value("${eventflow.agenda.refresh.strategies:GREEDY,FIRST_FIT_DECREASING,BEST_FIT_DECREASING,SUBSET_SUM}") List<SchedulingStrategyType> strategyTypes,
+                                 @Value("${eventflow.agenda.refresh.delay-ms:200}") long delayMillis) {
+        this.conferenceAgendaService = conferenceAgendaService;
+        this.strategyTypes = EnumSet.copyOf(strategyTypes);
+        this.delayMillis = delayMillis;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    @ApplicationModuleListener
+    public void onPresentationCreated(PresentationCreated event) {
+        if (pendingRefreshes.putIfAbsent(event.eventKey(), Boolean.TRUE) == null) {
+            scheduler.schedule(() -> refresh(event.eventKey()), delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void refresh(String eventKey) {
+        pendingRefreshes.remove(eventKey);
+        conferenceAgendaService.refreshConferenceAgendas(eventKey, strategyTypes).exceptionally(e -> {
+            logger.error("Agenda refresh of event " + eventKey + " failed", e);
+            return null;
+        });
+    }
+}
@@ -1,25 +1,307 @@
 package com.n11.eventflow.service;
 
+import com.n11.eventflow.cache.CachedAgenda;
+import com.n11.eventflow.cache.ConferenceAgendaCache;
+import com.n11.eventflow.constants.CommonConstants;
+import com.n11.eventflow.constants.dictionaries.ExceptionDictionary;
+import com.n11.eventflow.exception.InvalidParameterException;
+import com.n11.eventflow.model.dto.Agenda.Request.PreviewAgendaRequestDTO;
+import com.n11.eventflow.model.dto.Agenda.Response.AgendaPreviewResponseDTO;
 import com.n11.eventflow.model.dto.Agenda.Response.GetConferenceAgendaResponseDTO;
-import org.springframework.stereotype.Service;
-import com.n11.eventflow.model.dto.Presentation.PresentationListDTO;
+import com.n11.eventflow.model.dto.Agenda.Response.GetEventAgendasResponseDTO;
+import com.n11.eventflow.model.dto.Agenda.Response.OptimizedAgendaResponseDTO;
+import com.n11.eventflow.model.dto.Agenda.Response.TrackResponseDTO;
+import com.n11.eventflow.model.dto.Presentation.PresentationInfoDTO;
 import com.n11.eventflow.util.ConferenceAgendaUtil;
+import com.n11.eventflow.util.BoundedMap;
+import com.n11.eventflow.util.EventKeyUtil;
+import com.n11.eventflow.util.scheduling.AgendaSnapshot;
+import jakarta.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import com.n11.eventflow.util.scheduling.SchedulingStrategyType;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+/**
+ * Computes the agendas of events.
+ *
+ * Agendas that are not in the near-cache are computed on a bounded pool, so the number of
+ * concurrent scheduling runs stays fixed however many events are requested at once. When the pool
+ * and its queue are full, the requesting thread computes the agenda itself, which slows down the
+ * callers instead of piling up work. Concurrent requests for an agenda that is already being
+ * computed wait for that computation instead of starting another one, so a large event that is
+ * being recomputed only ever takes up one thread of the pool.
+ *
+ * With spring.threads.virtual.enabled the pool is replaced by a virtual thread per computation,
+ * limited to the same number of concurrent computations; callers beyond the limit wait for a
+ * free slot instead of queueing. Virtual threads need Java 21; on an older runtime Spring Boot
+ * would silently keep Tomcat on platform threads, so startup fails instead.
+ */
 @Service
 public class ConferenceAgendaService {
 
     private final PresentationService presentationService;
+    private final ConferenceAgendaCache conferenceAgendaCache;
     private final ConferenceAgendaUtil conferenceAgendaUtil;
+    private final SessionTemplateService sessionTemplateService;
+    private final TaskExecutor agendaExecutor;
+
+    private static final Logger logger = LogManager.getLogger(ConferenceAgendaService.class);
+
+    private static final int VIRTUAL_THREADS_JAVA_VERSION = 21;
+
+    // Agenda computations in progress
+    private final Map<AgendaKey, CompletableFuture<CachedAgenda>> computations = new ConcurrentHashMap<>();
+
+    private record AgendaKey(String eventKey, SchedulingStrategyType strategyType) {
+    }
+
+    // Snapshots that previews are derived from, replaced once the version of their event changes
+    private final BoundedMap<AgendaKey, VersionedSnapshot> snapshots;
+
+    private record VersionedSnapshot(long version, AgendaSnapshot snapshot) {
+    }
 
-    public ConferenceAgendaService(PresentationService presentationService, ConferenceAgendaUtil conferenceAgendaUtil) {
+    public ConferenceAgendaService(PresentationService presentationService, ConferenceAgendaCache conferenceAgendaCache, ConferenceAgendaUtil conferenceAgendaUtil,
+                                   SessionTemplateService sessionTemplateService,
+                                   @Value("${eventflow.agenda.executor.threads:4}") int threads,
+                                   @Value("${eventflow.agenda.executor.queue-capacity:100}") int queueCapacity,
+                                   @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                                   @Value("${eventflow.cache.max-events:1000}") int maxEvents) {
         this.presentationService = presentationService;
+        this.conferenceAgendaCache = conferenceAgendaCache;
         this.conferenceAgendaUtil = conferenceAgendaUtil;
+        this.sessionTemplateService = sessionTemplateService;
+        this.snapshots = new BoundedMap<>(maxEvents * SchedulingStrategyType.values().length);
+        if (virtualThreads && Runtime.version().feature() < VIRTUAL_THREADS_JAVA_VERSION) {
+            throw new IllegalStateException("spring.threads.virtual.enabled requires Java " + VIRTUAL_THREADS_JAVA_VERSION
+                    + " or later, but the application runs on Java " + Runtime.version().feature());
+        }
+        this.agendaExecutor = virtualThreads ? virtualThreadExecutor(threads) : platformThreadExecutor(threads, queueCapacity);
+    }
+
+    private static TaskExecutor platformThreadExecutor(int threads, int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("agenda-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    private static TaskExecutor virtualThreadExecutor(int concurrency) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("agenda-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(concurrency);
+        return executor;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (agendaExecutor instanceof ThreadPoolTaskExecutor pool) {
+            pool.shutdown();
+        } else if (agendaExecutor instanceof SimpleAsyncTaskExecutor executor) {
+            executor.close();
+        }
+    }
+
+    public GetConferenceAgendaResponseDTO getConferenceAgenda(String eventKey, SchedulingStrategyType strategyType) {
+        return getCachedConferenceAgenda(eventKey, strategyType).getResponse();
+    }
+
+    /**
+     * Returns the agenda together with the version and build time it is validated by, e.g. to
+     * answer a conditional request. An agenda in the near-cache is returned without scheduling.
+     */
+    public CachedAgenda getCachedConferenceAgenda(String eventKey, SchedulingStrategyType strategyType) {
+        return join(computeAgenda(eventKey, strategyType));
+    }
+
+    /**
+     * Returns the agenda if the near-cache or the shared store holds its current version, without
+     * loading presentations or scheduling.
+     *
+     * @return The agenda, or null if it has to be computed.
+     */
+    public CachedAgenda getCachedConferenceAgendaIfPresent(String eventKey, SchedulingStrategyType strategyType) {
+        EventKeyUtil.requireValid(eventKey);
+        return conferenceAgendaCache.getCurrentEntryIfPresent(eventKey, strategyType);
+    }
+
+    /**
+     * Returns the agendas of several events, computing the missing ones in parallel.
+     *
+     * @param eventKeys The events of the requested agendas.
+     * @param strategyType The scheduling strategy used for all agendas.
+     * @return The agendas by event key, in the order they were requested.
+     */
+    public GetEventAgendasResponseDTO getConferenceAgendas(List<String> eventKeys, SchedulingStrategyType strategyType) {
+        Map<String, CompletableFuture<CachedAgenda>> futures = new LinkedHashMap<>();
+        for (String eventKey : eventKeys) {
+            futures.computeIfAbsent(eventKey, key -> computeAgenda(key, strategyType));
+        }
+
+        Map<String, GetConferenceAgendaResponseDTO> agendas = new LinkedHashMap<>();
+        futures.forEach((eventKey, future) -> agendas.put(eventKey, join(future).getResponse()));
+        return new GetEventAgendasResponseDTO(agendas);
+    }
+
+    /**
+     * Computes the agendas of an event that are not cached, off the calling thread.
+     *
+     * Reads that arrive while an agenda is being refreshed wait for that computation instead of
+     * starting their own.
+     *
+     * @param eventKey The event of the agendas.
+     * @param strategyTypes The strategies whose agendas are computed.
+     * @return Completes when every agenda is cached.
+     */
+    public CompletableFuture<Void> refreshConferenceAgendas(String eventKey, Collection<SchedulingStrategyType> strategyTypes) {
+        CompletableFuture<?>[] refreshes = new CompletableFuture<?>[strategyTypes.size()];
+        int index = 0;
+        for (SchedulingStrategyType strategyType : strategyTypes) {
+            refreshes[index++] = computeAgenda(eventKey, strategyType);
+        }
+        return CompletableFuture.allOf(refreshes);
+    }
+
+    private CompletableFuture<CachedAgenda> computeAgenda(String eventKey, SchedulingStrategyType strategyType) {
+        EventKeyUtil.requireValid(eventKey);
+        CachedAgenda cached = conferenceAgendaCache.getEntryIfPresent(eventKey, strategyType);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        AgendaKey key = new AgendaKey(eventKey, strategyType);
+        CompletableFuture<CachedAgenda> computation = new CompletableFuture<>();
+        CompletableFuture<CachedAgenda> running = computations.putIfAbsent(key, computation);
+        if (running != null) {
+            return running;
+        }
+
+        agendaExecutor.execute(() -> {
+            try {
+                CachedAgenda agenda = conferenceAgendaCache.getOrComputeEntry(eventKey, strategyType,
+                        () -> presentationService.getAllPresentation(eventKey).getPresentations());
+                computations.remove(key, computation);
+                computation.complete(agenda);
+            } catch (Throwable e) {
+                computations.remove(key, computation);
+                computation.completeExceptionally(e);
+            }
+        });
+        return computation;
+    }
+
+    private static CachedAgenda join(CompletableFuture<CachedAgenda> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Packs the presentations of an event into as few tracks as the time budget allows.
+     *
+     * The result depends on the budget and on the speed of the machine, so it is not cached; the
+     * search runs on the calling thread.
+     *
+     * @param eventKey The event of the agenda.
+     * @param budgetMillis The time the optimization may take, at most CommonConstants.MAX_OPTIMIZATION_BUDGET_MS.
+     * @return The optimized agenda with its track count and lower bound.
+     */
+    public OptimizedAgendaResponseDTO optimizeConferenceAgenda(String eventKey, long budgetMillis) {
+        EventKeyUtil.requireValid(eventKey);
+        if (budgetMillis <= 0 || budgetMillis > CommonConstants.MAX_OPTIMIZATION_BUDGET_MS) {
+            logger.error("Invalid optimization budget: " + budgetMillis);
+            throw new InvalidParameterException("Invalid optimization budget. It should be greater than 0 and less than or equal to "
+                    + CommonConstants.MAX_OPTIMIZATION_BUDGET_MS + " ms");
+        }
+        List<PresentationInfoDTO> presentations = presentationService.getAllPresentation(eventKey).getPresentations();
+        return conferenceAgendaUtil.optimizeSessions(presentations, sessionTemplateService.getLayout(eventKey), budgetMillis);
+    }
+
+    /**
+     * Shows which tracks of an agenda would change if a presentation were added or removed.
+     *
+     * The change is applied to a snapshot of the agenda that is built once per version of the
+     * event, so a preview neither reads the database nor touches the cached agendas; with the
+     * GREEDY strategy it only reschedules the tracks from the change on.
+     *
+     * @param eventKey The event of the agenda.
+     * @param strategyType The scheduling strategy of the agenda.
+     * @param request The presentation to add or the id of the presentation to remove.
+     * @return The changed tracks and the track count after the change.
+     */
+    public AgendaPreviewResponseDTO previewConferenceAgenda(String eventKey, SchedulingStrategyType strategyType, PreviewAgendaRequestDTO request) {
+        EventKeyUtil.requireValid(eventKey);
+        if ((request.getAdd() == null) == (request.getRemove() == null)) {
+            logger.error(ExceptionDictionary.INVALID_AGENDA_PREVIEW);
+            throw new InvalidParameterException(ExceptionDictionary.INVALID_AGENDA_PREVIEW);
+        }
+
+        AgendaSnapshot snapshot = getSnapshot(eventKey, strategyType);
+        AgendaSnapshot preview;
+        if (request.getAdd() != null) {
+            preview = snapshot.withPresentation(new PresentationInfoDTO(request.getAdd().getName(), request.getAdd().getDuration()));
+        } else {
+            int index = snapshot.indexOf(request.getRemove());
+            if (index < 0) {
+                logger.error(ExceptionDictionary.UNKNOWN_PRESENTATION + request.getRemove());
+                throw new InvalidParameterException(ExceptionDictionary.UNKNOWN_PRESENTATION + request.getRemove());
+            }
+            preview = snapshot.withoutPresentation(index);
+        }
+        return new AgendaPreviewResponseDTO(preview.getTracks().size(), preview.changedTracks(snapshot));
+    }
+
+    private AgendaSnapshot getSnapshot(String eventKey, SchedulingStrategyType strategyType) {
+        AgendaKey key = new AgendaKey(eventKey, strategyType);
+        // Read before the presentations, so a snapshot of newer presentations is rebuilt on the next preview
+        long version = conferenceAgendaCache.currentVersion(eventKey);
+        VersionedSnapshot cached = snapshots.get(key);
+        if (cached != null && cached.version() == version) {
+            return cached.snapshot();
+        }
+        List<PresentationInfoDTO> presentations = presentationService.getAllPresentation(eventKey).getPresentations();
+        AgendaSnapshot snapshot = conferenceAgendaUtil.snapshotSessions(presentations, strategyType, sessionTemplateService.getLayout(eventKey));
+        snapshots.put(key, new VersionedSnapshot(version, snapshot));
+        return snapshot;
     }
 
-    public GetConferenceAgendaResponseDTO getConferenceAgenda() {
-        PresentationListDTO responseDTO = presentationService.getAllPresentation();
-        GetConferenceAgendaResponseDTO response = new GetConferenceAgendaResponseDTO();
-        response.setConferenceAgenda(conferenceAgendaUtil.allocateSessions(responseDTO.getPresentations()));
-        return response;
+    /**
+     * Schedules the presentations of an event straight from a database cursor with the GREEDY
+     * strategy, handing every track to the consumer as soon as it is closed.
+     *
+     * @param eventKey The event of the agenda.
+     * @param trackConsumer Receives the tracks of the agenda in order.
+     */
+    @Transactional(readOnly = true)
+    public void streamConferenceAgenda(String eventKey, Consumer<TrackResponseDTO> trackConsumer) {
+        try (Stream<PresentationInfoDTO> presentations = presentationService.streamAllPresentation(eventKey)) {
+            conferenceAgendaUtil.streamSessions(presentations.iterator(), sessionTemplateService.getLayout(eventKey), trackConsumer);
+        }
     }
-}
\ No newline at end of file
+}
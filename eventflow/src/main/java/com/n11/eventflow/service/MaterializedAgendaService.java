@@ -0,0 +1,260 @@
+package com.n11.eventflow.service;
+
+import com.n11.eventflow.cache.AgendaMaterializer;
+import com.n11.eventflow.cache.CachedAgenda;
+import com.n11.eventflow.constants.CommonConstants;
+import com.n11.eventflow.model.dto.Agenda.ConferenceAgendaUtilDTO;
+import com.n11.eventflow.model.dto.Agenda.Response.GetConferenceAgendaResponseDTO;
+import com.n11.eventflow.model.dto.Agenda.Response.TrackResponseDTO;
+import com.n11.eventflow.model.dto.Presentation.PresentationInfoDTO;
+import com.n11.eventflow.model.entity.AgendaMaterialization;
+import com.n11.eventflow.model.entity.AgendaMaterializationId;
+import com.n11.eventflow.model.entity.AgendaSlot;
+import com.n11.eventflow.model.projection.PresentationSummary;
+import com.n11.eventflow.model.projection.PresentationWatermark;
+import com.n11.eventflow.repository.AgendaMaterializationRepository;
+import com.n11.eventflow.repository.AgendaSlotRepository;
+import com.n11.eventflow.repository.PresentationRepository;
+import com.n11.eventflow.util.ConferenceAgendaUtil;
+import com.n11.eventflow.util.scheduling.AgendaLayout;
+import com.n11.eventflow.util.scheduling.SchedulingStrategyType;
+import com.n11.eventflow.util.scheduling.SessionLayout;
+import com.n11.eventflow.util.scheduling.TrackPlan;
+import jakarta.persistence.EntityManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps computed agendas in the agenda_slot table, one row per slot, so they survive restarts and
+ * evictions of the AgendaStore.
+ *
+ * A materialized agenda is read back with a single range scan of an index of agenda_slot. It is
+ * only used if it was laid out with the current session layout of its event, which also catches
+ * an agenda whose computation started before a template change and was written after the evict.
+ * Whether it is up to date is decided by the watermark of the event: the number of presentations
+ * and the highest sequence number among them, both of which the materialization records. If only
+ * presentations with higher sequence numbers were added, the GREEDY agenda can be brought up to
+ * date the same way the cache patches it: only its last track can change, so that track is
+ * rescheduled together with the presentations submitted after it and replaced, while every earlier
+ * row stays untouched. In every other case, e.g. a presentation that committed late with a lower
+ * sequence number, and for the packing strategies, which sort the whole presentation set, the
+ * agenda is recomputed and its materialization rewritten.
+ *
+ * Slots are written in batches of CommonConstants.BULK_INSERT_BATCH_SIZE. The materialized agenda
+ * is an optimization only: a failing read or write is logged and the agenda is computed as if
+ * nothing was materialized.
+ */
+@Service
+public class MaterializedAgendaService implements AgendaMaterializer {
+
+    private final AgendaSlotRepository agendaSlotRepository;
+    private final AgendaMaterializationRepository agendaMaterializationRepository;
+    private final PresentationRepository presentationRepository;
+    private final ConferenceAgendaUtil conferenceAgendaUtil;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    private static final Logger logger = LogManager.getLogger(MaterializedAgendaService.class);
+
+    public MaterializedAgendaService(AgendaSlotRepository agendaSlotRepository, AgendaMaterializationRepository agendaMaterializationRepository,
+                                     PresentationRepository presentationRepository, ConferenceAgendaUtil conferenceAgendaUtil,
+                                     EntityManager entityManager, TransactionTemplate transactionTemplate) {
+        this.agendaSlotRepository = agendaSlotRepository;
+        this.agendaMaterializationRepository = agendaMaterializationRepository;
+        this.presentationRepository = presentationRepository;
+        this.conferenceAgendaUtil = conferenceAgendaUtil;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public CachedAgenda read(String eventKey, SchedulingStrategyType strategyType, long version, SessionLayout sessionLayout) {
+        try {
+            AgendaMaterialization materialization = agendaMaterializationRepository.findById(new AgendaMaterializationId(eventKey, strategyType)).orElse(null);
+            if (materialization == null || materialization.getLayoutFingerprint() != sessionLayout.getFingerprint()) {
+                return null;
+            }
+            PresentationWatermark watermark = presentationRepository.findWatermark(eventKey);
+            if (watermark.getCount() == materialization.getPresentationCount()
+                    && watermark.getLastSequenceNumber() == materialization.getLastSequenceNumber()) {
+                return readAgenda(materialization, version, sessionLayout);
+            }
+            if (strategyType == SchedulingStrategyType.GREEDY && watermark.getLastSequenceNumber() > materialization.getLastSequenceNumber()) {
+                return appendToLastTrack(materialization, watermark, version, sessionLayout);
+            }
+            return null;
+        } catch (DataAccessException | TransactionException e) {
+            logger.error("Could not read the materialized agenda of event " + eventKey + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public void write(String eventKey, SchedulingStrategyType strategyType, AgendaLayout layout, List<PresentationInfoDTO> presentations) {
+        try {
+            PresentationWatermark watermark = presentationRepository.findWatermark(eventKey);
+            if (watermark.getCount() != presentations.size()) {
+                // Presentations were stored since these were loaded, the next read computes the agenda again
+                return;
+            }
+            AgendaMaterialization materialization = new AgendaMaterialization(eventKey, strategyType, presentations.size(), watermark.getLastSequenceNumber(),
+                    layout.getSessionLayout().getFingerprint(), layout.getTrackCount(), layout.getScheduledMinutes(), Instant.now());
+            transactionTemplate.executeWithoutResult(status -> replaceTracks(materialization, 0, layout));
+        } catch (DataAccessException | TransactionException e) {
+            logger.error("Could not materialize the agenda of event " + eventKey + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Drops every materialized agenda of an event, e.g. because its session layout changed.
+     */
+    public void evict(String eventKey) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                agendaSlotRepository.deleteByEvent(eventKey);
+                agendaMaterializationRepository.deleteByEvent(eventKey);
+            });
+        } catch (DataAccessException | TransactionException e) {
+            logger.error("Could not evict the materialized agendas of event " + eventKey + ": " + e.getMessage());
+        }
+    }
+
+    private CachedAgenda readAgenda(AgendaMaterialization materialization, long version, SessionLayout sessionLayout) {
+        List<AgendaSlot> slots = agendaSlotRepository.findAgenda(materialization.getEventKey(), materialization.getStrategy());
+        List<TrackResponseDTO> tracks = toTrackResponses(slots, materialization.getTrackCount());
+        TrackPlan lastTrack = materialization.getTrackCount() == 0 ? null
+                : toTrackPlan(slots.subList(firstSlotOfTrack(slots, materialization.getTrackCount() - 1), slots.size()), sessionLayout);
+        return new CachedAgenda(version, new GetConferenceAgendaResponseDTO(tracks), lastTrack,
+                materialization.getPresentationCount(), materialization.getScheduledMinutes(),
+                materialization.getBuiltAt() == null ? 0 : materialization.getBuiltAt().toEpochMilli());
+    }
+
+    /**
+     * Reschedules the last materialized track with the presentations submitted after it, replaces
+     * that track in agenda_slot and returns the updated agenda.
+     *
+     * @return The updated agenda, or null if presentations were stored with lower sequence numbers
+     *         than the last materialized one, and the agenda has to be computed again.
+     */
+    private CachedAgenda appendToLastTrack(AgendaMaterialization materialization, PresentationWatermark watermark, long version, SessionLayout sessionLayout) {
+        String eventKey = materialization.getEventKey();
+        List<PresentationSummary> submitted = presentationRepository.findPageBetween(eventKey, materialization.getLastSequenceNumber(),
+                watermark.getLastSequenceNumber(), Limit.unlimited());
+        if (materialization.getPresentationCount() + submitted.size() != watermark.getCount()) {
+            // A presentation committed after the materialization with a lower sequence number than its last one
+            return null;
+        }
+
+        int lastTrack = Math.max(materialization.getTrackCount() - 1, 0);
+        List<AgendaSlot> slots = agendaSlotRepository.findAgenda(eventKey, SchedulingStrategyType.GREEDY);
+        int firstTailSlot = materialization.getTrackCount() == 0 ? slots.size() : firstSlotOfTrack(slots, lastTrack);
+
+        List<PresentationInfoDTO> tail = new ArrayList<>();
+        long lastTrackMinutes = 0;
+        for (AgendaSlot slot : slots.subList(firstTailSlot, slots.size())) {
+            if (slot.getPresentationId() != null) {
+                tail.add(new PresentationInfoDTO(slot.getPresentationId(), slot.getName(), slot.getDuration()));
+                lastTrackMinutes += slot.getDuration();
+            }
+        }
+        for (PresentationSummary presentation : submitted) {
+            tail.add(new PresentationInfoDTO(presentation.getId(), presentation.getName(), presentation.getDuration()));
+        }
+
+        AgendaLayout tailLayout = conferenceAgendaUtil.layoutSessions(tail, SchedulingStrategyType.GREEDY, sessionLayout);
+        AgendaMaterialization updated = new AgendaMaterialization(eventKey, SchedulingStrategyType.GREEDY,
+                (int) watermark.getCount(), watermark.getLastSequenceNumber(), sessionLayout.getFingerprint(),
+                lastTrack + tailLayout.getTrackCount(), materialization.getScheduledMinutes() - lastTrackMinutes + tailLayout.getScheduledMinutes(),
+                Instant.now());
+        try {
+            transactionTemplate.executeWithoutResult(status -> replaceTracks(updated, lastTrack, tailLayout));
+        } catch (DataAccessException | TransactionException e) {
+            logger.error("Could not update the materialized agenda of event " + eventKey + ": " + e.getMessage());
+        }
+
+        List<TrackResponseDTO> tracks = toTrackResponses(slots.subList(0, firstTailSlot), lastTrack);
+        tracks.addAll(tailLayout.toTrackResponses());
+        TrackPlan lastPlan = tailLayout.getTrackCount() == 0 ? null : tailLayout.toTrackPlan(tailLayout.getTrackCount() - 1);
+        return new CachedAgenda(version, new GetConferenceAgendaResponseDTO(tracks), lastPlan,
+                updated.getPresentationCount(), updated.getScheduledMinutes(), updated.getBuiltAt().toEpochMilli());
+    }
+
+    /**
+     * Replaces the tracks from firstTrack on with the tracks of the layout and stores the header.
+     * Must run inside a transaction.
+     */
+    private void replaceTracks(AgendaMaterialization materialization, int firstTrack, AgendaLayout layout) {
+        String eventKey = materialization.getEventKey();
+        SchedulingStrategyType strategyType = materialization.getStrategy();
+        agendaSlotRepository.deleteTracksFrom(eventKey, strategyType, firstTrack);
+
+        List<AgendaSlot> batch = new ArrayList<>(CommonConstants.BULK_INSERT_BATCH_SIZE);
+        layout.forEachSlot(firstTrack, (track, position, session, startMinute, duration, name, presentation) -> {
+            batch.add(new AgendaSlot(eventKey, strategyType, track, position, session, startMinute, duration, name,
+                    presentation == null ? null : presentation.getId()));
+            if (batch.size() == CommonConstants.BULK_INSERT_BATCH_SIZE) {
+                saveBatch(batch);
+            }
+        });
+        if (!batch.isEmpty()) {
+            saveBatch(batch);
+        }
+        agendaMaterializationRepository.save(materialization);
+    }
+
+    private void saveBatch(List<AgendaSlot> batch) {
+        agendaSlotRepository.saveAll(batch);
+        // Keeps the persistence context from growing with the agenda
+        entityManager.flush();
+        entityManager.clear();
+        batch.clear();
+    }
+
+    private static int firstSlotOfTrack(List<AgendaSlot> slots, int track) {
+        int slot = slots.size();
+        while (slot > 0 && slots.get(slot - 1).getTrack() >= track) {
+            slot--;
+        }
+        return slot;
+    }
+
+    private static List<TrackResponseDTO> toTrackResponses(List<AgendaSlot> slots, int trackCount) {
+        List<TrackResponseDTO> tracks = new ArrayList<>(trackCount + 1);
+        List<ConferenceAgendaUtilDTO> current = null;
+        int currentTrack = -1;
+        for (AgendaSlot slot : slots) {
+            if (slot.getTrack() != currentTrack) {
+                current = new ArrayList<>();
+                tracks.add(new TrackResponseDTO(current));
+                currentTrack = slot.getTrack();
+            }
+            String startTime = AgendaLayout.timeLabel(slot.getStartMinute());
+            // Networking events are the only slots without a duration
+            current.add(slot.getDuration() == 0 ? new ConferenceAgendaUtilDTO(startTime, slot.getName())
+                    : new ConferenceAgendaUtilDTO(startTime, slot.getName(), slot.getDuration()));
+        }
+        return tracks;
+    }
+
+    private static TrackPlan toTrackPlan(List<AgendaSlot> trackSlots, SessionLayout sessionLayout) {
+        TrackPlan plan = new TrackPlan(new ArrayList<>(sessionLayout.getSessionCount()));
+        for (int session = 0; session < sessionLayout.getSessionCount(); session++) {
+            plan.getSessions().add(new ArrayList<>());
+        }
+        for (AgendaSlot slot : trackSlots) {
+            if (slot.getPresentationId() != null) {
+                plan.getSessions().get(slot.getSession()).add(new PresentationInfoDTO(slot.getPresentationId(), slot.getName(), slot.getDuration()));
+            }
+        }
+        return plan;
+    }
+}
@@ -0,0 +1,180 @@
+package com.n11.eventflow.service;
+
+import com.n11.eventflow.cache.ConferenceAgendaCache;
+import com.n11.eventflow.constants.CommonConstants;
+import com.n11.eventflow.constants.dictionaries.ExceptionDictionary;
+import com.n11.eventflow.exception.InvalidParameterException;
+import com.n11.eventflow.model.dto.Presentation.PresentationInfoDTO;
+import com.n11.eventflow.model.dto.Presentation.PresentationListDTO;
+import com.n11.eventflow.model.entity.Presentation;
+import com.n11.eventflow.repository.PresentationRepository;
+import com.n11.eventflow.util.BoundedMap;
+import com.n11.eventflow.util.EventKeyUtil;
+import com.n11.eventflow.util.mapper.MapperUtil;
+import com.n11.eventflow.util.search.PresentationSearchIndex;
+import com.n11.eventflow.util.search.SearchMode;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.ObjectUtils;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Searches the names of the presentations of an event.
+ *
+ * By default every event has a PresentationSearchIndex in memory. It is built from the database
+ * on the first search and stamped with the version of the event, like the cached agendas. New
+ * presentations stored on this node are added to it while the agenda cache holds the lock of the
+ * event, which moves it on to the next version; an index that missed a version, e.g. because
+ * another node stored presentations, is rebuilt on the next search. Only the indexes of the
+ * eventflow.cache.max-events most recently searched events are kept.
+ *
+ * With eventflow.presentation.search.backend=postgres the searches are run by Postgres instead,
+ * on the tsvector and trigram indexes of db/presentation-search.sql, and nothing is kept in memory.
+ */
+@Service
+public class PresentationSearchService {
+
+    private final PresentationRepository presentationRepository;
+    private final ConferenceAgendaCache conferenceAgendaCache;
+    private final MapperUtil mapperUtil;
+    private final boolean postgres;
+    private final BoundedMap<String, EventIndex> indexes;
+
+    private static final Logger logger = LogManager.getLogger(PresentationSearchService.class);
+
+    private record VersionedIndex(long version, PresentationSearchIndex index) {
+    }
+
+    /**
+     * The index of one event. Additions hold the lock while they move the index to the next
+     * version; a rebuild holds the build lock while it reads the event from the database, so
+     * concurrent searches wait for one rebuild instead of starting their own, and creates are not
+     * held up by it.
+     */
+    private static class EventIndex {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final ReentrantLock buildLock = new ReentrantLock();
+        private volatile VersionedIndex current;
+    }
+
+    public PresentationSearchService(PresentationRepository presentationRepository, ConferenceAgendaCache conferenceAgendaCache, MapperUtil mapperUtil,
+                                     @Value("${eventflow.presentation.search.backend:memory}") String backend,
+                                     @Value("${eventflow.cache.max-events:1000}") int maxEvents) {
+        this.presentationRepository = presentationRepository;
+        this.conferenceAgendaCache = conferenceAgendaCache;
+        this.mapperUtil = mapperUtil;
+        this.postgres = "postgres".equalsIgnoreCase(backend);
+        this.indexes = new BoundedMap<>(maxEvents);
+    }
+
+    /**
+     * Finds the presentations of an event whose names match every word of the query.
+     *
+     * @param eventKey The event of the presentations.
+     * @param query The words to search for.
+     * @param mode How the words are matched.
+     * @param limit The largest number of presentations returned, at most CommonConstants.MAX_SEARCH_LIMIT.
+     * @return The first matching presentations in submission order.
+     */
+    public PresentationListDTO search(String eventKey, String query, SearchMode mode, int limit) {
+        EventKeyUtil.requireValid(eventKey);
+        if (ObjectUtils.isEmpty(query) || query.length() > CommonConstants.MAX_SEARCH_QUERY_LENGTH) {
+            logger.error(ExceptionDictionary.INVALID_SEARCH_QUERY + query);
+            throw new InvalidParameterException(ExceptionDictionary.INVALID_SEARCH_QUERY + query);
+        }
+        if (limit <= 0 || limit > CommonConstants.MAX_SEARCH_LIMIT) {
+            logger.error("Invalid search limit: " + limit);
+            throw new InvalidParameterException("Invalid search limit. It should be greater than 0 and less than or equal to " + CommonConstants.MAX_SEARCH_LIMIT);
+        }
+
+        if (postgres) {
+            return new PresentationListDTO(mapperUtil.convertToDTOList(searchDatabase(eventKey, query, mode, limit), PresentationInfoDTO.class));
+        }
+        return new PresentationListDTO(index(eventKey).search(query, mode, limit));
+    }
+
+    private List<Presentation> searchDatabase(String eventKey, String query, SearchMode mode, int limit) {
+        return switch (mode) {
+            case FULL_TEXT -> presentationRepository.searchFullText(eventKey, query, limit);
+            case PREFIX -> {
+                List<String> tokens = PresentationSearchIndex.tokenize(query);
+                if (tokens.isEmpty()) {
+                    yield List.of();
+                }
+                // The words only hold letters and digits, so they cannot break the tsquery syntax
+                yield presentationRepository.searchPrefix(eventKey, tokens.stream().map(token -> token + ":*").collect(Collectors.joining(" & ")), limit);
+            }
+            case FUZZY -> presentationRepository.searchSimilar(eventKey, query, limit);
+        };
+    }
+
+    /**
+     * Adds presentations that were just committed to the index of their event. Must be called
+     * while the agenda cache holds the lock of the event, before it increments the version.
+     *
+     * @param eventKey The event of the presentations.
+     * @param presentations The stored presentations, in submission order.
+     */
+    public void indexPresentations(String eventKey, List<Presentation> presentations) {
+        if (postgres) {
+            return;
+        }
+        EventIndex event = indexes.get(eventKey);
+        if (event == null || event.current == null) {
+            return;
+        }
+        event.lock.lock();
+        try {
+            VersionedIndex current = event.current;
+            if (current == null) {
+                return;
+            }
+            if (current.version() != conferenceAgendaCache.currentVersion(eventKey)) {
+                // Another node stored presentations in the meantime, the next search rebuilds the index
+                event.current = null;
+                return;
+            }
+            current.index().addAll(presentations.stream()
+                    .map(presentation -> new PresentationInfoDTO(presentation.getId(), presentation.getName(), presentation.getDuration()))
+                    .toList());
+            event.current = new VersionedIndex(current.version() + 1, current.index());
+        } finally {
+            event.lock.unlock();
+        }
+    }
+
+    private PresentationSearchIndex index(String eventKey) {
+        EventIndex event = indexes.computeIfAbsent(eventKey, key -> new EventIndex());
+        long version = conferenceAgendaCache.currentVersion(eventKey);
+        VersionedIndex current = event.current;
+        if (current != null && current.version() == version) {
+            return current.index();
+        }
+
+        event.buildLock.lock();
+        try {
+            // Read before the presentations, so an index of newer presentations is rebuilt on the next search
+            version = conferenceAgendaCache.currentVersion(eventKey);
+            current = event.current;
+            if (current != null && current.version() == version) {
+                return current.index();
+            }
+            PresentationSearchIndex index = new PresentationSearchIndex();
+            index.addAll(mapperUtil.convertToDTOList(presentationRepository.findAllByEvent(eventKey), PresentationInfoDTO.class));
+            event.lock.lock();
+            try {
+                event.current = new VersionedIndex(version, index);
+            } finally {
+                event.lock.unlock();
+            }
+            return index;
+        } finally {
+            event.buildLock.unlock();
+        }
+    }
+}
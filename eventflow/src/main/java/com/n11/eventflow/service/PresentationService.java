@@ -1,35 +1,161 @@
 package com.n11.eventflow.service;
 
+import com.n11.eventflow.cache.ConferenceAgendaCache;
 import com.n11.eventflow.constants.CommonConstants;
 import com.n11.eventflow.exception.InvalidParameterException;
+import com.n11.eventflow.exception.WriteQueueFullException;
 import com.n11.eventflow.model.dto.Presentation.PresentationInfoDTO;
+import com.n11.eventflow.model.dto.Presentation.PresentationPageDTO;
+import com.n11.eventflow.model.dto.Presentation.Request.CreatePresentationRequestDTO;
+import com.n11.eventflow.model.dto.Presentation.Response.BulkCreatePresentationResponseDTO;
+import com.n11.eventflow.model.dto.Presentation.Response.BulkRowErrorDTO;
 import com.n11.eventflow.model.dto.Presentation.Response.CreatePresentationResponseDTO;
 import com.n11.eventflow.model.dto.Presentation.PresentationListDTO;
 import com.n11.eventflow.model.entity.Presentation;
+import com.n11.eventflow.model.event.PresentationCreated;
+import com.n11.eventflow.model.projection.PresentationSummary;
 import com.n11.eventflow.repository.PresentationRepository;
 import com.n11.eventflow.constants.dictionaries.ExceptionDictionary;
+import com.n11.eventflow.util.EventKeyUtil;
+import com.n11.eventflow.util.batching.MicroBatchQueue;
+import com.n11.eventflow.util.importer.PresentationImportRow;
 import com.n11.eventflow.util.mapper.MapperUtil;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.ObjectUtils;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Stream;
 
 @Service
 public class PresentationService {
 
     private final PresentationRepository presentationRepository;
     private final MapperUtil mapperUtil;
+    private final ConferenceAgendaCache conferenceAgendaCache;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final ObservationRegistry observationRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final PresentationSearchService presentationSearchService;
+
+    private final boolean writeBehind;
+    private final int writeQueueCapacity;
+    private final int writeBatchSize;
+    private final Duration writeWindow;
+
+    // Micro-batches single creates in write-behind mode, null otherwise
+    private MicroBatchQueue<String, Presentation> writeQueue;
 
     private static final Logger logger = LogManager.getLogger(PresentationService.class);
+    private static final String FETCH_OBSERVATION = "eventflow.presentation.fetch";
+    private static final String MAPPING_OBSERVATION = "eventflow.presentation.mapping";
+    private static final String INVALID_DURATION = "Invalid presentation duration. It should be greater than 0 and less than or equal to " + CommonConstants.MAX_SESSION_DURATION;
 
-    public PresentationService(PresentationRepository presentationRepository, MapperUtil mapperUtil) {
+    public PresentationService(PresentationRepository presentationRepository, MapperUtil mapperUtil, ConferenceAgendaCache conferenceAgendaCache, EntityManager entityManager, Validator validator,
+                               ObservationRegistry observationRegistry, ApplicationEventPublisher eventPublisher, TransactionTemplate transactionTemplate,
+                               PresentationSearchService presentationSearchService,
+                               @Value("${eventflow.presentation.write-behind.enabled:false}") boolean writeBehind,
+                               @Value("${eventflow.presentation.write-behind.capacity:10000}") int writeQueueCapacity,
+                               @Value("${eventflow.presentation.write-behind.batch-size:100}") int writeBatchSize,
+                               @Value("${eventflow.presentation.write-behind.window-ms:5}") long writeWindowMillis) {
         this.presentationRepository = presentationRepository;
         this.mapperUtil = mapperUtil;
+        this.conferenceAgendaCache = conferenceAgendaCache;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.observationRegistry = observationRegistry;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.presentationSearchService = presentationSearchService;
+        this.writeBehind = writeBehind;
+        this.writeQueueCapacity = writeQueueCapacity;
+        this.writeBatchSize = writeBatchSize;
+        this.writeWindow = Duration.ofMillis(writeWindowMillis);
+    }
+
+    /**
+     * Starts the writer of the write-behind queue once the service is fully initialized, as it
+     * calls back into it from its own thread.
+     */
+    @PostConstruct
+    public void start() {
+        if (writeBehind) {
+            writeQueue = new MicroBatchQueue<>("presentation-writer", writeQueueCapacity, writeBatchSize, writeWindow,
+                    Presentation::getEventKey, this::saveBatch);
+        }
+    }
+
+    /**
+     * Stores every create that is still queued before the connection pool is closed.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (writeQueue != null) {
+            writeQueue.close();
+        }
+    }
+
+    public CreatePresentationResponseDTO createPresentation(String eventKey, String name, int duration) {
+        requireValid(eventKey, name, duration);
+        Presentation presentation = new Presentation(eventKey, name, duration);
+        conferenceAgendaCache.createPresentation(eventKey, new PresentationInfoDTO(name, duration),
+                () -> persist(eventKey, List.of(presentation), () -> presentationRepository.save(presentation)));
+
+        return mapperUtil.convertToDTO(presentation, CreatePresentationResponseDTO.class);
+    }
+
+    /**
+     * Creates a presentation, in write-behind mode as part of a micro-batch.
+     *
+     * In write-behind mode the presentation is queued and stored by a single writer together with
+     * the creates that arrive within eventflow.presentation.write-behind.window-ms, up to
+     * eventflow.presentation.write-behind.batch-size at a time, in one transaction per event. The
+     * future completes once that transaction has committed and the agenda cache has been brought
+     * up to date, so a completed create is as durable as a direct one; a create that is still
+     * queued when the application stops is stored before it shuts down. A full queue rejects the
+     * create right away. Without write-behind the presentation is stored on the calling thread.
+     *
+     * @return Completes with the stored presentation.
+     * @throws WriteQueueFullException If the write-behind queue is full.
+     */
+    public CompletableFuture<CreatePresentationResponseDTO> submitPresentation(String eventKey, String name, int duration) {
+        if (writeQueue == null) {
+            return CompletableFuture.completedFuture(createPresentation(eventKey, name, duration));
+        }
+        requireValid(eventKey, name, duration);
+        Presentation presentation = new Presentation(eventKey, name, duration);
+        try {
+            return writeQueue.submit(presentation).thenApply(stored -> mapperUtil.convertToDTO(presentation, CreatePresentationResponseDTO.class));
+        } catch (RejectedExecutionException e) {
+            logger.error(ExceptionDictionary.WRITE_QUEUE_FULL);
+            throw new WriteQueueFullException(ExceptionDictionary.WRITE_QUEUE_FULL);
+        }
     }
 
-    public CreatePresentationResponseDTO createPresentation(String name, int duration) {
+    private void requireValid(String eventKey, String name, int duration) {
+        EventKeyUtil.requireValid(eventKey);
         if (ObjectUtils.isEmpty(name) || ObjectUtils.isEmpty(duration)) {
             logger.error(ExceptionDictionary.INVALID_PARAMETERS);
             throw new InvalidParameterException(ExceptionDictionary.INVALID_PARAMETERS);
@@ -37,22 +163,163 @@ public class PresentationService {
 
         if (duration <= 0 || duration > CommonConstants.MAX_SESSION_DURATION) {
             logger.error("Invalid presentation duration: " + duration);
-            throw new InvalidParameterException("Invalid presentation duration. It should be greater than 0 and less than or equal to " + CommonConstants.MAX_SESSION_DURATION);
+            throw new InvalidParameterException(INVALID_DURATION);
         }
+    }
 
-        Presentation presentation = new Presentation(name, duration);
-        presentationRepository.save(presentation);
+    /**
+     * Creates presentations of an event from a bulk import.
+     *
+     * Rows are validated in a single pass as they are read. Valid rows are stored in batches of
+     * CommonConstants.BULK_INSERT_BATCH_SIZE, each batch with one saveAll call that Hibernate turns
+     * into batched JDBC inserts. Invalid rows are skipped and reported with their row number, they
+     * do not stop the rest of the import.
+     *
+     * @param eventKey The event all imported presentations belong to.
+     * @param rows The rows of the import, in submission order.
+     * @return The number of created presentations and the errors of the rejected rows.
+     */
+    public BulkCreatePresentationResponseDTO bulkCreatePresentation(String eventKey, Iterator<PresentationImportRow> rows) {
+        EventKeyUtil.requireValid(eventKey);
+        List<BulkRowErrorDTO> errors = new ArrayList<>();
+        List<Presentation> batch = new ArrayList<>(CommonConstants.BULK_INSERT_BATCH_SIZE);
+        int created = 0;
 
-        return mapperUtil.convertToDTO(presentation, CreatePresentationResponseDTO.class);
+        while (rows.hasNext()) {
+            PresentationImportRow row = rows.next();
+            String errorMessage = row.getErrorMessage() != null ? row.getErrorMessage() : validate(row.getPresentation());
+            if (errorMessage != null) {
+                errors.add(new BulkRowErrorDTO(row.getRowNumber(), errorMessage));
+                continue;
+            }
+
+            batch.add(new Presentation(eventKey, row.getPresentation().getName(), row.getPresentation().getDuration()));
+            if (batch.size() == CommonConstants.BULK_INSERT_BATCH_SIZE) {
+                created += saveBatch(eventKey, batch);
+                batch = new ArrayList<>(CommonConstants.BULK_INSERT_BATCH_SIZE);
+            }
+        }
+        if (!batch.isEmpty()) {
+            created += saveBatch(eventKey, batch);
+        }
+
+        if (!errors.isEmpty()) {
+            logger.error("Bulk import rejected " + errors.size() + " rows");
+        }
+        return new BulkCreatePresentationResponseDTO(created, errors);
+    }
+
+    private String validate(CreatePresentationRequestDTO presentation) {
+        Set<ConstraintViolation<CreatePresentationRequestDTO>> violations = validator.validate(presentation);
+        if (!violations.isEmpty()) {
+            return violations.iterator().next().getMessage();
+        }
+        if (presentation.getDuration() > CommonConstants.MAX_SESSION_DURATION) {
+            return INVALID_DURATION;
+        }
+        return null;
     }
 
-    public PresentationListDTO getAllPresentation() {
-        List<Presentation> presentationList = presentationRepository.findAll();
+    private int saveBatch(String eventKey, List<Presentation> batch) {
+        List<PresentationInfoDTO> presentations = batch.stream()
+                .map(presentation -> new PresentationInfoDTO(presentation.getName(), presentation.getDuration()))
+                .toList();
+        conferenceAgendaCache.createPresentations(eventKey, presentations,
+                () -> persist(eventKey, batch, () -> presentationRepository.saveAll(batch)));
+        return batch.size();
+    }
+
+    /**
+     * Stores presentations and publishes PresentationCreated in the same transaction, so the event
+     * publication registry only records the event if the presentations were committed.
+     *
+     * The transaction commits before the agenda cache bumps the version of the event, and the
+     * committed presentations are added to the search index of the event in between.
+     */
+    private void persist(String eventKey, List<Presentation> presentations, Runnable save) {
+        transactionTemplate.executeWithoutResult(status -> {
+            save.run();
+            eventPublisher.publishEvent(new PresentationCreated(eventKey, presentations.size()));
+        });
+        presentationSearchService.indexPresentations(eventKey, presentations);
+    }
+
+    /**
+     * Returns one page of the presentations of an event in submission order, using keyset pagination.
+     *
+     * The cursor encodes the sequence number of the last presentation of the previous page, so every
+     * page is a single index seek regardless of how deep into the table it is. One row more than
+     * requested is read to find out whether there is a next page.
+     *
+     * @param eventKey The event of the presentations.
+     * @param cursor The nextCursor of the previous page, or null for the first page.
+     * @param size The number of presentations per page.
+     * @param includeTotal Whether to count all presentations of the event, which costs an index scan.
+     * @return The page with the cursor of the next one.
+     */
+    public PresentationPageDTO getPresentationPage(String eventKey, String cursor, int size, boolean includeTotal) {
+        EventKeyUtil.requireValid(eventKey);
+        if (size <= 0 || size > CommonConstants.MAX_PAGE_SIZE) {
+            logger.error("Invalid page size: " + size);
+            throw new InvalidParameterException("Invalid page size. It should be greater than 0 and less than or equal to " + CommonConstants.MAX_PAGE_SIZE);
+        }
+
+        Limit limit = Limit.of(size + 1);
+        List<PresentationSummary> rows;
+        if (ObjectUtils.isEmpty(cursor)) {
+            rows = presentationRepository.findFirstPage(eventKey, limit);
+        } else {
+            rows = presentationRepository.findPageAfter(eventKey, decodeCursor(cursor), limit);
+        }
 
-        List<PresentationInfoDTO> dtoList = presentationList.stream()
-                .map(presentation -> mapperUtil.convertToDTO(presentation, PresentationInfoDTO.class))
+        boolean hasNext = rows.size() > size;
+        List<PresentationSummary> page = hasNext ? rows.subList(0, size) : rows;
+        List<PresentationInfoDTO> presentations = page.stream()
+                .map(row -> new PresentationInfoDTO(row.getId(), row.getName(), row.getDuration()))
                 .toList();
 
-        return new PresentationListDTO(dtoList);
+        String nextCursor = hasNext ? encodeCursor(page.get(page.size() - 1)) : null;
+        Long totalCount = includeTotal ? presentationRepository.countByEventKey(eventKey) : null;
+        return new PresentationPageDTO(presentations, nextCursor, totalCount);
+    }
+
+    private String encodeCursor(PresentationSummary last) {
+        String position = Long.toString(last.getSequenceNumber());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private long decodeCursor(String cursor) {
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            logger.error(ExceptionDictionary.INVALID_CURSOR + cursor);
+            throw new InvalidParameterException(ExceptionDictionary.INVALID_CURSOR + cursor);
+        }
+    }
+
+    public PresentationListDTO getAllPresentation(String eventKey) {
+        EventKeyUtil.requireValid(eventKey);
+        return new PresentationListDTO(conferenceAgendaCache.getOrLoadPresentations(eventKey, () -> {
+            List<Presentation> presentations = Observation.createNotStarted(FETCH_OBSERVATION, observationRegistry)
+                    .observe(() -> presentationRepository.findAllByEvent(eventKey));
+            return Observation.createNotStarted(MAPPING_OBSERVATION, observationRegistry)
+                    .observe(() -> mapperUtil.convertToDTOList(presentations, PresentationInfoDTO.class));
+        }));
+    }
+
+    /**
+     * Streams all presentations of an event from the database.
+     *
+     * Each entity is detached once it has been mapped, so the persistence context does not grow
+     * with the table. The stream must be consumed and closed inside a read-only transaction.
+     *
+     * @return A stream of PresentationInfoDTO objects in the same order as getAllPresentation.
+     */
+    public Stream<PresentationInfoDTO> streamAllPresentation(String eventKey) {
+        EventKeyUtil.requireValid(eventKey);
+        return presentationRepository.streamAllByEvent(eventKey).map(presentation -> {
+            entityManager.detach(presentation);
+            return mapperUtil.convertToDTO(presentation, PresentationInfoDTO.class);
+        });
     }
 }
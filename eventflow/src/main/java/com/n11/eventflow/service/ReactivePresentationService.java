@@ -0,0 +1,67 @@
+package com.n11.eventflow.service;
+
+import com.n11.eventflow.model.dto.Agenda.Response.TrackResponseDTO;
+import com.n11.eventflow.model.dto.Presentation.PresentationInfoDTO;
+import com.n11.eventflow.repository.ReactivePresentationRepository;
+import com.n11.eventflow.util.ConferenceAgendaUtil;
+import com.n11.eventflow.util.EventKeyUtil;
+import com.n11.eventflow.util.scheduling.GreedyTrackBuilder;
+import com.n11.eventflow.util.scheduling.SessionLayout;
+import com.n11.eventflow.util.scheduling.TrackPlan;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+
+/**
+ * Reactive reads of the presentations and the GREEDY agenda of an event.
+ *
+ * Both are streamed from the R2DBC repository with backpressure: a track is scheduled as soon as
+ * its presentations have arrived and the next rows are only fetched when the client has taken
+ * the previous ones, so many concurrent subscribers neither hold a thread nor buffer whole
+ * events. The session layout is read through the blocking SessionTemplateService, so it is looked
+ * up on the bounded elastic scheduler instead of an event loop thread.
+ */
+@Service
+public class ReactivePresentationService {
+
+    private final ReactivePresentationRepository reactivePresentationRepository;
+    private final ConferenceAgendaUtil conferenceAgendaUtil;
+    private final SessionTemplateService sessionTemplateService;
+
+    public ReactivePresentationService(ReactivePresentationRepository reactivePresentationRepository, ConferenceAgendaUtil conferenceAgendaUtil,
+                                       SessionTemplateService sessionTemplateService) {
+        this.reactivePresentationRepository = reactivePresentationRepository;
+        this.conferenceAgendaUtil = conferenceAgendaUtil;
+        this.sessionTemplateService = sessionTemplateService;
+    }
+
+    public Flux<PresentationInfoDTO> streamAllPresentation(String eventKey) {
+        return Flux.defer(() -> reactivePresentationRepository.streamAllByEvent(EventKeyUtil.requireValid(eventKey)));
+    }
+
+    /**
+     * Schedules the presentations of an event with the GREEDY strategy as they are read, emitting
+     * every track once it is closed.
+     *
+     * @param eventKey The event of the agenda.
+     * @return The tracks of the agenda in order.
+     */
+    public Flux<TrackResponseDTO> streamConferenceAgenda(String eventKey) {
+        return Mono.fromCallable(() -> sessionTemplateService.getLayout(EventKeyUtil.requireValid(eventKey)))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapMany(layout -> Flux.defer(() -> {
+                    GreedyTrackBuilder builder = new GreedyTrackBuilder(layout);
+                    return reactivePresentationRepository.streamAllByEvent(eventKey)
+                            .concatMapIterable(builder::add)
+                            .concatWith(Mono.fromSupplier(builder::finish))
+                            .map(plan -> layoutTrack(plan, layout));
+                }));
+    }
+
+    private TrackResponseDTO layoutTrack(TrackPlan plan, SessionLayout layout) {
+        return conferenceAgendaUtil.layoutTracks(List.of(plan), layout).get(0);
+    }
+}
@@ -0,0 +1,113 @@
+package com.n11.eventflow.service;
+
+import com.n11.eventflow.cache.AgendaStore;
+import com.n11.eventflow.cache.SessionLayoutProvider;
+import com.n11.eventflow.model.dto.SessionTemplate.SessionTemplateBlockDTO;
+import com.n11.eventflow.model.dto.SessionTemplate.SessionTemplateDTO;
+import com.n11.eventflow.model.entity.SessionTemplate;
+import com.n11.eventflow.model.entity.SessionTemplateBlock;
+import com.n11.eventflow.repository.SessionTemplateRepository;
+import com.n11.eventflow.util.ConferenceAgendaUtil;
+import com.n11.eventflow.util.BoundedMap;
+import com.n11.eventflow.util.EventKeyUtil;
+import com.n11.eventflow.util.scheduling.SessionLayout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stores the session templates of events and supplies their compiled layouts to the agenda cache.
+ *
+ * The layout of an event is remembered together with the AgendaStore version it was read at. A
+ * template is only reloaded from the database when that version has moved on, and only compiled
+ * again when the template itself changed; saving a template increments the version of its event,
+ * so every node picks the new layout up with its next agenda. Layouts are kept for the
+ * eventflow.cache.max-events most recently used events.
+ */
+@Service
+public class SessionTemplateService implements SessionLayoutProvider {
+
+    private final SessionTemplateRepository sessionTemplateRepository;
+    private final ConferenceAgendaUtil conferenceAgendaUtil;
+    private final AgendaStore agendaStore;
+    private final MaterializedAgendaService materializedAgendaService;
+
+    private final BoundedMap<String, VersionedLayout> layouts;
+
+    private record VersionedLayout(long version, SessionLayout layout) {
+    }
+
+    public SessionTemplateService(SessionTemplateRepository sessionTemplateRepository, ConferenceAgendaUtil conferenceAgendaUtil, AgendaStore agendaStore,
+                                  MaterializedAgendaService materializedAgendaService, @Value("${eventflow.cache.max-events:1000}") int maxEvents) {
+        this.sessionTemplateRepository = sessionTemplateRepository;
+        this.conferenceAgendaUtil = conferenceAgendaUtil;
+        this.agendaStore = agendaStore;
+        this.materializedAgendaService = materializedAgendaService;
+        this.layouts = new BoundedMap<>(maxEvents);
+    }
+
+    @Override
+    public SessionLayout getLayout(String eventKey) {
+        long version = agendaStore.currentVersion(eventKey);
+        VersionedLayout cached = layouts.get(eventKey);
+        if (cached != null && cached.version() == version) {
+            return cached.layout();
+        }
+
+        SessionLayout layout = conferenceAgendaUtil.compileTemplate(sessionTemplateRepository.findByEventKey(eventKey).orElse(null));
+        layouts.put(eventKey, new VersionedLayout(version, layout));
+        return layout;
+    }
+
+    /**
+     * Returns the template of an event, or the default day if the event has none.
+     */
+    public SessionTemplateDTO getTemplate(String eventKey) {
+        EventKeyUtil.requireValid(eventKey);
+        return sessionTemplateRepository.findByEventKey(eventKey)
+                .map(template -> toDTO(template.getName(), template.getBlocks()))
+                .orElseGet(() -> toDTO(null, SessionLayout.DEFAULT_BLOCKS));
+    }
+
+    /**
+     * Validates and stores the template of an event, replacing its previous one.
+     *
+     * The agendas of the event are invalidated on every node and its materialized agendas are
+     * dropped, so they are rebuilt with the new layout on their next read.
+     *
+     * @param eventKey The event of the template.
+     * @param templateDTO The sessions, breaks and networking event of the day, in order.
+     * @return The stored template.
+     */
+    public SessionTemplateDTO saveTemplate(String eventKey, SessionTemplateDTO templateDTO) {
+        EventKeyUtil.requireValid(eventKey);
+        List<SessionTemplateBlock> blocks = new ArrayList<>(templateDTO.getBlocks().size());
+        for (SessionTemplateBlockDTO block : templateDTO.getBlocks()) {
+            blocks.add(new SessionTemplateBlock(block.getType(), block.getName(), block.getStartTime().toSecondOfDay() / 60, block.getDuration()));
+        }
+        SessionLayout.compile(blocks);
+
+        SessionTemplate template = sessionTemplateRepository.findByEventKey(eventKey).orElseGet(SessionTemplate::new);
+        template.setEventKey(eventKey);
+        template.setName(templateDTO.getName());
+        template.getBlocks().clear();
+        template.getBlocks().addAll(blocks);
+        sessionTemplateRepository.save(template);
+
+        long version = agendaStore.nextVersion(eventKey);
+        materializedAgendaService.evict(eventKey);
+        agendaStore.publishInvalidation(eventKey, version);
+        return toDTO(template.getName(), template.getBlocks());
+    }
+
+    private static SessionTemplateDTO toDTO(String name, List<SessionTemplateBlock> blocks) {
+        List<SessionTemplateBlockDTO> blockDTOs = new ArrayList<>(blocks.size());
+        for (SessionTemplateBlock block : blocks) {
+            blockDTOs.add(new SessionTemplateBlockDTO(block.getType(), block.getName(), LocalTime.ofSecondOfDay(block.getStartMinute() * 60L), block.getDuration()));
+        }
+        return new SessionTemplateDTO(name, blockDTOs);
+    }
+}
@@ -0,0 +1,119 @@
+package com.n11.eventflow.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Concurrent map of per-event state that holds at most maxSize entries, dropping the least
+ * recently used ones beyond that.
+ *
+ * Event keys come from clients, and every key a client invents would otherwise stay in memory for
+ * good. Entries are stamped with the time they were last read, at most once per millisecond so that
+ * hot entries are not written on every lookup. Once an insert takes the map above maxSize, the
+ * least recently used tenth of it is dropped in one sweep; a client sending a new key with every
+ * request therefore costs one sort per maxSize / 10 inserts rather than a scan per insert. Entries
+ * the evictable predicate rejects, e.g. because another thread holds their lock, are skipped.
+ *
+ * Everything kept in these maps can be rebuilt, so a dropped entry only costs a reload.
+ */
+public class BoundedMap<K, V> {
+
+    private static final long ACCESS_GRANULARITY_NANOS = 1_000_000L;
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final Predicate<V> evictable;
+    private final ReentrantLock sweepLock = new ReentrantLock();
+
+    private static class Entry<V> {
+        private final V value;
+        private volatile long lastAccess;
+
+        Entry(V value) {
+            this.value = value;
+            this.lastAccess = System.nanoTime();
+        }
+
+        V touch() {
+            long now = System.nanoTime();
+            if (now - lastAccess > ACCESS_GRANULARITY_NANOS) {
+                lastAccess = now;
+            }
+            return value;
+        }
+    }
+
+    private record Candidate<K, V>(K key, Entry<V> entry, long lastAccess) {
+    }
+
+    public BoundedMap(int maxSize) {
+        this(maxSize, value -> true);
+    }
+
+    /**
+     * @param maxSize The largest number of entries kept.
+     * @param evictable Whether an entry may be dropped at the moment.
+     */
+    public BoundedMap(int maxSize, Predicate<V> evictable) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.evictable = evictable;
+    }
+
+    /**
+     * @return The value of the key, or null.
+     */
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        return entry == null ? null : entry.touch();
+    }
+
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            entry = entries.computeIfAbsent(key, k -> new Entry<>(mappingFunction.apply(k)));
+            evictIfFull();
+        }
+        return entry.touch();
+    }
+
+    public void put(K key, V value) {
+        entries.put(key, new Entry<>(value));
+        evictIfFull();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void evictIfFull() {
+        if (entries.size() <= maxSize || !sweepLock.tryLock()) {
+            return;
+        }
+        try {
+            int excess = entries.size() - maxSize + Math.max(maxSize / 10, 1);
+            // The access times are copied first, as they may change while the candidates are sorted
+            List<Candidate<K, V>> candidates = new ArrayList<>(entries.size());
+            entries.forEach((key, entry) -> candidates.add(new Candidate<>(key, entry, entry.lastAccess)));
+            candidates.sort(Comparator.comparingLong(Candidate::lastAccess));
+            for (Candidate<K, V> candidate : candidates) {
+                if (excess == 0) {
+                    break;
+                }
+                if (evictable.test(candidate.entry().value) && entries.remove(candidate.key(), candidate.entry())) {
+                    excess--;
+                }
+            }
+        } finally {
+            sweepLock.unlock();
+        }
+    }
+}
@@ -1,33 +1,37 @@
 package com.n11.eventflow.util;
 
-import com.n11.eventflow.constants.CommonConstants;
-import com.n11.eventflow.model.dto.Agenda.ConferenceAgendaUtilDTO;
+import com.n11.eventflow.model.dto.Agenda.Response.OptimizedAgendaResponseDTO;
 import com.n11.eventflow.model.dto.Agenda.Response.TrackResponseDTO;
 import com.n11.eventflow.model.dto.Presentation.PresentationInfoDTO;
+import com.n11.eventflow.model.entity.SessionTemplate;
+import com.n11.eventflow.util.scheduling.*;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalTime;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 
 /**
  * Utility class for organizing a conference agenda.
  *
  * The ConferenceAgendaUtil class is responsible for allocating presentations into tracks
- * for a conference schedule. It manages the placement of presentations into morning and
- * afternoon sessions, ensuring that each track follows the conference's time constraints
- * and includes a lunch break and a networking event if possible.
+ * for a conference schedule. It manages the placement of presentations into the sessions of
+ * each track, ensuring that each track follows the conference's time constraints and includes
+ * its breaks and a networking event if possible.
  *
- * The class operates by taking a list of presentations and arranging them into tracks.
- * Presentations are scheduled based on their duration and the available time in each session.
- * A FIFO (First-In-First-Out) queue mechanism is used to process the presentations, ensuring
- * that they are considered in the order they are received. The queue is implemented using a
- * LinkedList for efficient addition and removal of elements.
+ * The decision of which presentations share a session is delegated to a SchedulingStrategy,
+ * selected per request through SchedulingStrategyType. The default GREEDY strategy uses a
+ * FIFO (First-In-First-Out) queue, ensuring that presentations are considered in the order
+ * they are received. The bin packing strategies reorder presentations to reduce the number
+ * of tracks and the idle minutes at the end of each session.
  *
- * Each track consists of a morning session starting at 9:00 AM, followed by a lunch break at
- * 12:00 PM, and an afternoon session starting at 1:00 PM. The afternoon session may conclude
- * with a networking event, starting no earlier than 4:00 PM and no later than 5:00 PM, if time
- * permits after the scheduled presentations.
+ * By default each track consists of a morning session starting at 9:00 AM, followed by a lunch
+ * break at 12:00 PM, and an afternoon session starting at 1:00 PM. The afternoon session may
+ * conclude with a networking event, starting no earlier than 4:00 PM and no later than 5:00 PM, if
+ * time permits after the scheduled presentations. Events with a different day shape provide a
+ * SessionTemplate, which is compiled once into a SessionLayout and cached per template version.
  *
  * This utility class ensures that the scheduling of presentations is optimized to utilize
  * the available time effectively while adhering to the constraints of the conference's schedule.
@@ -35,96 +39,221 @@ import java.util.*;
 @Component
 public class ConferenceAgendaUtil {
 
+    private final Map<SchedulingStrategyType, SchedulingStrategy> strategies = new EnumMap<>(SchedulingStrategyType.class);
+
+    private final GreedyQueueStrategy greedyQueueStrategy = new GreedyQueueStrategy();
+
+    private final TrackCountOptimizer trackCountOptimizer = new TrackCountOptimizer();
+
+    // Template id -> layout compiled from its latest seen version
+    private final Map<UUID, CompiledTemplate> compiledTemplates = new ConcurrentHashMap<>();
+
+    private record CompiledTemplate(long version, SessionLayout layout) {
+    }
+
+    public ConferenceAgendaUtil() {
+        registerStrategy(greedyQueueStrategy);
+        registerStrategy(new FirstFitDecreasingStrategy());
+        registerStrategy(new BestFitDecreasingStrategy());
+        registerStrategy(new SubsetSumStrategy());
+        registerStrategy(new LargestFitStrategy());
+        registerStrategy(new ParallelBestFitDecreasingStrategy());
+    }
+
+    private void registerStrategy(SchedulingStrategy strategy) {
+        strategies.put(strategy.getType(), strategy);
+    }
+
     /**
-     * Allocates sessions to tracks in the conference agenda.
+     * Returns the compiled layout of a template, compiling it only when this version of the
+     * template has not been seen before.
      *
-     * This method processes a list of presentations, organizing them into tracks with morning
-     * and afternoon sessions. Each session has a fixed start time, and the method ensures
-     * that a lunch break is scheduled. It also adds a networking event at the end of the day
-     * if time permits. The presentations are processed using a FIFO queue for efficient scheduling.
-     * The LinkedList implementation of Queue is used for its efficiency in insertion and removal operations.
+     * @param template The stored template, or null for the default day.
+     * @return The layout of the template.
+     */
+    public SessionLayout compileTemplate(SessionTemplate template) {
+        if (template == null) {
+            return SessionLayout.DEFAULT;
+        }
+        CompiledTemplate compiled = compiledTemplates.get(template.getId());
+        if (compiled == null || compiled.version() != template.getVersion()) {
+            compiled = new CompiledTemplate(template.getVersion(), SessionLayout.compile(template.getBlocks()));
+            compiledTemplates.put(template.getId(), compiled);
+        }
+        return compiled.layout();
+    }
+
+    /**
+     * Allocates sessions to tracks using the default GREEDY strategy.
      *
      * @param presentations A list of PresentationInfoDTO objects representing the presentations to be scheduled.
      * @return List of TrackResponseDTO objects representing the organized tracks of the conference agenda.
-     * Time Complexity -> O(n)
-     * Space Complexity -> O(n)
      */
     public List<TrackResponseDTO> allocateSessions(List<PresentationInfoDTO> presentations) {
-        Queue<PresentationInfoDTO> presentationsQueue = new LinkedList<>(presentations);
-        List<TrackResponseDTO> tracks = new ArrayList<>();
-
-        while (!presentationsQueue.isEmpty()) {
-            TrackResponseDTO track = new TrackResponseDTO();
-            List<ConferenceAgendaUtilDTO> morningAgenda = createAgenda(presentationsQueue, CommonConstants.MORNING_SESSION_START_TIME, CommonConstants.MORNING_SESSION_DURATION);
-            List<ConferenceAgendaUtilDTO> afternoonAgenda = createAgenda(presentationsQueue, CommonConstants.AFTERNOON_SESSION_START_TIME, CommonConstants.AFTERNOON_SESSION_DURATION);
-
-            // Add lunch
-            morningAgenda.add(new ConferenceAgendaUtilDTO(CommonConstants.LUNCH_TIME.format(CommonConstants.TIME_FORMATTER), "Lunch", 60));
-
-            // Determine networking event start time
-            LocalTime lastPresentationEndTime = afternoonAgenda.isEmpty()
-                    ? CommonConstants.AFTERNOON_SESSION_START_TIME
-                    : LocalTime.parse(afternoonAgenda.get(afternoonAgenda.size() - 1).getStartTime(), CommonConstants.TIME_FORMATTER)
-                    .plusMinutes(afternoonAgenda.get(afternoonAgenda.size() - 1).getDuration());
-
-
-            // Add networking event only if there is time available
-            if (lastPresentationEndTime.isBefore(CommonConstants.NETWORKING_EVENT_END_TIME)) {
-                LocalTime networkingEventStartTime = lastPresentationEndTime.isBefore(CommonConstants.NETWORKING_EVENT_START_TIME)
-                        ? CommonConstants.NETWORKING_EVENT_START_TIME
-                        : lastPresentationEndTime;
-                afternoonAgenda.add(new ConferenceAgendaUtilDTO(networkingEventStartTime.format(CommonConstants.TIME_FORMATTER), "Networking Event"));
-            }
+        return allocateSessions(presentations, SchedulingStrategyType.GREEDY);
+    }
 
-            track.setTrack(combineAgendas(morningAgenda, afternoonAgenda));
-            tracks.add(track);
-        }
-        return tracks;
+    /**
+     * Allocates sessions to tracks in the conference agenda, using the default day.
+     *
+     * This method lets the selected strategy distribute the presentations into the sessions of
+     * each track, then lays each track out in time.
+     *
+     * @param presentations A list of PresentationInfoDTO objects representing the presentations to be scheduled.
+     * @param strategyType The scheduling strategy used to pack presentations into sessions.
+     * @return List of TrackResponseDTO objects representing the organized tracks of the conference agenda.
+     * Time Complexity -> O(n) for the layout, plus the complexity of the selected strategy
+     * Space Complexity -> O(n)
+     */
+    public List<TrackResponseDTO> allocateSessions(List<PresentationInfoDTO> presentations, SchedulingStrategyType strategyType) {
+        return layoutSessions(presentations, strategyType, SessionLayout.DEFAULT).toTrackResponses();
+    }
+
+    public AgendaLayout layoutSessions(List<PresentationInfoDTO> presentations, SchedulingStrategyType strategyType) {
+        return layoutSessions(presentations, strategyType, SessionLayout.DEFAULT);
     }
 
     /**
-     * Creates an agenda for a conference session, either morning or afternoon.
-     *
-     * This method iterates through a queue of presentations, fitting each into the session
-     * based on its duration and the session's remaining time. The method prioritizes filling
-     * the session to its maximum capacity. If a presentation's duration is exactly equal to the
-     * remaining session duration, it gets added, and the session ends. The method ensures
-     * that presentations exceeding the total session duration are skipped to maintain the session
-     * boundaries.
-     *
-     * @param presentations A queue of PresentationInfoDTO objects to be scheduled in the session.
-     * @param startTime The start time of the session (morning or afternoon).
-     * @param sessionDuration The total duration available for the session.
-     * @return List of ConferenceAgendaUtilDTO objects representing the scheduled presentations for the session.
+     * Schedules presentations and lays the tracks out in time, without creating any response objects.
+     *
+     * The GREEDY strategy writes its slots directly into the layout; the other strategies plan
+     * their sessions first.
+     *
+     * @param presentations The presentations to be scheduled.
+     * @param strategyType The scheduling strategy used to pack presentations into sessions.
+     * @param sessionLayout The sessions, breaks and networking event of every track.
+     * @return The timed layout of all tracks.
      */
-    private List<ConferenceAgendaUtilDTO> createAgenda(Queue<PresentationInfoDTO> presentations, LocalTime startTime, int sessionDuration) {
-        List<ConferenceAgendaUtilDTO> agenda = new ArrayList<>();
-        int remainingDuration = sessionDuration;
-
-        while (!presentations.isEmpty() && presentations.peek().getDuration() <= remainingDuration) {
-            PresentationInfoDTO presentation = presentations.poll();
-            agenda.add(new ConferenceAgendaUtilDTO(startTime.format(CommonConstants.TIME_FORMATTER), presentation.getName(), presentation.getDuration()));
-            startTime = startTime.plusMinutes(presentation.getDuration());
-            remainingDuration -= presentation.getDuration();
+    public AgendaLayout layoutSessions(List<PresentationInfoDTO> presentations, SchedulingStrategyType strategyType, SessionLayout sessionLayout) {
+        if (strategyType == SchedulingStrategyType.GREEDY) {
+            return greedyQueueStrategy.layout(presentations instanceof RandomAccess ? presentations : new ArrayList<>(presentations), sessionLayout);
         }
-        return agenda;
+        return layoutPlans(planSessions(presentations, strategyType, sessionLayout), sessionLayout);
     }
 
     /**
-     * Combines the agendas of morning and afternoon sessions into a single track.
+     * Schedules presentations into an AgendaSnapshot, from which agendas with a presentation more
+     * or less are derived without scheduling the unaffected tracks again.
      *
-     * This method merges two lists of scheduled presentations (morning and afternoon) to form
-     * a complete track for a day. It is a straightforward concatenation of two lists, reflecting
-     * the chronological order of events in the conference from morning to afternoon, including lunch
-     * and possibly a networking event.
+     * @param presentations The presentations to be scheduled, in submission order.
+     * @param strategyType The scheduling strategy used to pack presentations into sessions.
+     * @param sessionLayout The sessions, breaks and networking event of every track.
+     * @return The snapshot of the agenda.
+     */
+    public AgendaSnapshot snapshotSessions(List<PresentationInfoDTO> presentations, SchedulingStrategyType strategyType, SessionLayout sessionLayout) {
+        return AgendaSnapshot.of(presentations, strategyType, tail -> layoutSessions(tail, strategyType, sessionLayout));
+    }
+
+    public List<TrackPlan> planSessions(List<PresentationInfoDTO> presentations, SchedulingStrategyType strategyType) {
+        return planSessions(presentations, strategyType, SessionLayout.DEFAULT);
+    }
+
+    /**
+     * Distributes presentations into the sessions of each track without assigning times.
      *
-     * @param morningAgenda List of ConferenceAgendaUtilDTO for the morning session.
-     * @param afternoonAgenda List of ConferenceAgendaUtilDTO for the afternoon session.
-     * @return Combined list of ConferenceAgendaUtilDTO objects for the entire track.
+     * @param presentations The presentations to be scheduled.
+     * @param strategyType The scheduling strategy used to pack presentations into sessions.
+     * @param sessionLayout The sessions of every track.
+     * @return List of TrackPlan objects, one per track.
      */
-    private List<ConferenceAgendaUtilDTO> combineAgendas(List<ConferenceAgendaUtilDTO> morningAgenda, List<ConferenceAgendaUtilDTO> afternoonAgenda) {
-        List<ConferenceAgendaUtilDTO> combinedAgenda = new ArrayList<>(morningAgenda);
-        combinedAgenda.addAll(afternoonAgenda);
-        return combinedAgenda;
+    public List<TrackPlan> planSessions(List<PresentationInfoDTO> presentations, SchedulingStrategyType strategyType, SessionLayout sessionLayout) {
+        return strategies.get(strategyType).schedule(presentations, sessionLayout);
+    }
+
+    /**
+     * Packs presentations into as few tracks as possible within a time budget.
+     *
+     * The presentations are packed with best-fit-decreasing first and the packing is improved by
+     * the TrackCountOptimizer until the budget is spent, so a larger budget can only lead to fewer
+     * tracks.
+     *
+     * @param presentations The presentations to be scheduled.
+     * @param sessionLayout The sessions, breaks and networking event of every track.
+     * @param budgetMillis The time the optimization may take after the initial packing.
+     * @return The laid out tracks, with the achieved track count next to its lower bound.
+     */
+    public OptimizedAgendaResponseDTO optimizeSessions(List<PresentationInfoDTO> presentations, SessionLayout sessionLayout, long budgetMillis) {
+        TrackCountOptimizer.Result result = trackCountOptimizer.optimize(presentations, sessionLayout, TimeUnit.MILLISECONDS.toNanos(budgetMillis));
+        AgendaLayout layout = layoutPlans(result.tracks(), sessionLayout);
+        long sessionMinutes = (long) layout.getTrackCount() * sessionLayout.getTrackDuration();
+        return new OptimizedAgendaResponseDTO(layout.toTrackResponses(), result.initialTrackCount(),
+                layout.getTrackCount(), TrackCountOptimizer.lowerBound(presentations, sessionLayout),
+                sessionMinutes - layout.getScheduledMinutes(), sessionMinutes == 0 ? 0 : (double) layout.getScheduledMinutes() / sessionMinutes);
+    }
+
+    public void streamSessions(Iterator<PresentationInfoDTO> presentations, Consumer<TrackResponseDTO> trackConsumer) {
+        streamSessions(presentations, SessionLayout.DEFAULT, trackConsumer);
+    }
+
+    /**
+     * Allocates streamed presentations to tracks with the GREEDY strategy, emitting every track as
+     * soon as it is closed.
+     *
+     * Memory use is bounded by the size of a single track, regardless of how many presentations
+     * are streamed.
+     *
+     * @param presentations The presentations to be scheduled, in submission order.
+     * @param sessionLayout The sessions, breaks and networking event of every track.
+     * @param trackConsumer Receives every track, laid out in time, in agenda order.
+     */
+    public void streamSessions(Iterator<PresentationInfoDTO> presentations, SessionLayout sessionLayout, Consumer<TrackResponseDTO> trackConsumer) {
+        greedyQueueStrategy.schedule(presentations, sessionLayout,
+                plan -> trackConsumer.accept(layoutPlans(List.of(plan), sessionLayout).toTrackResponse(0)));
+    }
+
+    public List<TrackResponseDTO> layoutTracks(List<TrackPlan> plans) {
+        return layoutTracks(plans, SessionLayout.DEFAULT);
+    }
+
+    /**
+     * Lays planned tracks out in time.
+     *
+     * Each session has a fixed start time, and the breaks of the layout are placed between them.
+     * A networking event is added after its session if time permits.
+     *
+     * @param plans The tracks produced by planSessions with the same layout.
+     * @param sessionLayout The sessions, breaks and networking event of every track.
+     * @return List of TrackResponseDTO objects, one per plan.
+     */
+    public List<TrackResponseDTO> layoutTracks(List<TrackPlan> plans, SessionLayout sessionLayout) {
+        return layoutPlans(plans, sessionLayout).toTrackResponses();
+    }
+
+    /**
+     * Assigns consecutive start times to the presentations of each planned session.
+     *
+     * The slots refer to the presentations by their position in a flattened copy of the plans,
+     * so the layout keeps no reference to the plans themselves.
+     *
+     * @param plans The tracks produced by planSessions.
+     * @param sessionLayout The sessions, breaks and networking event of every track.
+     * @return The timed layout of all tracks.
+     */
+    private AgendaLayout layoutPlans(List<TrackPlan> plans, SessionLayout sessionLayout) {
+        List<PresentationInfoDTO> presentations = new ArrayList<>();
+        for (TrackPlan plan : plans) {
+            for (List<PresentationInfoDTO> session : plan.getSessions()) {
+                presentations.addAll(session);
+            }
+        }
+
+        AgendaLayout layout = new AgendaLayout(presentations, sessionLayout, plans.size());
+        int index = 0;
+        for (TrackPlan plan : plans) {
+            layout.startTrack();
+            for (List<PresentationInfoDTO> session : plan.getSessions()) {
+                layout.startSession();
+                index = addSession(layout, presentations, index, session.size());
+            }
+            layout.endTrack();
+        }
+        return layout;
+    }
+
+    private int addSession(AgendaLayout layout, List<PresentationInfoDTO> presentations, int index, int sessionSize) {
+        for (int end = index + sessionSize; index < end; index++) {
+            layout.addPresentation(index, presentations.get(index).getDuration());
+        }
+        return index;
     }
 }
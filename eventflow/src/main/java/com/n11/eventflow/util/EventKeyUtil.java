@@ -0,0 +1,28 @@
+package com.n11.eventflow.util;
+
+import com.n11.eventflow.constants.CommonConstants;
+import com.n11.eventflow.constants.dictionaries.ExceptionDictionary;
+import com.n11.eventflow.exception.InvalidParameterException;
+
+import java.util.regex.Pattern;
+
+/**
+ * Validation of the event keys that scope presentations, agendas and cache entries.
+ *
+ * Event keys end up in Redis keys and invalidation messages, so they are restricted to letters,
+ * digits, '-' and '_'.
+ */
+public class EventKeyUtil {
+
+    private static final Pattern EVENT_KEY = Pattern.compile(CommonConstants.EVENT_KEY_PATTERN);
+
+    private EventKeyUtil() {
+    }
+
+    public static String requireValid(String eventKey) {
+        if (eventKey == null || !EVENT_KEY.matcher(eventKey).matches()) {
+            throw new InvalidParameterException(ExceptionDictionary.INVALID_EVENT_KEY + eventKey);
+        }
+        return eventKey;
+    }
+}
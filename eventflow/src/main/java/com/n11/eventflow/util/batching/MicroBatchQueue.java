@@ -0,0 +1,187 @@
+package com.n11.eventflow.util.batching;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Bounded write-behind queue that hands its items to a flush function in micro-batches.
+ *
+ * Producers add items to a lock-free queue and get a future back. A single flusher thread takes
+ * the first waiting item and collects more until the batch is full or the window since the first
+ * one has passed, then flushes the batch one key at a time, in the order the keys first appear in
+ * it. The future of an item completes once the flush of its key returned, or exceptionally with
+ * what the flush or the key function threw; the other keys of the batch are not affected.
+ *
+ * The number of waiting items and the closed flag share one atomic state, so a producer either
+ * gets its item in before close, in which case it is flushed, or is rejected. When the queue is
+ * full, submit is rejected at once instead of blocking the caller. close flushes every waiting
+ * item before it returns.
+ *
+ * @param <K> What items are flushed together by, e.g. their event.
+ * @param <T> The items.
+ */
+public final class MicroBatchQueue<K, T> implements AutoCloseable {
+
+    private static final int CLOSED = Integer.MIN_VALUE;
+
+    private record Pending<T>(T item, CompletableFuture<Void> completion) {
+    }
+
+    private final ConcurrentLinkedQueue<Pending<T>> queue = new ConcurrentLinkedQueue<>();
+    // The number of waiting items, with the CLOSED bit set once the queue is closed
+    private final AtomicInteger state = new AtomicInteger();
+    private final int capacity;
+    private final int maxBatchSize;
+    private final long windowNanos;
+    private final Function<T, K> keyOf;
+    private final BiConsumer<K, List<T>> flush;
+    private final Thread flusher;
+
+    /**
+     * @param name The name of the flusher thread.
+     * @param capacity The number of items that may wait for a flush.
+     * @param maxBatchSize The largest number of items flushed together.
+     * @param window How long the flusher waits for more items after the first one of a batch.
+     * @param keyOf The key of an item.
+     * @param flush Stores the items of one key, in submission order.
+     */
+    public MicroBatchQueue(String name, int capacity, int maxBatchSize, Duration window, Function<T, K> keyOf, BiConsumer<K, List<T>> flush) {
+        if (capacity <= 0 || maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Capacity and batch size must be positive");
+        }
+        this.capacity = capacity;
+        this.maxBatchSize = maxBatchSize;
+        this.windowNanos = window.toNanos();
+        this.keyOf = keyOf;
+        this.flush = flush;
+        this.flusher = new Thread(this::run, name);
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Adds an item to the next batch.
+     *
+     * @return Completes once the item has been flushed.
+     * @throws RejectedExecutionException If the queue is full or closed.
+     */
+    public CompletableFuture<Void> submit(T item) {
+        while (true) {
+            int current = state.get();
+            if ((current & CLOSED) != 0) {
+                throw new RejectedExecutionException("Queue is closed");
+            }
+            if (current >= capacity) {
+                throw new RejectedExecutionException("Queue is full");
+            }
+            if (state.compareAndSet(current, current + 1)) {
+                break;
+            }
+        }
+        Pending<T> pending = new Pending<>(item, new CompletableFuture<>());
+        queue.offer(pending);
+        LockSupport.unpark(flusher);
+        return pending.completion();
+    }
+
+    /**
+     * The number of items waiting for a flush.
+     */
+    public int size() {
+        return state.get() & ~CLOSED;
+    }
+
+    /**
+     * Rejects new items and returns once every waiting item has been flushed.
+     */
+    @Override
+    public void close() {
+        int current;
+        do {
+            current = state.get();
+        } while ((current & CLOSED) == 0 && !state.compareAndSet(current, current | CLOSED));
+        LockSupport.unpark(flusher);
+        boolean interrupted = false;
+        while (flusher.isAlive()) {
+            try {
+                flusher.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        while (state.get() != CLOSED) {
+            Pending<T> first = poll();
+            if (first == null) {
+                // Producers and close unpark the flusher, so an idle queue costs no wakeups
+                LockSupport.park(this);
+                continue;
+            }
+            List<Pending<T>> batch = new ArrayList<>();
+            batch.add(first);
+            long deadline = System.nanoTime() + windowNanos;
+            while (batch.size() < maxBatchSize) {
+                Pending<T> next = poll();
+                if (next != null) {
+                    batch.add(next);
+                    continue;
+                }
+                long remaining = deadline - System.nanoTime();
+                // Once closed, whatever is waiting is flushed without waiting for more
+                if (remaining <= 0 || (state.get() & CLOSED) != 0) {
+                    break;
+                }
+                LockSupport.parkNanos(this, remaining);
+            }
+            flush(batch);
+        }
+    }
+
+    private Pending<T> poll() {
+        Pending<T> pending = queue.poll();
+        if (pending != null) {
+            state.decrementAndGet();
+        }
+        return pending;
+    }
+
+    private void flush(List<Pending<T>> batch) {
+        Map<K, List<Pending<T>>> byKey = new LinkedHashMap<>();
+        for (Pending<T> pending : batch) {
+            K key;
+            try {
+                key = keyOf.apply(pending.item());
+            } catch (Throwable e) {
+                // Fails the item instead of the flusher thread, which would leave every later item waiting
+                pending.completion().completeExceptionally(e);
+                continue;
+            }
+            byKey.computeIfAbsent(key, k -> new ArrayList<>()).add(pending);
+        }
+        byKey.forEach((key, group) -> {
+            List<T> items = new ArrayList<>(group.size());
+            group.forEach(pending -> items.add(pending.item()));
+            try {
+                flush.accept(key, items);
+                group.forEach(pending -> pending.completion().complete(null));
+            } catch (Throwable e) {
+                group.forEach(pending -> pending.completion().completeExceptionally(e));
+            }
+        });
+    }
+}
@@ -0,0 +1,24 @@
+package com.n11.eventflow.util.importer;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Formats accepted by the bulk import, identified by the request content type.
+ */
+public enum PresentationImportFormat {
+    JSON,
+    NDJSON,
+    CSV;
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    public static PresentationImportFormat fromContentType(MediaType contentType) {
+        if (MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)) {
+            return NDJSON;
+        }
+        if (MediaType.parseMediaType(TEXT_CSV_VALUE).isCompatibleWith(contentType)) {
+            return CSV;
+        }
+        return JSON;
+    }
+}
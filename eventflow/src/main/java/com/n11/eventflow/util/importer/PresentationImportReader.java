@@ -0,0 +1,149 @@
+package com.n11.eventflow.util.importer;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.n11.eventflow.model.dto.Presentation.Request.CreatePresentationRequestDTO;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads the presentations of a bulk import one row at a time.
+ *
+ * JSON arrays and NDJSON are read through a Jackson MappingIterator, CSV is read line by line as
+ * "name,duration" with an optional header. Only the current row is held in memory. A row that
+ * cannot be converted into a presentation is returned with an error message instead of stopping
+ * the import; only malformed JSON, after which no further row can be located, ends the import early.
+ */
+public class PresentationImportReader implements Iterator<PresentationImportRow>, Closeable {
+
+    private static final String CSV_HEADER = "name,duration";
+
+    private final PresentationImportFormat format;
+    private final BufferedReader csvReader;
+    private final MappingIterator<CreatePresentationRequestDTO> jsonIterator;
+
+    private PresentationImportRow nextRow;
+    private int rowNumber;
+    private boolean finished;
+
+    public PresentationImportReader(Reader reader, PresentationImportFormat format, ObjectMapper objectMapper) throws IOException {
+        this.format = format;
+        if (format == PresentationImportFormat.CSV) {
+            this.csvReader = new BufferedReader(reader);
+            this.jsonIterator = null;
+        } else {
+            this.csvReader = null;
+            this.jsonIterator = objectMapper.readerFor(CreatePresentationRequestDTO.class).readValues(reader);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextRow == null && !finished) {
+            try {
+                nextRow = format == PresentationImportFormat.CSV ? readCsvRow() : readJsonRow();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (nextRow == null) {
+                finished = true;
+            }
+        }
+        return nextRow != null;
+    }
+
+    @Override
+    public PresentationImportRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        PresentationImportRow row = nextRow;
+        nextRow = null;
+        return row;
+    }
+
+    private PresentationImportRow readJsonRow() throws IOException {
+        int row = rowNumber + 1;
+        try {
+            if (!jsonIterator.hasNextValue()) {
+                return null;
+            }
+            rowNumber = row;
+            return new PresentationImportRow(row, jsonIterator.nextValue(), null);
+        } catch (JsonParseException e) {
+            // The stream is corrupt from here on, report it and stop
+            finished = true;
+            return new PresentationImportRow(row, null, "Malformed JSON: " + e.getOriginalMessage());
+        } catch (JsonProcessingException e) {
+            rowNumber = row;
+            return new PresentationImportRow(row, null, "Invalid presentation: " + e.getOriginalMessage());
+        }
+    }
+
+    private PresentationImportRow readCsvRow() throws IOException {
+        String line;
+        do {
+            line = csvReader.readLine();
+            if (line == null) {
+                return null;
+            }
+            rowNumber++;
+        } while (line.isBlank() || (rowNumber == 1 && CSV_HEADER.equalsIgnoreCase(line.replace(" ", ""))));
+
+        String name;
+        String duration;
+        if (line.startsWith("\"")) {
+            // Quoted name, quotes inside it are doubled
+            StringBuilder quoted = new StringBuilder();
+            int i = 1;
+            while (i < line.length()) {
+                char c = line.charAt(i);
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    quoted.append('"');
+                    i += 2;
+                } else if (c == '"') {
+                    break;
+                } else {
+                    quoted.append(c);
+                    i++;
+                }
+            }
+            int separator = line.indexOf(',', i);
+            if (separator < 0) {
+                return new PresentationImportRow(rowNumber, null, "Expected name,duration");
+            }
+            name = quoted.toString();
+            duration = line.substring(separator + 1);
+        } else {
+            int separator = line.lastIndexOf(',');
+            if (separator < 0) {
+                return new PresentationImportRow(rowNumber, null, "Expected name,duration");
+            }
+            name = line.substring(0, separator);
+            duration = line.substring(separator + 1);
+        }
+
+        try {
+            return new PresentationImportRow(rowNumber, new CreatePresentationRequestDTO(name.trim(), Integer.parseInt(duration.trim())), null);
+        } catch (NumberFormatException e) {
+            return new PresentationImportRow(rowNumber, null, "Duration is not a number: " + duration.trim());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (csvReader != null) {
+            csvReader.close();
+        } else {
+            jsonIterator.close();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.n11.eventflow.util.importer;
+
+import com.n11.eventflow.model.dto.Presentation.Request.CreatePresentationRequestDTO;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One row of a bulk import: either the parsed presentation or the reason it could not be parsed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PresentationImportRow {
+    private int rowNumber;
+    private CreatePresentationRequestDTO presentation;
+    private String errorMessage;
+}
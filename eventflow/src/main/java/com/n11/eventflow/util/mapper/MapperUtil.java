@@ -1,16 +1,34 @@
 package com.n11.eventflow.util.mapper;
 
+import com.n11.eventflow.model.dto.Presentation.PresentationInfoDTO;
+import com.n11.eventflow.model.dto.Presentation.Response.CreatePresentationResponseDTO;
+import com.n11.eventflow.model.entity.Presentation;
 import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
 @Component
 public class MapperUtil {
 
     private final ModelMapper modelMapper;
 
+    // Source class -> target class -> hand-written mapping, ModelMapper handles all other pairs
+    private final Map<Class<?>, Map<Class<?>, Function<?, ?>>> mappers = new HashMap<>();
+
     // Constructor with Dependency Injection
     public MapperUtil(ModelMapper modelMapper) {
         this.modelMapper = modelMapper;
+        register(Presentation.class, PresentationInfoDTO.class, PresentationMapper::toInfoDTO);
+        register(Presentation.class, CreatePresentationResponseDTO.class, PresentationMapper::toCreateResponseDTO);
+    }
+
+    private <T, D> void register(Class<T> sourceClass, Class<D> targetClass, Function<T, D> mapper) {
+        mappers.computeIfAbsent(sourceClass, key -> new HashMap<>()).put(targetClass, mapper);
     }
 
     /**
@@ -23,7 +41,31 @@ public class MapperUtil {
      * @return The DTO object after conversion.
      */
     public <T, D> D convertToDTO(T entity, Class<D> dtoClass) {
-        return modelMapper.map(entity, dtoClass);
+        Function<T, D> mapper = findMapper(entity.getClass(), dtoClass);
+        return mapper != null ? mapper.apply(entity) : modelMapper.map(entity, dtoClass);
+    }
+
+    /**
+     * Converts a list of entities to DTOs.
+     *
+     * The mapping is looked up once for the whole list instead of once per element.
+     *
+     * @param entities The source entity objects to be converted.
+     * @param dtoClass The target DTO class.
+     * @param <T>      The type of the entities.
+     * @param <D>      The type of the DTOs.
+     * @return The DTO objects after conversion, in the same order.
+     */
+    public <T, D> List<D> convertToDTOList(List<T> entities, Class<D> dtoClass) {
+        List<D> dtoList = new ArrayList<>(entities.size());
+        if (entities.isEmpty()) {
+            return dtoList;
+        }
+        Function<T, D> mapper = findMapper(entities.get(0).getClass(), dtoClass);
+        for (T entity : entities) {
+            dtoList.add(mapper != null ? mapper.apply(entity) : modelMapper.map(entity, dtoClass));
+        }
+        return dtoList;
     }
 
     /**
@@ -36,6 +78,13 @@ public class MapperUtil {
      * @return The entity object after conversion.
      */
     public <T, D> T convertToEntity(D dto, Class<T> entityClass) {
-        return modelMapper.map(dto, entityClass);
+        Function<D, T> mapper = findMapper(dto.getClass(), entityClass);
+        return mapper != null ? mapper.apply(dto) : modelMapper.map(dto, entityClass);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <S, D> Function<S, D> findMapper(Class<?> sourceClass, Class<D> targetClass) {
+        Map<Class<?>, Function<?, ?>> targets = mappers.get(sourceClass);
+        return targets == null ? null : (Function<S, D>) targets.get(targetClass);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,25 @@
+package com.n11.eventflow.util.mapper;
+
+import com.n11.eventflow.model.dto.Presentation.PresentationInfoDTO;
+import com.n11.eventflow.model.dto.Presentation.Response.CreatePresentationResponseDTO;
+import com.n11.eventflow.model.entity.Presentation;
+
+/**
+ * Hand-written mappings for Presentation.
+ *
+ * These replace ModelMapper on the hot listing and agenda paths: plain field copies with no
+ * reflection, type-map lookup or intermediate objects.
+ */
+public final class PresentationMapper {
+
+    private PresentationMapper() {
+    }
+
+    public static PresentationInfoDTO toInfoDTO(Presentation presentation) {
+        return new PresentationInfoDTO(presentation.getId(), presentation.getName(), presentation.getDuration());
+    }
+
+    public static CreatePresentationResponseDTO toCreateResponseDTO(Presentation presentation) {
+        return new CreatePresentationResponseDTO(presentation.getName(), presentation.getDuration());
+    }
+}
@@ -0,0 +1,54 @@
+package com.n11.eventflow.util.scheduling;
+
+import com.n11.eventflow.model.dto.Agenda.ConferenceAgendaUtilDTO;
+import com.n11.eventflow.model.dto.Agenda.Response.AgendaDeltaResponseDTO;
+import com.n11.eventflow.model.dto.Agenda.Response.TrackDeltaDTO;
+import com.n11.eventflow.model.dto.Agenda.Response.TrackResponseDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Computes the delta between two versions of an agenda.
+ *
+ * A patched GREEDY agenda shares its unchanged TrackResponseDTOs with the version before it, so
+ * those are skipped by reference and only the rescheduled tracks are compared slot by slot. For
+ * every changed track the delta holds the slots from the first one that differs on, which covers
+ * added slots as well as slots whose start time moved.
+ */
+public final class AgendaDiff {
+
+    private AgendaDiff() {
+    }
+
+    /**
+     * @param previous The tracks the receiver of the delta has.
+     * @param current The tracks it should end up with.
+     * @return The delta that turns previous into current; without changed tracks if they are equal.
+     */
+    public static AgendaDeltaResponseDTO diff(List<TrackResponseDTO> previous, List<TrackResponseDTO> current) {
+        List<TrackDeltaDTO> changedTracks = new ArrayList<>();
+        for (int track = 0; track < current.size(); track++) {
+            TrackResponseDTO after = current.get(track);
+            TrackResponseDTO before = track < previous.size() ? previous.get(track) : null;
+            if (after == before) {
+                continue;
+            }
+            List<ConferenceAgendaUtilDTO> slots = after.getTrack();
+            int fromSlot = before == null ? 0 : firstDifference(before.getTrack(), slots);
+            if (fromSlot < slots.size() || fromSlot < before.getTrack().size()) {
+                changedTracks.add(new TrackDeltaDTO(track, fromSlot, new ArrayList<>(slots.subList(fromSlot, slots.size()))));
+            }
+        }
+        return new AgendaDeltaResponseDTO(current.size(), changedTracks);
+    }
+
+    private static int firstDifference(List<ConferenceAgendaUtilDTO> before, List<ConferenceAgendaUtilDTO> after) {
+        int common = Math.min(before.size(), after.size());
+        int slot = 0;
+        while (slot < common && before.get(slot).equals(after.get(slot))) {
+            slot++;
+        }
+        return slot;
+    }
+}
@@ -0,0 +1,275 @@
+package com.n11.eventflow.util.scheduling;
+
+import com.n11.eventflow.constants.CommonConstants;
+import com.n11.eventflow.model.dto.Agenda.ConferenceAgendaUtilDTO;
+import com.n11.eventflow.model.dto.Agenda.Response.TrackResponseDTO;
+import com.n11.eventflow.model.dto.Presentation.PresentationInfoDTO;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Timed agenda held in primitive arrays.
+ *
+ * Every slot of every track is stored as its start in minutes since midnight, its duration and the
+ * index of its presentation in the source list, or a negative marker that refers to a fixed block
+ * of the SessionLayout. Tracks are appended session by session; the breaks and networking events
+ * around the sessions are placed by startSession and endTrack. No per-slot objects are created
+ * until the layout is converted to response DTOs, where the start times are taken from a table of
+ * preformatted labels.
+ */
+public class AgendaLayout {
+
+    // "hh:mma" label of every minute of the day, formatted once
+    private static final String[] TIME_LABELS = new String[24 * 60];
+
+    static {
+        for (int minute = 0; minute < TIME_LABELS.length; minute++) {
+            TIME_LABELS[minute] = LocalTime.ofSecondOfDay(minute * 60L).format(CommonConstants.TIME_FORMATTER);
+        }
+    }
+
+    /**
+     * Receives the slots of a layout in agenda order.
+     */
+    @FunctionalInterface
+    public interface SlotConsumer {
+        /**
+         * @param track The track of the slot.
+         * @param position The position of the slot within its track.
+         * @param session The session of a presentation, or -1 for a break or networking event.
+         * @param startMinute The start of the slot in minutes since midnight.
+         * @param duration The duration in minutes, 0 for a networking event.
+         * @param name The name of the presentation or block.
+         * @param presentation The presentation of the slot, or null for a break or networking event.
+         */
+        void accept(int track, int position, int session, int startMinute, int duration, String name, PresentationInfoDTO presentation);
+    }
+
+    private final List<PresentationInfoDTO> presentations;
+    private final SessionLayout sessionLayout;
+
+    private int[] startMinutes;
+    private int[] durations;
+    // Presentation index, or -(fixed block + 1)
+    private int[] presentationIndexes;
+    private int slotCount;
+
+    // sessionStartSlots[t * sessionCount + s] is the first slot of session s of track t
+    private int[] sessionStartSlots;
+    private int sessionCount;
+
+    // trackEnds[t] is the slot index after the last slot of track t
+    private int[] trackEnds;
+    private int trackCount;
+
+    private int session;
+    private int clock;
+    private long scheduledMinutes;
+
+    /**
+     * @param presentations The presentations the slots refer to by index.
+     * @param sessionLayout The sessions and fixed blocks of every track.
+     * @param expectedTracks The expected number of tracks, used to size the arrays.
+     */
+    public AgendaLayout(List<PresentationInfoDTO> presentations, SessionLayout sessionLayout, int expectedTracks) {
+        this.presentations = presentations;
+        this.sessionLayout = sessionLayout;
+        int tracks = Math.max(expectedTracks, 1);
+        int expectedSlots = presentations.size() + sessionLayout.getFixedBlockCount() * tracks;
+        this.startMinutes = new int[Math.max(expectedSlots, 1)];
+        this.durations = new int[startMinutes.length];
+        this.presentationIndexes = new int[startMinutes.length];
+        this.sessionStartSlots = new int[sessionLayout.getSessionCount() * tracks];
+        this.trackEnds = new int[tracks];
+    }
+
+    public SessionLayout getSessionLayout() {
+        return sessionLayout;
+    }
+
+    /**
+     * Starts a new track. Its sessions have to be started in order with startSession.
+     */
+    public void startTrack() {
+        session = 0;
+        clock = 0;
+    }
+
+    /**
+     * Places the fixed blocks that precede the next session and starts it.
+     */
+    public void startSession() {
+        addFixedBlocks(session);
+        if (sessionCount == sessionStartSlots.length) {
+            sessionStartSlots = Arrays.copyOf(sessionStartSlots, sessionCount * 2);
+        }
+        sessionStartSlots[sessionCount++] = slotCount;
+        clock = sessionLayout.getSessionStart(session);
+        session++;
+    }
+
+    /**
+     * Appends a presentation to the current session, directly after the previous one.
+     *
+     * @param index The index of the presentation in the source list.
+     * @param duration The duration of the presentation in minutes.
+     */
+    public void addPresentation(int index, int duration) {
+        addSlot(clock, duration, index);
+        clock += duration;
+        scheduledMinutes += duration;
+    }
+
+    /**
+     * Closes the track with the fixed blocks that follow its last session.
+     */
+    public void endTrack() {
+        addFixedBlocks(session);
+        if (trackCount == trackEnds.length) {
+            trackEnds = Arrays.copyOf(trackEnds, trackCount * 2);
+        }
+        trackEnds[trackCount++] = slotCount;
+    }
+
+    private void addFixedBlocks(int gap) {
+        for (int block = sessionLayout.getGapStart(gap); block < sessionLayout.getGapStart(gap + 1); block++) {
+            int start = sessionLayout.getFixedStart(block);
+            if (!sessionLayout.isNetworking(block)) {
+                addSlot(start, sessionLayout.getFixedDuration(block), -(block + 1));
+            } else if (clock < start + sessionLayout.getFixedDuration(block)) {
+                // Networking starts when the preceding session ends, if that is still inside its window
+                addSlot(Math.max(clock, start), 0, -(block + 1));
+            }
+        }
+    }
+
+    private void addSlot(int startMinute, int duration, int presentationIndex) {
+        if (slotCount == startMinutes.length) {
+            int capacity = slotCount * 2;
+            startMinutes = Arrays.copyOf(startMinutes, capacity);
+            durations = Arrays.copyOf(durations, capacity);
+            presentationIndexes = Arrays.copyOf(presentationIndexes, capacity);
+        }
+        startMinutes[slotCount] = startMinute;
+        durations[slotCount] = duration;
+        presentationIndexes[slotCount] = presentationIndex;
+        slotCount++;
+    }
+
+    public int getTrackCount() {
+        return trackCount;
+    }
+
+    /**
+     * The number of presentations in a track.
+     */
+    public int getPresentationCount(int track) {
+        int count = 0;
+        for (int slot = trackStart(track); slot < trackEnds[track]; slot++) {
+            if (presentationIndexes[slot] >= 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * The minutes of all presentations in the layout together.
+     */
+    public long getScheduledMinutes() {
+        return scheduledMinutes;
+    }
+
+    /**
+     * The "hh:mma" label of a minute of the day.
+     */
+    public static String timeLabel(int minute) {
+        return TIME_LABELS[minute];
+    }
+
+    /**
+     * Hands every slot to the consumer, track by track, without creating response objects.
+     *
+     * @param firstTrack The track number reported for the first track of this layout.
+     * @param consumer Receives the slots.
+     */
+    public void forEachSlot(int firstTrack, SlotConsumer consumer) {
+        int sessions = sessionLayout.getSessionCount();
+        for (int track = 0; track < trackCount; track++) {
+            int from = trackStart(track);
+            int session = -1;
+            for (int slot = from; slot < trackEnds[track]; slot++) {
+                // The fixed blocks before the first session have a lower slot than its start
+                while (session + 1 < sessions && sessionStartSlots[track * sessions + session + 1] <= slot) {
+                    session++;
+                }
+                int index = presentationIndexes[slot];
+                if (index >= 0) {
+                    PresentationInfoDTO presentation = presentations.get(index);
+                    consumer.accept(firstTrack + track, slot - from, session, startMinutes[slot], durations[slot], presentation.getName(), presentation);
+                } else {
+                    consumer.accept(firstTrack + track, slot - from, -1, startMinutes[slot], durations[slot], sessionLayout.getFixedName(-index - 1), null);
+                }
+            }
+        }
+    }
+
+    /**
+     * Converts every track to its response DTO.
+     */
+    public List<TrackResponseDTO> toTrackResponses() {
+        List<TrackResponseDTO> tracks = new ArrayList<>(trackCount);
+        for (int track = 0; track < trackCount; track++) {
+            tracks.add(toTrackResponse(track));
+        }
+        return tracks;
+    }
+
+    /**
+     * Converts a single track to its response DTO.
+     */
+    public TrackResponseDTO toTrackResponse(int track) {
+        int from = trackStart(track);
+        int to = trackEnds[track];
+        List<ConferenceAgendaUtilDTO> slots = new ArrayList<>(to - from);
+        for (int slot = from; slot < to; slot++) {
+            String startTime = TIME_LABELS[startMinutes[slot]];
+            int index = presentationIndexes[slot];
+            if (index >= 0) {
+                slots.add(new ConferenceAgendaUtilDTO(startTime, presentations.get(index).getName(), durations[slot]));
+            } else if (sessionLayout.isNetworking(-index - 1)) {
+                slots.add(new ConferenceAgendaUtilDTO(startTime, sessionLayout.getFixedName(-index - 1)));
+            } else {
+                slots.add(new ConferenceAgendaUtilDTO(startTime, sessionLayout.getFixedName(-index - 1), durations[slot]));
+            }
+        }
+        return new TrackResponseDTO(slots);
+    }
+
+    /**
+     * Rebuilds the session assignment of a single track, e.g. to reschedule it later.
+     */
+    public TrackPlan toTrackPlan(int track) {
+        int sessions = sessionLayout.getSessionCount();
+        TrackPlan plan = new TrackPlan(new ArrayList<>(sessions));
+        for (int s = 0; s < sessions; s++) {
+            int sessionIndex = track * sessions + s;
+            int end = s + 1 < sessions ? sessionStartSlots[sessionIndex + 1] : trackEnds[track];
+            List<PresentationInfoDTO> session = new ArrayList<>();
+            for (int slot = sessionStartSlots[sessionIndex]; slot < end; slot++) {
+                if (presentationIndexes[slot] >= 0) {
+                    session.add(presentations.get(presentationIndexes[slot]));
+                }
+            }
+            plan.getSessions().add(session);
+        }
+        return plan;
+    }
+
+    private int trackStart(int track) {
+        return track == 0 ? 0 : trackEnds[track - 1];
+    }
+}
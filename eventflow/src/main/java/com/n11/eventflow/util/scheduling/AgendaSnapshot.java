@@ -0,0 +1,179 @@
+package com.n11.eventflow.util.scheduling;
+
+import com.n11.eventflow.model.dto.Agenda.Response.TrackResponseDTO;
+import com.n11.eventflow.model.dto.Presentation.PresentationInfoDTO;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Immutable agenda of a presentation set, from which agendas with one presentation more or less
+ * can be derived.
+ *
+ * A derived snapshot shares every track that the change cannot affect with the snapshot it was
+ * derived from. With the GREEDY strategy the tracks are consecutive runs of the submission order,
+ * so only the track of the change and the tracks after it are scheduled again; trackStarts holds
+ * the first presentation of every track to find them. A new presentation is always appended, so
+ * adding one only reschedules the last track. The packing strategies sort the whole set, so their
+ * snapshots are scheduled in full.
+ *
+ * Neither the lists nor the TrackResponseDTOs of a snapshot are modified after it is built, so a
+ * snapshot can be shared between threads and derived from any number of times.
+ */
+public final class AgendaSnapshot {
+
+    private final SchedulingStrategyType strategyType;
+    // Schedules a presentation list with the strategy and session layout of the snapshot
+    private final Function<List<PresentationInfoDTO>, AgendaLayout> scheduler;
+    private final List<PresentationInfoDTO> presentations;
+    private final List<TrackResponseDTO> tracks;
+    // GREEDY only: trackStarts[t] is the index of the first presentation of track t, followed by the presentation count
+    private final int[] trackStarts;
+
+    private AgendaSnapshot(SchedulingStrategyType strategyType, Function<List<PresentationInfoDTO>, AgendaLayout> scheduler,
+                           List<PresentationInfoDTO> presentations, List<TrackResponseDTO> tracks, int[] trackStarts) {
+        this.strategyType = strategyType;
+        this.scheduler = scheduler;
+        this.presentations = Collections.unmodifiableList(presentations);
+        this.tracks = Collections.unmodifiableList(tracks);
+        this.trackStarts = trackStarts;
+    }
+
+    /**
+     * Schedules the presentations into a new snapshot.
+     *
+     * @param presentations The presentations, in submission order.
+     * @param strategyType The strategy the scheduler packs the presentations with.
+     * @param scheduler Lays a presentation list out in time, with the strategy and the session layout of the event.
+     */
+    public static AgendaSnapshot of(List<PresentationInfoDTO> presentations, SchedulingStrategyType strategyType,
+                                    Function<List<PresentationInfoDTO>, AgendaLayout> scheduler) {
+        return schedule(strategyType, scheduler, new ArrayList<>(presentations), null, 0);
+    }
+
+    public SchedulingStrategyType getStrategyType() {
+        return strategyType;
+    }
+
+    /**
+     * The presentations of the snapshot, in submission order.
+     */
+    public List<PresentationInfoDTO> getPresentations() {
+        return presentations;
+    }
+
+    public List<TrackResponseDTO> getTracks() {
+        return tracks;
+    }
+
+    /**
+     * @return The position of the presentation in submission order, or -1 if it is not part of the snapshot.
+     */
+    public int indexOf(UUID presentationId) {
+        for (int index = 0; index < presentations.size(); index++) {
+            if (presentationId.equals(presentations.get(index).getId())) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Derives the agenda with the presentation submitted after all others.
+     */
+    public AgendaSnapshot withPresentation(PresentationInfoDTO presentation) {
+        List<PresentationInfoDTO> derived = new ArrayList<>(presentations.size() + 1);
+        derived.addAll(presentations);
+        derived.add(presentation);
+        return derive(derived, Math.max(tracks.size() - 1, 0));
+    }
+
+    /**
+     * Derives the agenda without the presentation at the given position of the submission order.
+     */
+    public AgendaSnapshot withoutPresentation(int index) {
+        List<PresentationInfoDTO> derived = new ArrayList<>(presentations);
+        derived.remove(index);
+        return derive(derived, strategyType == SchedulingStrategyType.GREEDY ? trackOf(index) : 0);
+    }
+
+    /**
+     * Returns the tracks of this snapshot that differ from the track at the same position in the
+     * other one. Shared tracks are recognized by reference, so only the rescheduled tracks are
+     * compared slot by slot.
+     *
+     * @param previous The snapshot this one was derived from.
+     * @return The changed tracks by their position in this snapshot, in agenda order.
+     */
+    public Map<Integer, TrackResponseDTO> changedTracks(AgendaSnapshot previous) {
+        Map<Integer, TrackResponseDTO> changed = new LinkedHashMap<>();
+        for (int track = 0; track < tracks.size(); track++) {
+            TrackResponseDTO current = tracks.get(track);
+            TrackResponseDTO before = track < previous.tracks.size() ? previous.tracks.get(track) : null;
+            if (current != before && !current.equals(before)) {
+                changed.put(track, current);
+            }
+        }
+        return changed;
+    }
+
+    private AgendaSnapshot derive(List<PresentationInfoDTO> derived, int firstTrack) {
+        if (strategyType != SchedulingStrategyType.GREEDY) {
+            return schedule(strategyType, scheduler, derived, null, 0);
+        }
+        return schedule(strategyType, scheduler, derived, this, firstTrack);
+    }
+
+    /**
+     * Schedules the presentations from the first one of firstTrack on and takes the tracks before
+     * it over from the base snapshot.
+     */
+    private static AgendaSnapshot schedule(SchedulingStrategyType strategyType, Function<List<PresentationInfoDTO>, AgendaLayout> scheduler,
+                                           List<PresentationInfoDTO> presentations, AgendaSnapshot base, int firstTrack) {
+        int firstPresentation = base == null ? 0 : base.trackStarts[firstTrack];
+        AgendaLayout layout = scheduler.apply(presentations.subList(firstPresentation, presentations.size()));
+
+        List<TrackResponseDTO> tracks = new ArrayList<>(firstTrack + layout.getTrackCount());
+        if (base != null) {
+            tracks.addAll(base.tracks.subList(0, firstTrack));
+        }
+        tracks.addAll(layout.toTrackResponses());
+
+        int[] trackStarts = null;
+        if (strategyType == SchedulingStrategyType.GREEDY) {
+            trackStarts = new int[tracks.size() + 1];
+            if (base != null) {
+                System.arraycopy(base.trackStarts, 0, trackStarts, 0, firstTrack);
+            }
+            int start = firstPresentation;
+            for (int track = 0; track < layout.getTrackCount(); track++) {
+                trackStarts[firstTrack + track] = start;
+                start += layout.getPresentationCount(track);
+            }
+            trackStarts[tracks.size()] = start;
+        }
+        return new AgendaSnapshot(strategyType, scheduler, presentations, tracks, trackStarts);
+    }
+
+    /**
+     * The GREEDY track that holds the presentation at the given position, found by binary search.
+     */
+    private int trackOf(int presentationIndex) {
+        int low = 0;
+        int high = Math.max(tracks.size() - 1, 0);
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (trackStarts[middle] <= presentationIndex) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,62 @@
+package com.n11.eventflow.util.scheduling;
+
+import com.n11.eventflow.model.dto.Presentation.PresentationInfoDTO;
+
+import java.util.*;
+
+/**
+ * Best-fit-decreasing bin packing.
+ *
+ * Presentations are sorted from longest to shortest and each one is placed into the open session
+ * whose remaining time is the smallest that still fits it, which keeps large gaps available for
+ * later presentations. Sessions are indexed by their remaining minutes in a TreeMap, so the best
+ * session is found with a single ceiling lookup.
+ *
+ * Time Complexity -> O(n log n)
+ */
+public class BestFitDecreasingStrategy implements SchedulingStrategy {
+
+    @Override
+    public SchedulingStrategyType getType() {
+        return SchedulingStrategyType.BEST_FIT_DECREASING;
+    }
+
+    @Override
+    public List<TrackPlan> schedule(List<PresentationInfoDTO> presentations, SessionLayout layout) {
+        List<PresentationInfoDTO> sorted = new ArrayList<>(presentations);
+        sorted.sort(Comparator.comparingInt(PresentationInfoDTO::getDuration).reversed());
+
+        List<TrackPlan> tracks = new ArrayList<>();
+        // Remaining minutes -> sessions with exactly that much room, oldest first
+        TreeMap<Integer, Deque<SessionBin>> sessionsByRemaining = new TreeMap<>();
+
+        for (PresentationInfoDTO presentation : sorted) {
+            SessionBin.requireSchedulable(presentation, layout);
+            SessionBin target;
+            Map.Entry<Integer, Deque<SessionBin>> bestFit = sessionsByRemaining.ceilingEntry(presentation.getDuration());
+            if (bestFit != null) {
+                target = bestFit.getValue().pollFirst();
+                if (bestFit.getValue().isEmpty()) {
+                    sessionsByRemaining.remove(bestFit.getKey());
+                }
+            } else {
+                SessionBin[] track = SessionBin.openTrack(tracks, layout);
+                target = SessionBin.firstFit(track, presentation);
+                for (SessionBin session : track) {
+                    if (session != target) {
+                        register(sessionsByRemaining, session);
+                    }
+                }
+            }
+            target.add(presentation);
+            register(sessionsByRemaining, target);
+        }
+        return tracks;
+    }
+
+    private void register(TreeMap<Integer, Deque<SessionBin>> sessionsByRemaining, SessionBin session) {
+        if (session.getRemainingDuration() > 0) {
+            sessionsByRemaining.computeIfAbsent(session.getRemainingDuration(), key -> new ArrayDeque<>()).addLast(session);
+        }
+    }
+}
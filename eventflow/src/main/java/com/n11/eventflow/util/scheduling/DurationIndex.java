@@ -0,0 +1,117 @@
+package com.n11.eventflow.util.scheduling;
+
+import com.n11.eventflow.model.dto.Presentation.PresentationInfoDTO;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Pending presentations bucketed by duration.
+ *
+ * Durations are bounded by the longest session of the layout, so every duration has its own FIFO
+ * queue in a list indexed by minutes, and a bitset marks the durations that have a pending
+ * presentation. Finding the longest presentation that still fits into the remaining minutes of a
+ * session is a lookup in at most four 64-bit words for the default day, regardless of how many
+ * presentations are pending. Presentations of the same duration keep their submission order.
+ */
+class DurationIndex {
+
+    private final List<ArrayDeque<PresentationInfoDTO>> buckets;
+    // Bit d is set while buckets[d] is not empty
+    private final long[] nonEmpty;
+    private int size;
+
+    DurationIndex(int maxDuration) {
+        // Buckets are created when the first presentation of their duration is added
+        this.buckets = new ArrayList<>(Collections.nCopies(maxDuration + 1, null));
+        this.nonEmpty = new long[(maxDuration >>> 6) + 1];
+    }
+
+    /**
+     * Indexes all presentations, rejecting those no session of the layout could hold.
+     */
+    static DurationIndex of(Iterable<PresentationInfoDTO> presentations, SessionLayout layout) {
+        DurationIndex index = new DurationIndex(layout.getMaxSessionDuration());
+        for (PresentationInfoDTO presentation : presentations) {
+            SessionBin.requireSchedulable(presentation, layout);
+            index.add(presentation);
+        }
+        return index;
+    }
+
+    void add(PresentationInfoDTO presentation) {
+        int duration = presentation.getDuration();
+        ArrayDeque<PresentationInfoDTO> bucket = buckets.get(duration);
+        if (bucket == null) {
+            bucket = new ArrayDeque<>();
+            buckets.set(duration, bucket);
+        }
+        bucket.addLast(presentation);
+        nonEmpty[duration >>> 6] |= 1L << duration;
+        size++;
+    }
+
+    /**
+     * The longest pending duration that is at most the given minutes.
+     *
+     * @return The duration, or 0 if no pending presentation is that short.
+     */
+    int longestAtMost(int minutes) {
+        int limit = Math.min(minutes, buckets.size() - 1);
+        if (limit <= 0) {
+            return 0;
+        }
+        int word = limit >>> 6;
+        // Keeps the bits of the durations up to the limit
+        long bits = nonEmpty[word] & (-1L >>> (63 - (limit & 63)));
+        while (bits == 0) {
+            if (--word < 0) {
+                return 0;
+            }
+            bits = nonEmpty[word];
+        }
+        return (word << 6) + 63 - Long.numberOfLeadingZeros(bits);
+    }
+
+    /**
+     * Removes the longest presentation that fits into the given minutes, the earliest submitted of
+     * its duration.
+     *
+     * @return The presentation, or null if none fits.
+     */
+    PresentationInfoDTO pollLongestAtMost(int minutes) {
+        int duration = longestAtMost(minutes);
+        return duration == 0 ? null : poll(duration);
+    }
+
+    /**
+     * Removes the earliest submitted presentation of the duration, which must be pending.
+     */
+    PresentationInfoDTO poll(int duration) {
+        ArrayDeque<PresentationInfoDTO> bucket = buckets.get(duration);
+        PresentationInfoDTO presentation = bucket.pollFirst();
+        if (bucket.isEmpty()) {
+            nonEmpty[duration >>> 6] &= ~(1L << duration);
+        }
+        size--;
+        return presentation;
+    }
+
+    /**
+     * The number of pending presentations of the duration.
+     */
+    int count(int duration) {
+        ArrayDeque<PresentationInfoDTO> bucket = duration < buckets.size() ? buckets.get(duration) : null;
+        return bucket == null ? 0 : bucket.size();
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+}
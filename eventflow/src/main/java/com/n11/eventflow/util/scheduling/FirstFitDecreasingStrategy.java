@@ -0,0 +1,59 @@
+package com.n11.eventflow.util.scheduling;
+
+import com.n11.eventflow.model.dto.Presentation.PresentationInfoDTO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * First-fit-decreasing bin packing.
+ *
+ * Presentations are sorted from longest to shortest and each one is placed into the first open
+ * session (in track order, earlier sessions first) that still has enough room. A new track is
+ * opened only when no existing session can take the presentation. Long talks are placed while the
+ * sessions are still empty, and the short ones fill the remaining gaps.
+ *
+ * Time Complexity -> O(n log n + n * s), s being the number of sessions
+ */
+public class FirstFitDecreasingStrategy implements SchedulingStrategy {
+
+    @Override
+    public SchedulingStrategyType getType() {
+        return SchedulingStrategyType.FIRST_FIT_DECREASING;
+    }
+
+    @Override
+    public List<TrackPlan> schedule(List<PresentationInfoDTO> presentations, SessionLayout layout) {
+        List<PresentationInfoDTO> sorted = new ArrayList<>(presentations);
+        sorted.sort(Comparator.comparingInt(PresentationInfoDTO::getDuration).reversed());
+
+        List<TrackPlan> tracks = new ArrayList<>();
+        List<SessionBin> sessions = new ArrayList<>();
+        // Sessions before this index are known to be completely full
+        int firstOpenSession = 0;
+
+        for (PresentationInfoDTO presentation : sorted) {
+            SessionBin.requireSchedulable(presentation, layout);
+            SessionBin target = null;
+            for (int i = firstOpenSession; i < sessions.size(); i++) {
+                if (sessions.get(i).fits(presentation)) {
+                    target = sessions.get(i);
+                    break;
+                }
+            }
+            if (target == null) {
+                SessionBin[] track = SessionBin.openTrack(tracks, layout);
+                sessions.addAll(Arrays.asList(track));
+                target = SessionBin.firstFit(track, presentation);
+            }
+            target.add(presentation);
+
+            while (firstOpenSession < sessions.size() && sessions.get(firstOpenSession).getRemainingDuration() == 0) {
+                firstOpenSession++;
+            }
+        }
+        return tracks;
+    }
+}
@@ -0,0 +1,115 @@
+package com.n11.eventflow.util.scheduling;
+
+import com.n11.eventflow.model.dto.Presentation.PresentationInfoDTO;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * The original FIFO scheduler.
+ *
+ * Presentations are taken from a queue in the order they are received. A session is closed as soon
+ * as the presentation at the head of the queue no longer fits, and the next session (or track) is
+ * started with it. This keeps the submission order intact at the cost of leaving gaps.
+ *
+ * Since a track never changes once it is closed, the strategy can also consume presentations from
+ * a stream and hand every track over as soon as it is complete.
+ *
+ * Time Complexity -> O(n)
+ */
+public class GreedyQueueStrategy implements SchedulingStrategy {
+
+    @Override
+    public SchedulingStrategyType getType() {
+        return SchedulingStrategyType.GREEDY;
+    }
+
+    @Override
+    public List<TrackPlan> schedule(List<PresentationInfoDTO> presentations, SessionLayout layout) {
+        List<TrackPlan> tracks = new ArrayList<>();
+        schedule(presentations.iterator(), layout, tracks::add);
+        return tracks;
+    }
+
+    /**
+     * Schedules presentations in the order they are read, emitting each track once it is closed.
+     *
+     * Only the presentations of the track being filled are held in memory.
+     *
+     * @param presentations The presentations to be scheduled, in submission order.
+     * @param layout The sessions of every track.
+     * @param trackConsumer Receives every completed track.
+     */
+    public void schedule(Iterator<PresentationInfoDTO> presentations, SessionLayout layout, Consumer<TrackPlan> trackConsumer) {
+        PeekingIterator<PresentationInfoDTO> presentationsQueue = new PeekingIterator<>(presentations);
+
+        while (presentationsQueue.hasNext()) {
+            // A presentation that does not fit at the start of a track would never be scheduled
+            SessionBin.requireSchedulable(presentationsQueue.peek(), layout);
+            List<List<PresentationInfoDTO>> sessions = new ArrayList<>(layout.getSessionCount());
+            for (int session = 0; session < layout.getSessionCount(); session++) {
+                sessions.add(fillSession(presentationsQueue, layout.getSessionDuration(session)));
+            }
+            trackConsumer.accept(new TrackPlan(sessions));
+        }
+    }
+
+    /**
+     * Schedules presentations straight into a timed layout.
+     *
+     * Produces the same tracks as schedule, but works on an array of durations and writes every
+     * slot into the primitive arrays of the layout instead of building per-session lists.
+     *
+     * @param presentations The presentations to be scheduled, in submission order. Should support
+     *                      fast random access, as the layout refers to them by index.
+     * @param sessionLayout The sessions and fixed blocks of every track.
+     * @return The timed layout of all tracks.
+     */
+    public AgendaLayout layout(List<PresentationInfoDTO> presentations, SessionLayout sessionLayout) {
+        int[] durations = new int[presentations.size()];
+        int totalDuration = 0;
+        for (int i = 0; i < durations.length; i++) {
+            PresentationInfoDTO presentation = presentations.get(i);
+            SessionBin.requireSchedulable(presentation, sessionLayout);
+            durations[i] = presentation.getDuration();
+            totalDuration += durations[i];
+        }
+
+        AgendaLayout layout = new AgendaLayout(presentations, sessionLayout, totalDuration / sessionLayout.getTrackDuration() + 1);
+        int sessionCount = sessionLayout.getSessionCount();
+        int next = 0;
+        while (next < durations.length) {
+            layout.startTrack();
+            for (int session = 0; session < sessionCount; session++) {
+                layout.startSession();
+                next = fillSession(durations, next, sessionLayout.getSessionDuration(session), layout);
+            }
+            layout.endTrack();
+        }
+        return layout;
+    }
+
+    private int fillSession(int[] durations, int next, int sessionDuration, AgendaLayout layout) {
+        int remainingDuration = sessionDuration;
+        while (next < durations.length && durations[next] <= remainingDuration) {
+            layout.addPresentation(next, durations[next]);
+            remainingDuration -= durations[next];
+            next++;
+        }
+        return next;
+    }
+
+    private List<PresentationInfoDTO> fillSession(PeekingIterator<PresentationInfoDTO> presentations, int sessionDuration) {
+        List<PresentationInfoDTO> session = new ArrayList<>();
+        int remainingDuration = sessionDuration;
+
+        while (presentations.hasNext() && presentations.peek().getDuration() <= remainingDuration) {
+            PresentationInfoDTO presentation = presentations.next();
+            session.add(presentation);
+            remainingDuration -= presentation.getDuration();
+        }
+        return session;
+    }
+}
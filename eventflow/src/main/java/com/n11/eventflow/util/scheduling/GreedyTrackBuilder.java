@@ -0,0 +1,76 @@
+package com.n11.eventflow.util.scheduling;
+
+import com.n11.eventflow.model.dto.Presentation.PresentationInfoDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Push based form of the GREEDY strategy, for presentations that arrive one at a time, e.g. from
+ * a reactive stream.
+ *
+ * The GreedyQueueStrategy closes a session when the presentation at the head of the queue does
+ * not fit into it. Here that decision is made when the presentation arrives: it closes the
+ * sessions it does not fit into, and the track once its last session is closed. The tracks are
+ * the same as those of the GreedyQueueStrategy, and only the open track is held in memory.
+ *
+ * Not thread-safe; use one builder per stream.
+ */
+public class GreedyTrackBuilder {
+
+    private final SessionLayout layout;
+    // Sessions of the open track, or null before the first presentation
+    private List<List<PresentationInfoDTO>> sessions;
+    private int session;
+    private int remainingDuration;
+
+    public GreedyTrackBuilder(SessionLayout layout) {
+        this.layout = layout;
+    }
+
+    /**
+     * Adds the next presentation in submission order.
+     *
+     * @return The track the presentation closed, or an empty list.
+     */
+    public List<TrackPlan> add(PresentationInfoDTO presentation) {
+        // A presentation that fits into some session always fits into a new track
+        SessionBin.requireSchedulable(presentation, layout);
+        List<TrackPlan> closed = List.of();
+        if (sessions == null) {
+            startTrack();
+        }
+        while (presentation.getDuration() > remainingDuration) {
+            if (session + 1 < layout.getSessionCount()) {
+                session++;
+                remainingDuration = layout.getSessionDuration(session);
+            } else {
+                closed = List.of(new TrackPlan(sessions));
+                startTrack();
+            }
+        }
+        sessions.get(session).add(presentation);
+        remainingDuration -= presentation.getDuration();
+        return closed;
+    }
+
+    /**
+     * Closes the open track after the last presentation.
+     *
+     * @return The last track, or null if no presentation was added.
+     */
+    public TrackPlan finish() {
+        TrackPlan last = sessions == null ? null : new TrackPlan(sessions);
+        sessions = null;
+        return last;
+    }
+
+    private void startTrack() {
+        sessions = new ArrayList<>(layout.getSessionCount());
+        for (int s = 0; s < layout.getSessionCount(); s++) {
+            sessions.add(new ArrayList<>());
+        }
+        session = 0;
+        remainingDuration = layout.getSessionDuration(0);
+    }
+}
@@ -0,0 +1,47 @@
+package com.n11.eventflow.util.scheduling;
+
+import com.n11.eventflow.model.dto.Presentation.PresentationInfoDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Session-by-session largest-fit packing.
+ *
+ * Tracks are filled one session at a time: the session repeatedly takes the longest pending
+ * presentation that still fits into its remaining minutes, and is closed once none does. Pending
+ * presentations are kept in a DurationIndex, so every slot is found with a constant-time bitset
+ * lookup instead of a scan over the pending presentations, and no sort is needed. Presentations of
+ * the same duration keep their submission order.
+ *
+ * Time Complexity -> O(n + s), s being the number of sessions
+ */
+public class LargestFitStrategy implements SchedulingStrategy {
+
+    @Override
+    public SchedulingStrategyType getType() {
+        return SchedulingStrategyType.LARGEST_FIT;
+    }
+
+    @Override
+    public List<TrackPlan> schedule(List<PresentationInfoDTO> presentations, SessionLayout layout) {
+        DurationIndex pending = DurationIndex.of(presentations, layout);
+
+        List<TrackPlan> tracks = new ArrayList<>();
+        while (!pending.isEmpty()) {
+            List<List<PresentationInfoDTO>> sessions = new ArrayList<>(layout.getSessionCount());
+            for (int session = 0; session < layout.getSessionCount(); session++) {
+                List<PresentationInfoDTO> filled = new ArrayList<>();
+                int remaining = layout.getSessionDuration(session);
+                PresentationInfoDTO presentation;
+                while ((presentation = pending.pollLongestAtMost(remaining)) != null) {
+                    filled.add(presentation);
+                    remaining -= presentation.getDuration();
+                }
+                sessions.add(filled);
+            }
+            tracks.add(new TrackPlan(sessions));
+        }
+        return tracks;
+    }
+}
@@ -0,0 +1,168 @@
+package com.n11.eventflow.util.scheduling;
+
+import com.n11.eventflow.constants.CommonConstants;
+import com.n11.eventflow.model.dto.Presentation.PresentationInfoDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Best-fit-decreasing bin packing spread over the cores of a ForkJoinPool.
+ *
+ * The presentations are split in halves, in submission order, until every partition holds at most
+ * partitionSize of them, and every partition is packed on its own with BestFitDecreasingStrategy.
+ * The partitions then leave a few partially filled tracks behind, where their short talks ran out.
+ * Every track with a gap that the shortest presentation would fit into is taken apart again, and
+ * the presentations of these tracks are packed together in a single sequential pass, so the gaps
+ * of one partition are filled with the talks of the others.
+ *
+ * The partitions only depend on the number of presentations, never on the parallelism of the pool
+ * or on which task finishes first, and the tracks are merged in partition order, so the agenda is
+ * the same on every run and every machine. Sets that fit into a single partition are packed
+ * exactly like BEST_FIT_DECREASING.
+ *
+ * Time Complexity -> O(n log p) spread over the cores, p being the partition size, plus the
+ * repacking of the partially filled tracks
+ */
+public class ParallelBestFitDecreasingStrategy implements SchedulingStrategy {
+
+    // Tracks per partition that are taken apart and repacked with those of the other partitions
+    private static final int REBALANCED_TRACKS = 64;
+
+    private final BestFitDecreasingStrategy bestFitDecreasing = new BestFitDecreasingStrategy();
+    private final ForkJoinPool pool;
+    private final int partitionSize;
+
+    public ParallelBestFitDecreasingStrategy() {
+        this(ForkJoinPool.commonPool(), CommonConstants.PARALLEL_PARTITION_SIZE);
+    }
+
+    /**
+     * @param pool The pool the partitions are packed on.
+     * @param partitionSize The largest number of presentations packed by a single task.
+     */
+    public ParallelBestFitDecreasingStrategy(ForkJoinPool pool, int partitionSize) {
+        this.pool = pool;
+        this.partitionSize = partitionSize;
+    }
+
+    @Override
+    public SchedulingStrategyType getType() {
+        return SchedulingStrategyType.PARALLEL_BEST_FIT_DECREASING;
+    }
+
+    @Override
+    public List<TrackPlan> schedule(List<PresentationInfoDTO> presentations, SessionLayout layout) {
+        if (presentations.size() <= partitionSize) {
+            return bestFitDecreasing.schedule(presentations, layout);
+        }
+
+        // Rejected here rather than inside a task, so the caller gets the exception itself
+        int shortest = Integer.MAX_VALUE;
+        for (PresentationInfoDTO presentation : presentations) {
+            SessionBin.requireSchedulable(presentation, layout);
+            shortest = Math.min(shortest, presentation.getDuration());
+        }
+
+        List<PresentationInfoDTO> source = new ArrayList<>(presentations);
+        List<Partition> partitions = pool.invoke(new PackPartitions(source, 0, source.size(), layout, shortest));
+
+        List<TrackPlan> tracks = new ArrayList<>();
+        List<PresentationInfoDTO> leftovers = new ArrayList<>();
+        for (Partition partition : partitions) {
+            tracks.addAll(partition.tracks());
+            leftovers.addAll(partition.leftovers());
+        }
+        tracks.addAll(bestFitDecreasing.schedule(leftovers, layout));
+        return tracks;
+    }
+
+    /**
+     * The tracks a partition keeps, and the presentations of the tracks it hands back for repacking.
+     */
+    private record Partition(List<TrackPlan> tracks, List<PresentationInfoDTO> leftovers) {
+    }
+
+    /**
+     * Packs a partition and takes apart up to REBALANCED_TRACKS of its tracks with the most idle
+     * minutes, as long as the shortest presentation would still fit into one of their sessions.
+     */
+    private Partition pack(List<PresentationInfoDTO> presentations, SessionLayout layout, int shortest) {
+        List<TrackPlan> packed = bestFitDecreasing.schedule(presentations, layout);
+        int[] idleMinutes = new int[packed.size()];
+        List<Integer> candidates = new ArrayList<>();
+        for (int track = 0; track < packed.size(); track++) {
+            int largestGap = 0;
+            List<List<PresentationInfoDTO>> sessions = packed.get(track).getSessions();
+            for (int session = 0; session < sessions.size(); session++) {
+                int gap = layout.getSessionDuration(session);
+                for (PresentationInfoDTO presentation : sessions.get(session)) {
+                    gap -= presentation.getDuration();
+                }
+                idleMinutes[track] += gap;
+                largestGap = Math.max(largestGap, gap);
+            }
+            if (largestGap >= shortest) {
+                candidates.add(track);
+            }
+        }
+        // Stable, so tracks with the same idle minutes are taken in track order
+        candidates.sort((a, b) -> Integer.compare(idleMinutes[b], idleMinutes[a]));
+
+        boolean[] rebalanced = new boolean[packed.size()];
+        for (int i = 0; i < Math.min(candidates.size(), REBALANCED_TRACKS); i++) {
+            rebalanced[candidates.get(i)] = true;
+        }
+        List<TrackPlan> tracks = new ArrayList<>(packed.size());
+        List<PresentationInfoDTO> leftovers = new ArrayList<>();
+        for (int track = 0; track < packed.size(); track++) {
+            if (!rebalanced[track]) {
+                tracks.add(packed.get(track));
+                continue;
+            }
+            for (List<PresentationInfoDTO> session : packed.get(track).getSessions()) {
+                leftovers.addAll(session);
+            }
+        }
+        return new Partition(tracks, leftovers);
+    }
+
+    /**
+     * Packs the presentations from..to, returning every partition in order.
+     */
+    private class PackPartitions extends RecursiveTask<List<Partition>> {
+        private static final long serialVersionUID = 1L;
+
+        private final List<PresentationInfoDTO> presentations;
+        private final int from;
+        private final int to;
+        private final SessionLayout layout;
+        private final int shortest;
+
+        PackPartitions(List<PresentationInfoDTO> presentations, int from, int to, SessionLayout layout, int shortest) {
+            this.presentations = presentations;
+            this.from = from;
+            this.to = to;
+            this.layout = layout;
+            this.shortest = shortest;
+        }
+
+        @Override
+        protected List<Partition> compute() {
+            if (to - from <= partitionSize) {
+                List<Partition> partition = new ArrayList<>(1);
+                partition.add(pack(presentations.subList(from, to), layout, shortest));
+                return partition;
+            }
+            int middle = (from + to) >>> 1;
+            PackPartitions left = new PackPartitions(presentations, from, middle, layout, shortest);
+            PackPartitions right = new PackPartitions(presentations, middle, to, layout, shortest);
+            left.fork();
+            List<Partition> partitions = right.compute();
+            partitions.addAll(0, left.join());
+            return partitions;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.n11.eventflow.util.scheduling;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterator with a one element look-ahead, so the greedy scheduler can inspect the head of a
+ * stream of presentations without materializing it as a queue.
+ */
+class PeekingIterator<T> implements Iterator<T> {
+    private final Iterator<T> source;
+    private T head;
+    private boolean hasHead;
+
+    PeekingIterator(Iterator<T> source) {
+        this.source = source;
+    }
+
+    T peek() {
+        if (!hasHead) {
+            if (!source.hasNext()) {
+                return null;
+            }
+            head = source.next();
+            hasHead = true;
+        }
+        return head;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return hasHead || source.hasNext();
+    }
+
+    @Override
+    public T next() {
+        if (peek() == null) {
+            throw new NoSuchElementException();
+        }
+        T next = head;
+        head = null;
+        hasHead = false;
+        return next;
+    }
+}
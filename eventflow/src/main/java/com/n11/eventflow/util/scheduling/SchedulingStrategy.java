@@ -0,0 +1,35 @@
+package com.n11.eventflow.util.scheduling;
+
+import com.n11.eventflow.model.dto.Presentation.PresentationInfoDTO;
+
+import java.util.List;
+
+/**
+ * Packs presentations into the sessions of conference tracks.
+ *
+ * Implementations only decide which presentations go into which session; the start times,
+ * breaks and networking event are laid out afterwards by ConferenceAgendaUtil.
+ */
+public interface SchedulingStrategy {
+
+    SchedulingStrategyType getType();
+
+    /**
+     * Distributes the given presentations into tracks of the default day.
+     *
+     * @param presentations The presentations to be scheduled.
+     * @return List of TrackPlan objects, one per track, in the order they should be published.
+     */
+    default List<TrackPlan> schedule(List<PresentationInfoDTO> presentations) {
+        return schedule(presentations, SessionLayout.DEFAULT);
+    }
+
+    /**
+     * Distributes the given presentations into tracks with the sessions of the layout.
+     *
+     * @param presentations The presentations to be scheduled.
+     * @param layout The sessions of every track.
+     * @return List of TrackPlan objects, one per track, in the order they should be published.
+     */
+    List<TrackPlan> schedule(List<PresentationInfoDTO> presentations, SessionLayout layout);
+}
@@ -0,0 +1,13 @@
+package com.n11.eventflow.util.scheduling;
+
+/**
+ * Scheduling strategies that can be selected per agenda request.
+ */
+public enum SchedulingStrategyType {
+    GREEDY,
+    FIRST_FIT_DECREASING,
+    BEST_FIT_DECREASING,
+    SUBSET_SUM,
+    LARGEST_FIT,
+    PARALLEL_BEST_FIT_DECREASING
+}
@@ -0,0 +1,70 @@
+package com.n11.eventflow.util.scheduling;
+
+import com.n11.eventflow.constants.dictionaries.ExceptionDictionary;
+import com.n11.eventflow.exception.InvalidParameterException;
+import com.n11.eventflow.model.dto.Presentation.PresentationInfoDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mutable view over one session of a TrackPlan that keeps track of the minutes still free.
+ */
+class SessionBin {
+    private final List<PresentationInfoDTO> presentations;
+    private int remainingDuration;
+
+    SessionBin(List<PresentationInfoDTO> presentations, int capacity) {
+        this.presentations = presentations;
+        this.remainingDuration = capacity;
+    }
+
+    boolean fits(PresentationInfoDTO presentation) {
+        return presentation.getDuration() <= remainingDuration;
+    }
+
+    void add(PresentationInfoDTO presentation) {
+        presentations.add(presentation);
+        remainingDuration -= presentation.getDuration();
+    }
+
+    int getRemainingDuration() {
+        return remainingDuration;
+    }
+
+    /**
+     * Appends an empty track to the plan and returns its sessions, in the order they are held.
+     */
+    static SessionBin[] openTrack(List<TrackPlan> tracks, SessionLayout layout) {
+        TrackPlan track = new TrackPlan(new ArrayList<>(layout.getSessionCount()));
+        tracks.add(track);
+        SessionBin[] sessions = new SessionBin[layout.getSessionCount()];
+        for (int i = 0; i < sessions.length; i++) {
+            List<PresentationInfoDTO> session = new ArrayList<>();
+            track.getSessions().add(session);
+            sessions[i] = new SessionBin(session, layout.getSessionDuration(i));
+        }
+        return sessions;
+    }
+
+    /**
+     * Returns the first session of a newly opened track that can hold the presentation.
+     */
+    static SessionBin firstFit(SessionBin[] track, PresentationInfoDTO presentation) {
+        for (SessionBin session : track) {
+            if (session.fits(presentation)) {
+                return session;
+            }
+        }
+        throw new IllegalStateException("requireSchedulable should have rejected " + presentation.getName());
+    }
+
+    /**
+     * Rejects presentations that no session could ever hold, which would otherwise open empty tracks forever.
+     */
+    static void requireSchedulable(PresentationInfoDTO presentation, SessionLayout layout) {
+        if (presentation.getDuration() <= 0 || presentation.getDuration() > layout.getMaxSessionDuration()) {
+            throw new InvalidParameterException(ExceptionDictionary.UNSCHEDULABLE_PRESENTATION + presentation.getName());
+        }
+    }
+}
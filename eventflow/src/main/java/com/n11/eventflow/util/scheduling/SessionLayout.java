@@ -0,0 +1,203 @@
+package com.n11.eventflow.util.scheduling;
+
+import com.n11.eventflow.constants.CommonConstants;
+import com.n11.eventflow.constants.dictionaries.ExceptionDictionary;
+import com.n11.eventflow.exception.InvalidParameterException;
+import com.n11.eventflow.model.entity.SessionBlockType;
+import com.n11.eventflow.model.entity.SessionTemplateBlock;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A SessionTemplate compiled into flat arrays for scheduling.
+ *
+ * Sessions are numbered in the order they are held, and the fixed blocks (breaks and networking
+ * events) are grouped into the gaps around them: gap 0 precedes the first session, gap s follows
+ * session s - 1. The strategies only read the session lengths; AgendaLayout walks the gaps to
+ * place the fixed blocks. Layouts are immutable and shared between threads.
+ */
+public final class SessionLayout {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final long FINGERPRINT_MULTIPLIER = 1_000_003;
+
+    /**
+     * The blocks of the day from CommonConstants, used by events without a template. Read only.
+     */
+    public static final List<SessionTemplateBlock> DEFAULT_BLOCKS = List.of(
+            new SessionTemplateBlock(SessionBlockType.SESSION, null,
+                    CommonConstants.MORNING_SESSION_START_MINUTE, CommonConstants.MORNING_SESSION_DURATION),
+            new SessionTemplateBlock(SessionBlockType.BREAK, "Lunch",
+                    CommonConstants.LUNCH_MINUTE, CommonConstants.LUNCH_DURATION),
+            new SessionTemplateBlock(SessionBlockType.SESSION, null,
+                    CommonConstants.AFTERNOON_SESSION_START_MINUTE, CommonConstants.AFTERNOON_SESSION_DURATION),
+            new SessionTemplateBlock(SessionBlockType.NETWORKING, "Networking Event",
+                    CommonConstants.NETWORKING_EVENT_START_MINUTE, CommonConstants.NETWORKING_EVENT_END_MINUTE - CommonConstants.NETWORKING_EVENT_START_MINUTE)
+    );
+
+    public static final SessionLayout DEFAULT = compile(DEFAULT_BLOCKS);
+
+    private final int[] sessionStarts;
+    private final int[] sessionDurations;
+    private final int maxSessionDuration;
+    private final int trackDuration;
+
+    private final boolean[] fixedIsNetworking;
+    private final int[] fixedStarts;
+    private final int[] fixedDurations;
+    private final String[] fixedNames;
+    // The fixed blocks of gap g are fixedStarts[gapStarts[g]] .. fixedStarts[gapStarts[g + 1] - 1]
+    private final int[] gapStarts;
+    private final long fingerprint;
+
+    private SessionLayout(List<SessionTemplateBlock> blocks, int sessionCount) {
+        int fixedCount = blocks.size() - sessionCount;
+        sessionStarts = new int[sessionCount];
+        sessionDurations = new int[sessionCount];
+        fixedIsNetworking = new boolean[fixedCount];
+        fixedStarts = new int[fixedCount];
+        fixedDurations = new int[fixedCount];
+        fixedNames = new String[fixedCount];
+        gapStarts = new int[sessionCount + 2];
+
+        int session = 0;
+        int fixed = 0;
+        int longest = 0;
+        int total = 0;
+        long hash = 1;
+        for (SessionTemplateBlock block : blocks) {
+            hash = FINGERPRINT_MULTIPLIER * hash + block.getType().name().hashCode();
+            hash = FINGERPRINT_MULTIPLIER * hash + block.getStartMinute();
+            hash = FINGERPRINT_MULTIPLIER * hash + block.getDuration();
+            hash = FINGERPRINT_MULTIPLIER * hash + Objects.hashCode(block.getName());
+            if (block.getType() == SessionBlockType.SESSION) {
+                sessionStarts[session] = block.getStartMinute();
+                sessionDurations[session] = block.getDuration();
+                longest = Math.max(longest, block.getDuration());
+                total += block.getDuration();
+                session++;
+                gapStarts[session] = fixed;
+            } else {
+                fixedIsNetworking[fixed] = block.getType() == SessionBlockType.NETWORKING;
+                fixedStarts[fixed] = block.getStartMinute();
+                fixedDurations[fixed] = block.getDuration();
+                fixedNames[fixed] = block.getName();
+                fixed++;
+            }
+        }
+        gapStarts[sessionCount + 1] = fixed;
+        maxSessionDuration = longest;
+        trackDuration = total;
+        fingerprint = hash;
+    }
+
+    /**
+     * Validates the blocks of a template and compiles them.
+     *
+     * Sessions and breaks must be listed in the order they are held and must not overlap. A
+     * networking event has to follow a session, as it starts when that session ends.
+     *
+     * @param blocks The blocks of the day, in order.
+     * @return The compiled layout.
+     */
+    public static SessionLayout compile(List<SessionTemplateBlock> blocks) {
+        if (blocks == null || blocks.isEmpty()) {
+            throw invalid("a template needs at least one session");
+        }
+
+        int sessionCount = 0;
+        int dayClock = 0;
+        for (SessionTemplateBlock block : blocks) {
+            if (block.getType() == null) {
+                throw invalid("every block needs a type");
+            }
+            if (block.getDuration() <= 0 || block.getStartMinute() < 0 || block.getStartMinute() + block.getDuration() > MINUTES_PER_DAY) {
+                throw invalid("every block has to have a positive duration and lie within one day");
+            }
+            if (block.getType() != SessionBlockType.SESSION && (block.getName() == null || block.getName().isBlank())) {
+                throw invalid("breaks and networking events need a name");
+            }
+
+            if (block.getType() == SessionBlockType.NETWORKING) {
+                if (sessionCount == 0) {
+                    throw invalid("a networking event has to follow a session");
+                }
+                continue;
+            }
+            if (block.getStartMinute() < dayClock) {
+                throw invalid("sessions and breaks must be in order and must not overlap");
+            }
+            dayClock = block.getStartMinute() + block.getDuration();
+            if (block.getType() == SessionBlockType.SESSION) {
+                sessionCount++;
+            }
+        }
+        if (sessionCount == 0) {
+            throw invalid("a template needs at least one session");
+        }
+        return new SessionLayout(blocks, sessionCount);
+    }
+
+    private static InvalidParameterException invalid(String reason) {
+        return new InvalidParameterException(ExceptionDictionary.INVALID_SESSION_TEMPLATE + reason);
+    }
+
+    public int getSessionCount() {
+        return sessionStarts.length;
+    }
+
+    public int getSessionStart(int session) {
+        return sessionStarts[session];
+    }
+
+    public int getSessionDuration(int session) {
+        return sessionDurations[session];
+    }
+
+    /**
+     * The longest session, and so the longest presentation that can be scheduled.
+     */
+    public int getMaxSessionDuration() {
+        return maxSessionDuration;
+    }
+
+    /**
+     * The minutes of all sessions of a track together.
+     */
+    public int getTrackDuration() {
+        return trackDuration;
+    }
+
+    /**
+     * A 64-bit hash of the blocks the layout was compiled from. It only depends on the blocks, so
+     * it stays the same across restarts and identifies the layout a stored agenda was built with.
+     */
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    public int getFixedBlockCount() {
+        return fixedStarts.length;
+    }
+
+    int getGapStart(int gap) {
+        return gapStarts[gap];
+    }
+
+    boolean isNetworking(int fixedBlock) {
+        return fixedIsNetworking[fixedBlock];
+    }
+
+    int getFixedStart(int fixedBlock) {
+        return fixedStarts[fixedBlock];
+    }
+
+    int getFixedDuration(int fixedBlock) {
+        return fixedDurations[fixedBlock];
+    }
+
+    String getFixedName(int fixedBlock) {
+        return fixedNames[fixedBlock];
+    }
+}
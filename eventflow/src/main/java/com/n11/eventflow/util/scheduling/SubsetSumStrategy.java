@@ -0,0 +1,126 @@
+package com.n11.eventflow.util.scheduling;
+
+import com.n11.eventflow.model.dto.Presentation.PresentationInfoDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Exact subset-sum packer.
+ *
+ * Tracks are filled one session at a time. For every session the strategy picks the subset of the
+ * remaining presentations whose total duration comes as close as possible to the session length,
+ * so a session is left partly idle only when no combination of the pending talks can fill it. When
+ * a subset that contains the longest pending presentation fills the session just as well, that one
+ * is preferred, which keeps long talks from being pushed to the end where they would each need a
+ * session of their own.
+ *
+ * Filling every session as well as possible does not minimize the number of tracks, though: with
+ * many different durations nearly every session can be filled exactly with short and medium talks,
+ * which uses up the talks that would later close the gaps next to the long ones, and the long talks
+ * end up in tracks of their own. The presentations are therefore packed a second time with every
+ * session starting from the longest pending presentation that fits, the rest of it being filled
+ * with the best subset of the minutes left (minimum bin slack), and the packing with fewer tracks
+ * is returned. The second packing needs about as many tracks as BEST_FIT_DECREASING and usually a
+ * few fewer, e.g. 626 instead of 628 for 2000 talks of 5 to 240 minutes, though on some inputs it
+ * needs one or two more.
+ *
+ * Because durations are bounded by the longest session of the layout, presentations are grouped
+ * into one bucket per duration in a DurationIndex and the subset is found with a bounded knapsack
+ * over the distinct pending durations rather than over individual presentations; the index skips
+ * the durations without pending presentations. Presentations of the same duration keep their
+ * submission order.
+ *
+ * Time Complexity -> O(n + s * D * C) for each of the two packings, s being the number of sessions, D the number of distinct
+ * durations and C the session length (both at most the longest session)
+ */
+public class SubsetSumStrategy implements SchedulingStrategy {
+
+    @Override
+    public SchedulingStrategyType getType() {
+        return SchedulingStrategyType.SUBSET_SUM;
+    }
+
+    @Override
+    public List<TrackPlan> schedule(List<PresentationInfoDTO> presentations, SessionLayout layout) {
+        List<TrackPlan> bestFilled = pack(DurationIndex.of(presentations, layout), layout, false);
+        List<TrackPlan> longestFirst = pack(DurationIndex.of(presentations, layout), layout, true);
+        return longestFirst.size() < bestFilled.size() ? longestFirst : bestFilled;
+    }
+
+    private List<TrackPlan> pack(DurationIndex pending, SessionLayout layout, boolean longestFirst) {
+        List<TrackPlan> tracks = new ArrayList<>();
+        while (!pending.isEmpty()) {
+            List<List<PresentationInfoDTO>> sessions = new ArrayList<>(layout.getSessionCount());
+            for (int session = 0; session < layout.getSessionCount(); session++) {
+                sessions.add(fillSession(pending, layout.getSessionDuration(session), longestFirst));
+            }
+            tracks.add(new TrackPlan(sessions));
+        }
+        return tracks;
+    }
+
+    /**
+     * @param longestFirst Whether the session always starts with the longest pending presentation,
+     *                     instead of only when that fills it as well as any other subset.
+     */
+    private List<PresentationInfoDTO> fillSession(DurationIndex pending, int sessionDuration, boolean longestFirst) {
+        int longest = pending.longestAtMost(sessionDuration);
+        List<PresentationInfoDTO> session = new ArrayList<>();
+        if (longest == 0) {
+            return session;
+        }
+
+        int[] reachedWith = new int[sessionDuration + 1];
+        int best = longestFirst ? 0 : findBestSubset(pending, sessionDuration, 0, reachedWith);
+        int[] anchoredReachedWith = new int[sessionDuration - longest + 1];
+        int anchoredBest = longest + findBestSubset(pending, sessionDuration - longest, longest, anchoredReachedWith);
+
+        if (anchoredBest >= best) {
+            session.add(pending.poll(longest));
+            reachedWith = anchoredReachedWith;
+            best = anchoredBest - longest;
+        }
+        for (int total = best; total > 0; total -= reachedWith[total]) {
+            session.add(pending.poll(reachedWith[total]));
+        }
+        return session;
+    }
+
+    /**
+     * Finds the subset of pending presentations that fills the given minutes best.
+     *
+     * reachedWith[c] receives the duration of the last presentation used to reach exactly c minutes
+     * (0 when c is unreachable), so the chosen subset can be rebuilt by walking back from the
+     * returned total. usedOfDuration limits each duration to the number of pending presentations.
+     *
+     * @param reservedDuration A duration of which one presentation is already taken, or 0.
+     * @return The largest reachable total that does not exceed the given minutes.
+     */
+    private int findBestSubset(DurationIndex pending, int minutes, int reservedDuration, int[] reachedWith) {
+        int[] usedOfDuration = new int[minutes + 1];
+        boolean[] reachable = new boolean[minutes + 1];
+        reachable[0] = true;
+        int best = 0;
+
+        for (int duration = pending.longestAtMost(minutes); duration > 0 && best < minutes; duration = pending.longestAtMost(duration - 1)) {
+            int available = pending.count(duration) - (duration == reservedDuration ? 1 : 0);
+            if (available <= 0) {
+                continue;
+            }
+            for (int total = duration; total <= minutes; total++) {
+                int previous = total - duration;
+                if (!reachable[total] && reachable[previous]) {
+                    int used = reachedWith[previous] == duration ? usedOfDuration[previous] : 0;
+                    if (used < available) {
+                        reachable[total] = true;
+                        reachedWith[total] = duration;
+                        usedOfDuration[total] = used + 1;
+                        best = Math.max(best, total);
+                    }
+                }
+            }
+        }
+        return best;
+    }
+}
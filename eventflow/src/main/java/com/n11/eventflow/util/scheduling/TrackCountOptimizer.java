@@ -0,0 +1,309 @@
+package com.n11.eventflow.util.scheduling;
+
+import com.n11.eventflow.model.dto.Presentation.PresentationInfoDTO;
+
+import java.util.*;
+
+/**
+ * Anytime local search that reduces the number of tracks of a packing.
+ *
+ * The search starts from the BEST_FIT_DECREASING packing and repeatedly tries to empty the least
+ * loaded track: its presentations are moved into the gaps of the other sessions, best fit first.
+ * A presentation that fits nowhere is swapped with a shorter one of a session that can then hold
+ * it, and the shorter one is placed instead; every swap shrinks the minutes left to place, so an
+ * attempt always ends. An attempt that gets stuck is undone and the next track is tried.
+ *
+ * The packing is valid after every attempt, so the search can stop at any time: it ends when the
+ * time budget is spent, when the lower bound is reached or when no track can be emptied any more.
+ * Sessions are indexed by their free minutes in a TreeMap, so the best session for a move is found
+ * with a single ceiling lookup.
+ */
+public class TrackCountOptimizer {
+
+    private final BestFitDecreasingStrategy bestFitDecreasing = new BestFitDecreasingStrategy();
+
+    /**
+     * @param tracks The tracks of the best packing found, in the order they were opened.
+     * @param initialTrackCount The tracks of the packing the search started from.
+     */
+    public record Result(List<TrackPlan> tracks, int initialTrackCount) {
+    }
+
+    /**
+     * The smallest number of tracks the presentations could ever fit into: their total minutes
+     * divided by the minutes of a track, rounded up (420 minutes for the default day).
+     */
+    public static int lowerBound(List<PresentationInfoDTO> presentations, SessionLayout layout) {
+        long totalMinutes = 0;
+        for (PresentationInfoDTO presentation : presentations) {
+            totalMinutes += presentation.getDuration();
+        }
+        return (int) ((totalMinutes + layout.getTrackDuration() - 1) / layout.getTrackDuration());
+    }
+
+    /**
+     * Packs the presentations and improves the packing until the budget is spent.
+     *
+     * @param presentations The presentations to be scheduled.
+     * @param layout The sessions of every track.
+     * @param budgetNanos The time the local search may take after the initial packing.
+     * @return The best packing found.
+     */
+    public Result optimize(List<PresentationInfoDTO> presentations, SessionLayout layout, long budgetNanos) {
+        long deadline = System.nanoTime() + budgetNanos;
+        List<TrackPlan> initial = bestFitDecreasing.schedule(presentations, layout);
+        Search search = new Search(initial, layout, deadline);
+        search.run(lowerBound(presentations, layout));
+        return new Result(search.result(), initial.size());
+    }
+
+    private static class Search {
+        private static final int NONE = -1;
+
+        private final int sessionsPerTrack;
+        private final int[] capacity;
+        private final List<List<PresentationInfoDTO>> sessions = new ArrayList<>();
+        private final int[] load;
+        private final boolean[] removed;
+        private int trackCount;
+        private final long deadline;
+
+        // Free minutes -> sessions of live tracks with exactly that much room
+        private final TreeMap<Integer, TreeSet<Integer>> sessionsByGap = new TreeMap<>();
+
+        // Sessions changed by the current attempt, with their presentations before it
+        private final Map<Integer, List<PresentationInfoDTO>> undo = new HashMap<>();
+
+        Search(List<TrackPlan> tracks, SessionLayout layout, long deadline) {
+            this.sessionsPerTrack = layout.getSessionCount();
+            this.trackCount = tracks.size();
+            this.deadline = deadline;
+            this.capacity = new int[tracks.size() * sessionsPerTrack];
+            this.load = new int[capacity.length];
+            this.removed = new boolean[tracks.size()];
+            for (TrackPlan track : tracks) {
+                for (int s = 0; s < sessionsPerTrack; s++) {
+                    int session = sessions.size();
+                    sessions.add(new ArrayList<>(track.getSessions().get(s)));
+                    capacity[session] = layout.getSessionDuration(s);
+                    for (PresentationInfoDTO presentation : track.getSessions().get(s)) {
+                        load[session] += presentation.getDuration();
+                    }
+                    index(session);
+                }
+            }
+        }
+
+        void run(int lowerBound) {
+            boolean improved = true;
+            while (improved && trackCount > lowerBound && !expired()) {
+                improved = false;
+                for (int track : tracksByLoad()) {
+                    if (expired()) {
+                        return;
+                    }
+                    if (tryToEmpty(track)) {
+                        improved = true;
+                        break;
+                    }
+                }
+            }
+        }
+
+        List<TrackPlan> result() {
+            List<TrackPlan> tracks = new ArrayList<>(trackCount);
+            for (int track = 0; track < removed.length; track++) {
+                if (!removed[track]) {
+                    List<List<PresentationInfoDTO>> trackSessions = new ArrayList<>(sessionsPerTrack);
+                    for (int s = 0; s < sessionsPerTrack; s++) {
+                        trackSessions.add(sessions.get(track * sessionsPerTrack + s));
+                    }
+                    tracks.add(new TrackPlan(trackSessions));
+                }
+            }
+            return tracks;
+        }
+
+        private boolean expired() {
+            return System.nanoTime() - deadline >= 0;
+        }
+
+        private List<Integer> tracksByLoad() {
+            List<Integer> tracks = new ArrayList<>(trackCount);
+            int[] trackLoad = new int[removed.length];
+            for (int track = 0; track < removed.length; track++) {
+                if (!removed[track]) {
+                    tracks.add(track);
+                    for (int s = 0; s < sessionsPerTrack; s++) {
+                        trackLoad[track] += load[track * sessionsPerTrack + s];
+                    }
+                }
+            }
+            // Stable, so tracks with the same load are tried in track order
+            tracks.sort(Comparator.comparingInt(track -> trackLoad[track]));
+            return tracks;
+        }
+
+        /**
+         * Moves every presentation of the track into the other tracks, or undoes the attempt.
+         */
+        private boolean tryToEmpty(int track) {
+            undo.clear();
+            List<PresentationInfoDTO> pending = new ArrayList<>();
+            for (int s = 0; s < sessionsPerTrack; s++) {
+                int session = track * sessionsPerTrack + s;
+                unindex(session);
+                pending.addAll(sessions.get(session));
+            }
+            removed[track] = true;
+
+            boolean changed = true;
+            while (!pending.isEmpty() && changed) {
+                if (expired()) {
+                    break;
+                }
+                changed = moveIntoGaps(pending);
+                // Copied, as exchanges move sessions between the buckets
+                List<Integer> open = new ArrayList<>();
+                sessionsByGap.tailMap(1).values().forEach(open::addAll);
+                for (int session : open) {
+                    if (pending.isEmpty()) {
+                        break;
+                    }
+                    changed |= exchange(session, pending);
+                }
+            }
+            if (!pending.isEmpty()) {
+                rollback(track);
+                return false;
+            }
+
+            for (int s = 0; s < sessionsPerTrack; s++) {
+                sessions.set(track * sessionsPerTrack + s, new ArrayList<>());
+            }
+            trackCount--;
+            return true;
+        }
+
+        /**
+         * Moves pending presentations into the sessions they fit best, longest first.
+         */
+        private boolean moveIntoGaps(List<PresentationInfoDTO> pending) {
+            pending.sort(Comparator.comparingInt(PresentationInfoDTO::getDuration).reversed());
+            boolean moved = false;
+            for (Iterator<PresentationInfoDTO> iterator = pending.iterator(); iterator.hasNext(); ) {
+                PresentationInfoDTO presentation = iterator.next();
+                Map.Entry<Integer, TreeSet<Integer>> bestFit = sessionsByGap.ceilingEntry(presentation.getDuration());
+                if (bestFit != null) {
+                    add(bestFit.getValue().first(), presentation);
+                    iterator.remove();
+                    moved = true;
+                }
+            }
+            return moved;
+        }
+
+        /**
+         * Exchanges one or two presentations of the session for one or two pending ones that are
+         * longer together but still fit, choosing the exchange that fills the session the most.
+         * Every exchange shrinks the pending minutes, so repeated exchanges always come to an end.
+         *
+         * @return Whether an exchange was made.
+         */
+        private boolean exchange(int session, List<PresentationInfoDTO> pending) {
+            List<PresentationInfoDTO> scheduled = sessions.get(session);
+            int gap = capacity[session] - load[session];
+            int bestGain = 0;
+            // A pair of indexes; the second one is NONE for a single presentation
+            int outFirst = NONE, outSecond = NONE, inFirst = NONE, inSecond = NONE;
+            search:
+            for (int o1 = 0; o1 < scheduled.size(); o1++) {
+                for (int o2 = o1; o2 < scheduled.size(); o2++) {
+                    int outMinutes = scheduled.get(o1).getDuration() + (o2 == o1 ? 0 : scheduled.get(o2).getDuration());
+                    for (int i1 = 0; i1 < pending.size(); i1++) {
+                        for (int i2 = i1; i2 < pending.size(); i2++) {
+                            int gain = pending.get(i1).getDuration() + (i2 == i1 ? 0 : pending.get(i2).getDuration()) - outMinutes;
+                            if (gain > bestGain && gain <= gap) {
+                                bestGain = gain;
+                                outFirst = o1;
+                                outSecond = o2 == o1 ? NONE : o2;
+                                inFirst = i1;
+                                inSecond = i2 == i1 ? NONE : i2;
+                            }
+                        }
+                    }
+                    if (bestGain == gap) {
+                        break search;
+                    }
+                }
+            }
+            if (outFirst == NONE) {
+                return false;
+            }
+
+            // Taken out by index, the later one first: equal presentations are different talks
+            List<PresentationInfoDTO> displaced = new ArrayList<>(2);
+            if (outSecond != NONE) {
+                displaced.add(remove(session, outSecond));
+            }
+            displaced.add(remove(session, outFirst));
+            if (inSecond != NONE) {
+                add(session, pending.remove(inSecond));
+            }
+            add(session, pending.remove(inFirst));
+            pending.addAll(displaced);
+            return true;
+        }
+
+        private void add(int session, PresentationInfoDTO presentation) {
+            remember(session);
+            unindex(session);
+            sessions.get(session).add(presentation);
+            load[session] += presentation.getDuration();
+            index(session);
+        }
+
+        private PresentationInfoDTO remove(int session, int position) {
+            remember(session);
+            unindex(session);
+            PresentationInfoDTO presentation = sessions.get(session).remove(position);
+            load[session] -= presentation.getDuration();
+            index(session);
+            return presentation;
+        }
+
+        private void remember(int session) {
+            undo.computeIfAbsent(session, key -> new ArrayList<>(sessions.get(key)));
+        }
+
+        private void rollback(int track) {
+            for (Map.Entry<Integer, List<PresentationInfoDTO>> entry : undo.entrySet()) {
+                int session = entry.getKey();
+                unindex(session);
+                sessions.set(session, entry.getValue());
+                load[session] = 0;
+                for (PresentationInfoDTO presentation : entry.getValue()) {
+                    load[session] += presentation.getDuration();
+                }
+                index(session);
+            }
+            removed[track] = false;
+            for (int s = 0; s < sessionsPerTrack; s++) {
+                index(track * sessionsPerTrack + s);
+            }
+        }
+
+        private void index(int session) {
+            int gap = capacity[session] - load[session];
+            sessionsByGap.computeIfAbsent(gap, key -> new TreeSet<>()).add(session);
+        }
+
+        private void unindex(int session) {
+            int gap = capacity[session] - load[session];
+            TreeSet<Integer> bucket = sessionsByGap.get(gap);
+            if (bucket != null && bucket.remove(session) && bucket.isEmpty()) {
+                sessionsByGap.remove(gap);
+            }
+        }
+    }
+}
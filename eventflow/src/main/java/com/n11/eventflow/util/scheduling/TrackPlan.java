@@ -0,0 +1,19 @@
+package com.n11.eventflow.util.scheduling;
+
+import com.n11.eventflow.model.dto.Presentation.PresentationInfoDTO;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The presentations of every session of a track, in the order of the sessions of the SessionLayout.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrackPlan {
+    private List<List<PresentationInfoDTO>> sessions = new ArrayList<>();
+}
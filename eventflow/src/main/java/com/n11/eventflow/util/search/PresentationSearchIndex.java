@@ -0,0 +1,306 @@
+package com.n11.eventflow.util.search;
+
+import com.n11.eventflow.model.dto.Presentation.PresentationInfoDTO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over the names of the presentations of one event.
+ *
+ * Names are split into lower-case words of letters and digits. Every distinct word is a term,
+ * stored once in a trie that maps it to its term id; the postings of a term are the positions of
+ * the presentations that contain it, in submission order. Presentations are only ever appended,
+ * so the postings stay sorted without being rebuilt, and every presentation keeps its own term ids
+ * so that candidates can be checked against a query word directly.
+ *
+ * A query word is first resolved to the terms it matches: one trie lookup for FULL_TEXT, the
+ * subtree below the word for PREFIX and a walk of the trie that keeps one row of the Levenshtein
+ * matrix per level for FUZZY, which skips every branch that is already too far away. The
+ * presentations that match all words are found starting from the word with the fewest postings:
+ * the following words either intersect their postings with the candidates or, if those are fewer
+ * than their postings, are checked against the term ids of each candidate.
+ *
+ * Searches share a read lock and additions take the write lock, so the index can be searched
+ * while presentations are added to it.
+ */
+public class PresentationSearchIndex {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TrieNode root = new TrieNode();
+    private final List<PresentationInfoDTO> presentations = new ArrayList<>();
+    // Term ids of every presentation, by position
+    private final List<int[]> presentationTerms = new ArrayList<>();
+    // Positions of the presentations of every term, by term id, in ascending order
+    private final List<IntList> postings = new ArrayList<>();
+
+    private static final int[] NO_TERMS = new int[0];
+
+    private static final class TrieNode {
+        private char[] keys = new char[0];
+        private TrieNode[] children = new TrieNode[0];
+        private int termId = -1;
+
+        TrieNode child(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            return index < 0 ? null : children[index];
+        }
+
+        TrieNode getOrAddChild(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertAt = -index - 1;
+            char[] newKeys = new char[keys.length + 1];
+            TrieNode[] newChildren = new TrieNode[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            newKeys[insertAt] = key;
+            newChildren[insertAt] = new TrieNode();
+            System.arraycopy(keys, insertAt, newKeys, insertAt + 1, keys.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            keys = newKeys;
+            children = newChildren;
+            return newChildren[insertAt];
+        }
+    }
+
+    private static final class IntList {
+        private int[] values = new int[2];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+
+    /**
+     * Splits a text into its distinct lower-case words of letters and digits, in order.
+     */
+    public static List<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordCharacter = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordCharacter && start < 0) {
+                start = i;
+            } else if (!wordCharacter && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return new ArrayList<>(tokens);
+    }
+
+    /**
+     * The number of edits a FUZZY query word may be away from a term.
+     */
+    static int maxEdits(String token) {
+        return token.length() <= 2 ? 0 : token.length() <= 5 ? 1 : 2;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return presentations.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds presentations after all that are already indexed.
+     */
+    public void addAll(List<PresentationInfoDTO> added) {
+        lock.writeLock().lock();
+        try {
+            for (PresentationInfoDTO presentation : added) {
+                add(presentation);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void add(PresentationInfoDTO presentation) {
+        int position = presentations.size();
+        List<String> tokens = presentation.getName() == null ? List.of() : tokenize(presentation.getName());
+        int[] termIds = new int[tokens.size()];
+        for (int t = 0; t < tokens.size(); t++) {
+            TrieNode node = root;
+            for (char c : tokens.get(t).toCharArray()) {
+                node = node.getOrAddChild(c);
+            }
+            if (node.termId < 0) {
+                node.termId = postings.size();
+                postings.add(new IntList());
+            }
+            termIds[t] = node.termId;
+            postings.get(node.termId).add(position);
+        }
+        Arrays.sort(termIds);
+        presentations.add(presentation);
+        presentationTerms.add(termIds);
+    }
+
+    /**
+     * Finds the presentations whose names match every word of the query.
+     *
+     * @param query The words to search for.
+     * @param mode How every word is matched.
+     * @param limit The largest number of presentations returned.
+     * @return The first matching presentations in submission order.
+     */
+    public List<PresentationInfoDTO> search(String query, SearchMode mode, int limit) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            List<int[]> matches = new ArrayList<>(tokens.size());
+            for (String token : tokens) {
+                int[] termIds = matchingTerms(token, mode);
+                if (termIds.length == 0) {
+                    return List.of();
+                }
+                matches.add(termIds);
+            }
+            matches.sort(Comparator.comparingLong(this::postingCount));
+
+            BitSet candidates = union(matches.get(0));
+            for (int m = 1; m < matches.size() && !candidates.isEmpty(); m++) {
+                int[] termIds = matches.get(m);
+                if (postingCount(termIds) > candidates.cardinality()) {
+                    for (int position = candidates.nextSetBit(0); position >= 0; position = candidates.nextSetBit(position + 1)) {
+                        if (!containsAny(presentationTerms.get(position), termIds)) {
+                            candidates.clear(position);
+                        }
+                    }
+                } else {
+                    candidates.and(union(termIds));
+                }
+            }
+
+            List<PresentationInfoDTO> result = new ArrayList<>(Math.min(limit, candidates.cardinality()));
+            for (int position = candidates.nextSetBit(0); position >= 0 && result.size() < limit; position = candidates.nextSetBit(position + 1)) {
+                result.add(presentations.get(position));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return The sorted ids of the terms the query word matches.
+     */
+    private int[] matchingTerms(String token, SearchMode mode) {
+        IntList termIds = new IntList();
+        switch (mode) {
+            case FULL_TEXT -> {
+                TrieNode node = find(token);
+                if (node != null && node.termId >= 0) {
+                    termIds.add(node.termId);
+                }
+            }
+            case PREFIX -> {
+                TrieNode node = find(token);
+                if (node != null) {
+                    collect(node, termIds);
+                }
+            }
+            case FUZZY -> {
+                int[] row = new int[token.length() + 1];
+                for (int i = 0; i < row.length; i++) {
+                    row[i] = i;
+                }
+                collectWithin(root, token, row, maxEdits(token), termIds);
+            }
+        }
+        int[] sorted = termIds.size == 0 ? NO_TERMS : Arrays.copyOf(termIds.values, termIds.size);
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    private TrieNode find(String token) {
+        TrieNode node = root;
+        for (int i = 0; i < token.length() && node != null; i++) {
+            node = node.child(token.charAt(i));
+        }
+        return node;
+    }
+
+    private static void collect(TrieNode node, IntList termIds) {
+        if (node.termId >= 0) {
+            termIds.add(node.termId);
+        }
+        for (TrieNode child : node.children) {
+            collect(child, termIds);
+        }
+    }
+
+    /**
+     * Collects the terms below the node that are at most maxEdits away from the token. row is the
+     * row of the Levenshtein matrix of the word that leads to the node.
+     */
+    private static void collectWithin(TrieNode node, String token, int[] row, int maxEdits, IntList termIds) {
+        if (node.termId >= 0 && row[token.length()] <= maxEdits) {
+            termIds.add(node.termId);
+        }
+        for (int k = 0; k < node.keys.length; k++) {
+            char key = node.keys[k];
+            int[] next = new int[row.length];
+            next[0] = row[0] + 1;
+            int smallest = next[0];
+            for (int i = 1; i < row.length; i++) {
+                int substitution = row[i - 1] + (token.charAt(i - 1) == key ? 0 : 1);
+                next[i] = Math.min(substitution, Math.min(next[i - 1], row[i]) + 1);
+                smallest = Math.min(smallest, next[i]);
+            }
+            // Longer words below this child can only be further away
+            if (smallest <= maxEdits) {
+                collectWithin(node.children[k], token, next, maxEdits, termIds);
+            }
+        }
+    }
+
+    private long postingCount(int[] termIds) {
+        long count = 0;
+        for (int termId : termIds) {
+            count += postings.get(termId).size;
+        }
+        return count;
+    }
+
+    private BitSet union(int[] termIds) {
+        BitSet positions = new BitSet(presentations.size());
+        for (int termId : termIds) {
+            IntList posting = postings.get(termId);
+            for (int i = 0; i < posting.size; i++) {
+                positions.set(posting.values[i]);
+            }
+        }
+        return positions;
+    }
+
+    private static boolean containsAny(int[] sortedTermIds, int[] termIds) {
+        for (int termId : sortedTermIds) {
+            if (Arrays.binarySearch(termIds, termId) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
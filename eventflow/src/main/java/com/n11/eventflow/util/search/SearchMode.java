@@ -0,0 +1,14 @@
+package com.n11.eventflow.util.search;
+
+/**
+ * How the words of a search query are matched against the words of presentation names. A
+ * presentation matches if every word of the query matches one of its words.
+ */
+public enum SearchMode {
+    // The query word is the beginning of a word of the name, for search as you type
+    PREFIX,
+    // The query word is at most 1 edit (3 to 5 letters) or 2 edits (longer words) away from a word of the name
+    FUZZY,
+    // The query word is a word of the name
+    FULL_TEXT
+}
@@ -0,0 +1,4 @@
+-- Indexes of the postgres search backend, see PresentationSearchService
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_presentation_name_tsv ON presentation USING gin (to_tsvector('simple', name));
+CREATE INDEX IF NOT EXISTS idx_presentation_name_trgm ON presentation USING gin (name gin_trgm_ops);
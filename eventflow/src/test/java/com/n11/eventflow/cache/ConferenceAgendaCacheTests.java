@@ -0,0 +1,267 @@
+package com.n11.eventflow.cache;
+
+import com.n11.eventflow.model.dto.Agenda.Response.GetConferenceAgendaResponseDTO;
+import com.n11.eventflow.model.dto.Presentation.PresentationInfoDTO;
+import com.n11.eventflow.util.ConferenceAgendaUtil;
+import com.n11.eventflow.util.scheduling.AgendaLayout;
+import com.n11.eventflow.util.scheduling.SchedulingStrategyType;
+import com.n11.eventflow.util.scheduling.SessionLayout;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConferenceAgendaCacheTests {
+
+    private static final String EVENT = "event-a";
+    private static final String OTHER_EVENT = "event-b";
+    private static final int MAX_EVENTS = 100;
+
+    private ConferenceAgendaUtil conferenceAgendaUtil;
+    private InMemoryAgendaStore agendaStore;
+    private ConferenceAgendaCache conferenceAgendaCache;
+    private List<PresentationInfoDTO> presentations;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    public void setUp() {
+        conferenceAgendaUtil = new ConferenceAgendaUtil();
+        agendaStore = new InMemoryAgendaStore(MAX_EVENTS);
+        conferenceAgendaCache = new ConferenceAgendaCache(conferenceAgendaUtil, agendaStore, eventKey -> SessionLayout.DEFAULT, ObservationRegistry.NOOP, AgendaMaterializer.NONE, MAX_EVENTS);
+        presentations = new ArrayList<>();
+        loads = new AtomicInteger();
+    }
+
+    private GetConferenceAgendaResponseDTO read(SchedulingStrategyType strategyType) {
+        return read(conferenceAgendaCache, strategyType);
+    }
+
+    private GetConferenceAgendaResponseDTO read(ConferenceAgendaCache node, SchedulingStrategyType strategyType) {
+        return node.getOrCompute(EVENT, strategyType, () -> {
+            loads.incrementAndGet();
+            return new ArrayList<>(presentations);
+        });
+    }
+
+    private void create(String name, int duration) {
+        create(conferenceAgendaCache, name, duration);
+    }
+
+    private void create(ConferenceAgendaCache node, String name, int duration) {
+        PresentationInfoDTO presentation = new PresentationInfoDTO(name, duration);
+        node.createPresentation(EVENT, presentation, () -> presentations.add(presentation));
+    }
+
+    @Test
+    public void testRepeatedReadsDoNotReloadPresentations() {
+        create("Talk 1", 60);
+        read(SchedulingStrategyType.GREEDY);
+        read(SchedulingStrategyType.GREEDY);
+        assertEquals(1, loads.get(), "Presentations should only be loaded on the first read");
+    }
+
+    @Test
+    public void testIncrementalGreedyAgendaMatchesFullRecomputation() {
+        read(SchedulingStrategyType.GREEDY);
+        int[] durations = {60, 45, 30, 45, 5, 60, 45, 30, 30, 45, 180, 240, 90, 90, 15, 200, 60};
+        for (int i = 0; i < durations.length; i++) {
+            create("Talk " + i, durations[i]);
+            assertEquals(conferenceAgendaUtil.allocateSessions(presentations, SchedulingStrategyType.GREEDY),
+                    read(SchedulingStrategyType.GREEDY).getConferenceAgenda(),
+                    "Patched agenda should equal a full recomputation after " + (i + 1) + " presentations");
+        }
+        assertEquals(1, loads.get(), "The greedy agenda should be patched without reloading presentations");
+    }
+
+    @Test
+    public void testPackingStrategyAgendaIsRebuiltAfterCreate() {
+        create("Talk 1", 60);
+        read(SchedulingStrategyType.BEST_FIT_DECREASING);
+        create("Talk 2", 120);
+
+        GetConferenceAgendaResponseDTO response = read(SchedulingStrategyType.BEST_FIT_DECREASING);
+        assertEquals(2, loads.get(), "Packing strategy agendas should be recomputed after a create");
+        assertEquals(conferenceAgendaUtil.allocateSessions(presentations, SchedulingStrategyType.BEST_FIT_DECREASING), response.getConferenceAgenda());
+    }
+
+    @Test
+    public void testVersionIsBumpedOnCreate() {
+        long before = agendaStore.currentVersion(EVENT);
+        create("Talk 1", 60);
+        assertEquals(before + 1, agendaStore.currentVersion(EVENT));
+    }
+
+    @Test
+    public void testNodesShareAgendasThroughTheStore() {
+        ConferenceAgendaCache otherNode = new ConferenceAgendaCache(conferenceAgendaUtil, agendaStore, eventKey -> SessionLayout.DEFAULT, ObservationRegistry.NOOP, AgendaMaterializer.NONE, MAX_EVENTS);
+        create("Talk 1", 60);
+
+        read(SchedulingStrategyType.GREEDY);
+        read(otherNode, SchedulingStrategyType.GREEDY);
+        assertEquals(1, loads.get(), "The second node should read the agenda computed by the first one");
+    }
+
+    @Test
+    public void testCreateOnOneNodeInvalidatesTheOther() {
+        ConferenceAgendaCache otherNode = new ConferenceAgendaCache(conferenceAgendaUtil, agendaStore, eventKey -> SessionLayout.DEFAULT, ObservationRegistry.NOOP, AgendaMaterializer.NONE, MAX_EVENTS);
+        create("Talk 1", 60);
+        read(SchedulingStrategyType.GREEDY);
+        read(otherNode, SchedulingStrategyType.GREEDY);
+
+        create(otherNode, "Talk 2", 200);
+
+        assertEquals(conferenceAgendaUtil.allocateSessions(presentations), read(SchedulingStrategyType.GREEDY).getConferenceAgenda(),
+                "The first node should see the presentation created on the second one");
+        assertEquals(1, loads.get(), "The patched agenda should be picked up from the store");
+    }
+
+    @Test
+    public void testPresentationListIsReloadedOnlyAfterCreate() {
+        create("Talk 1", 60);
+        conferenceAgendaCache.getOrLoadPresentations(EVENT, () -> {
+            loads.incrementAndGet();
+            return new ArrayList<>(presentations);
+        });
+        List<PresentationInfoDTO> cached = conferenceAgendaCache.getOrLoadPresentations(EVENT, () -> {
+            throw new AssertionError("Presentations should be served from the store");
+        });
+        assertEquals(presentations, cached);
+
+        create("Talk 2", 30);
+        List<PresentationInfoDTO> reloaded = conferenceAgendaCache.getOrLoadPresentations(EVENT, () -> new ArrayList<>(presentations));
+        assertEquals(2, reloaded.size(), "A stale presentation list should not be served");
+    }
+
+    @Test
+    public void testCreateInOneEventKeepsTheAgendaOfAnother() {
+        create("Talk 1", 60);
+        read(SchedulingStrategyType.BEST_FIT_DECREASING);
+
+        PresentationInfoDTO otherPresentation = new PresentationInfoDTO("Other Talk", 30);
+        conferenceAgendaCache.createPresentation(OTHER_EVENT, otherPresentation, () -> { });
+
+        assertNotNull(conferenceAgendaCache.getIfPresent(EVENT, SchedulingStrategyType.BEST_FIT_DECREASING),
+                "A create in another event should not evict the agenda");
+        read(SchedulingStrategyType.BEST_FIT_DECREASING);
+        assertEquals(1, loads.get(), "The agenda should not be recomputed after a create in another event");
+        assertEquals(1, agendaStore.currentVersion(OTHER_EVENT), "Every event should have its own version");
+    }
+
+    @Test
+    public void testEventsHaveSeparateAgendas() {
+        create("Talk 1", 60);
+        GetConferenceAgendaResponseDTO otherAgenda = conferenceAgendaCache.getOrCompute(OTHER_EVENT, SchedulingStrategyType.GREEDY, List::of);
+
+        assertTrue(otherAgenda.getConferenceAgenda().isEmpty(), "The agenda of an event without presentations should be empty");
+        assertEquals(1, read(SchedulingStrategyType.GREEDY).getConferenceAgenda().size());
+    }
+
+    @Test
+    public void testPatchedAgendaReportsTheSameSizeAsFullRecomputation() {
+        List<AgendaComputationContext> observed = new ArrayList<>();
+        ObservationRegistry observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(new ObservationHandler<>() {
+            @Override
+            public boolean supportsContext(Observation.Context context) {
+                return context instanceof AgendaComputationContext;
+            }
+
+            @Override
+            public void onStop(Observation.Context context) {
+                observed.add((AgendaComputationContext) context);
+            }
+        });
+        ConferenceAgendaCache observedCache = new ConferenceAgendaCache(conferenceAgendaUtil, agendaStore, eventKey -> SessionLayout.DEFAULT, observationRegistry, AgendaMaterializer.NONE, MAX_EVENTS);
+
+        for (int i = 0; i < 20; i++) {
+            create(observedCache, "Talk " + i, 30 + (i * 17) % 120);
+        }
+        read(observedCache, SchedulingStrategyType.GREEDY);
+        create(observedCache, "Late Talk", 45);
+        AgendaComputationContext patch = observed.get(observed.size() - 1);
+
+        ConferenceAgendaCache freshNode = new ConferenceAgendaCache(conferenceAgendaUtil, new InMemoryAgendaStore(MAX_EVENTS), eventKey -> SessionLayout.DEFAULT, observationRegistry, AgendaMaterializer.NONE, MAX_EVENTS);
+        read(freshNode, SchedulingStrategyType.GREEDY);
+        AgendaComputationContext recomputed = observed.get(observed.size() - 1);
+
+        assertEquals(21, patch.getPresentationCount(), "Patched agenda should count every presentation");
+        assertEquals(recomputed.getTrackCount(), patch.getTrackCount(), "Track count should match a full recomputation");
+        assertEquals(recomputed.getIdleMinutes(), patch.getIdleMinutes(), "Idle minutes should match a full recomputation");
+    }
+
+    @Test
+    public void testETagChangesOnlyWithTheAgenda() {
+        create("Talk 1", 60);
+        String computed = conferenceAgendaCache.getOrComputeEntry(EVENT, SchedulingStrategyType.GREEDY, () -> new ArrayList<>(presentations)).eTag();
+        String cached = conferenceAgendaCache.getEntryIfPresent(EVENT, SchedulingStrategyType.GREEDY).eTag();
+        create("Talk 2", 30);
+        String patched = conferenceAgendaCache.getEntryIfPresent(EVENT, SchedulingStrategyType.GREEDY).eTag();
+
+        assertEquals(computed, cached, "A cached agenda should keep its ETag");
+        assertNotEquals(computed, patched, "A patched agenda should get a new ETag");
+        assertTrue(patched.startsWith("W/\"2-") && patched.endsWith("\""), "The ETag should be a quoted weak tag of the version");
+    }
+
+    @Test
+    public void testNearCacheKeepsOnlyRecentlyUsedEvents() {
+        for (int i = 0; i < MAX_EVENTS * 3; i++) {
+            conferenceAgendaCache.getOrCompute("unknown-" + i, SchedulingStrategyType.GREEDY, ArrayList::new);
+        }
+
+        assertNull(conferenceAgendaCache.getEntryIfPresent("unknown-0", SchedulingStrategyType.GREEDY), "The least recently used event should be dropped");
+        assertNotNull(conferenceAgendaCache.getEntryIfPresent("unknown-" + (MAX_EVENTS * 3 - 1), SchedulingStrategyType.GREEDY), "The latest event should be kept");
+    }
+
+    @Test
+    public void testCurrentEntryIsReadFromTheStoreWithoutComputing() {
+        create("Talk 1", 60);
+        read(SchedulingStrategyType.GREEDY);
+        ConferenceAgendaCache otherNode = new ConferenceAgendaCache(conferenceAgendaUtil, agendaStore, eventKey -> SessionLayout.DEFAULT, ObservationRegistry.NOOP, AgendaMaterializer.NONE, MAX_EVENTS);
+        int loadsBefore = loads.get();
+
+        CachedAgenda shared = otherNode.getCurrentEntryIfPresent(EVENT, SchedulingStrategyType.GREEDY);
+        assertNotNull(shared, "The agenda of the current version should be found in the store");
+        assertEquals(conferenceAgendaCache.getEntryIfPresent(EVENT, SchedulingStrategyType.GREEDY).eTag(), shared.eTag(), "Both nodes should validate the same ETag");
+        assertNull(otherNode.getCurrentEntryIfPresent(EVENT, SchedulingStrategyType.FIRST_FIT_DECREASING), "An agenda that was never computed should not be computed");
+        assertEquals(loadsBefore, loads.get(), "No presentations should be loaded");
+
+        agendaStore.nextVersion(EVENT);
+        assertNull(otherNode.getCurrentEntryIfPresent(EVENT, SchedulingStrategyType.GREEDY), "An agenda of an older version should not be returned");
+    }
+
+    @Test
+    public void freshNodeReadsMaterializedAgendaWithoutLoading() {
+        List<CachedAgenda> written = new ArrayList<>();
+        AgendaMaterializer materializer = new AgendaMaterializer() {
+            @Override
+            public CachedAgenda read(String eventKey, SchedulingStrategyType strategyType, long version, SessionLayout sessionLayout) {
+                return written.isEmpty() ? null : written.get(written.size() - 1);
+            }
+
+            @Override
+            public void write(String eventKey, SchedulingStrategyType strategyType, AgendaLayout layout, List<PresentationInfoDTO> presentations) {
+                written.add(new CachedAgenda(0, new GetConferenceAgendaResponseDTO(layout.toTrackResponses()), null,
+                        presentations.size(), layout.getScheduledMinutes(), 1L));
+            }
+        };
+        for (int i = 0; i < 10; i++) {
+            presentations.add(new PresentationInfoDTO("Talk " + i, 60));
+        }
+
+        ConferenceAgendaCache node = new ConferenceAgendaCache(conferenceAgendaUtil, agendaStore, eventKey -> SessionLayout.DEFAULT, ObservationRegistry.NOOP, materializer, MAX_EVENTS);
+        GetConferenceAgendaResponseDTO computed = read(node, SchedulingStrategyType.GREEDY);
+        ConferenceAgendaCache freshNode = new ConferenceAgendaCache(conferenceAgendaUtil, new InMemoryAgendaStore(MAX_EVENTS), eventKey -> SessionLayout.DEFAULT, ObservationRegistry.NOOP, materializer, MAX_EVENTS);
+        GetConferenceAgendaResponseDTO materialized = read(freshNode, SchedulingStrategyType.GREEDY);
+
+        assertEquals(1, written.size(), "Computed agenda should be materialized once");
+        assertEquals(1, loads.get(), "Fresh node should not load the presentations");
+        assertEquals(computed, materialized, "Materialized agenda should equal the computed one");
+    }
+}
@@ -0,0 +1,170 @@
+package com.n11.eventflow.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.n11.eventflow.model.dto.Agenda.Response.GetConferenceAgendaResponseDTO;
+import com.n11.eventflow.model.dto.Presentation.PresentationInfoDTO;
+import com.n11.eventflow.util.ConferenceAgendaUtil;
+import com.n11.eventflow.util.scheduling.SchedulingStrategyType;
+import com.n11.eventflow.util.scheduling.SessionLayout;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.listener.Topic;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class RedisAgendaStoreTests {
+
+    private static final String EVENT = "event-a";
+    private static final String OTHER_EVENT = "event-b";
+    private static final long TTL_MILLIS = 60_000;
+    private static final int MAX_EVENTS = 100;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private Map<String, String> redis;
+    private StringRedisTemplate redisTemplate;
+    private ValueOperations<String, String> valueOperations;
+    private RedisMessageListenerContainer listenerContainer;
+    private RedisAgendaStore agendaStore;
+    private List<PresentationInfoDTO> presentations;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        redis = new ConcurrentHashMap<>();
+        redisTemplate = mock(StringRedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        listenerContainer = mock(RedisMessageListenerContainer.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(anyString())).thenAnswer(invocation -> redis.get(invocation.<String>getArgument(0)));
+        doAnswer(invocation -> redis.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(valueOperations).set(anyString(), anyString(), any(Duration.class));
+        when(valueOperations.increment(anyString()))
+                .thenAnswer(invocation -> Long.parseLong(redis.merge(invocation.getArgument(0), "1", (a, b) -> String.valueOf(Long.parseLong(a) + 1))));
+        agendaStore = new RedisAgendaStore(redisTemplate, listenerContainer, objectMapper, TTL_MILLIS);
+
+        presentations = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            presentations.add(new PresentationInfoDTO("Talk " + i, 30 + 5 * (i % 4)));
+        }
+        loads = new AtomicInteger();
+    }
+
+    private List<PresentationInfoDTO> loadPresentations() {
+        loads.incrementAndGet();
+        return presentations;
+    }
+
+    private ConferenceAgendaCache newNode(AgendaStore store) {
+        return new ConferenceAgendaCache(new ConferenceAgendaUtil(), store, eventKey -> SessionLayout.DEFAULT, ObservationRegistry.NOOP, AgendaMaterializer.NONE, MAX_EVENTS);
+    }
+
+    @Test
+    public void testVersionsAreCountedPerEvent() {
+        agendaStore.nextVersion(EVENT);
+        agendaStore.nextVersion(EVENT);
+        agendaStore.nextVersion(OTHER_EVENT);
+
+        assertEquals("2", redis.get("eventflow:version:" + EVENT), "Versions should be stored under the event key");
+        assertEquals(2, agendaStore.currentVersion(EVENT), "Each event should have its own version");
+        assertEquals(1, agendaStore.currentVersion(OTHER_EVENT), "Each event should have its own version");
+        assertEquals(0, agendaStore.currentVersion("event-c"), "An event without presentations should be at version 0");
+    }
+
+    @Test
+    public void testAgendasAreSharedAsJsonWithAnExpiry() throws Exception {
+        agendaStore.nextVersion(EVENT);
+        GetConferenceAgendaResponseDTO computed = newNode(agendaStore).getOrCompute(EVENT, SchedulingStrategyType.GREEDY, this::loadPresentations);
+
+        String key = "eventflow:agenda:" + EVENT + ":GREEDY";
+        assertTrue(redis.containsKey(key), "The agenda should be stored under the event key and strategy");
+        verify(valueOperations).set(eq(key), anyString(), eq(Duration.ofMillis(TTL_MILLIS)));
+
+        CachedAgenda read = agendaStore.getAgenda(EVENT, SchedulingStrategyType.GREEDY);
+        assertEquals(1, read.getVersion(), "The agenda should keep its version");
+        assertEquals(objectMapper.writeValueAsString(computed), objectMapper.writeValueAsString(read.getResponse()), "The agenda should survive the JSON round-trip");
+
+        GetConferenceAgendaResponseDTO shared = newNode(agendaStore).getOrCompute(EVENT, SchedulingStrategyType.GREEDY, this::loadPresentations);
+        assertEquals(computed, shared, "Another node should serve the stored agenda");
+        assertEquals(1, loads.get(), "Another node should not load the presentations again");
+    }
+
+    @Test
+    public void testPresentationListsAreSharedAsJson() {
+        agendaStore.putPresentations(EVENT, new CachedPresentations(3, presentations));
+
+        assertTrue(redis.containsKey("eventflow:presentations:" + EVENT), "The presentations should be stored under the event key");
+        CachedPresentations read = agendaStore.getPresentations(EVENT);
+        assertEquals(3, read.getVersion(), "The presentations should keep their version");
+        assertEquals(presentations, read.getPresentations(), "The presentations should survive the JSON round-trip");
+    }
+
+    @Test
+    public void testUnreadableEntriesAreTreatedAsMissing() {
+        redis.put("eventflow:agenda:" + EVENT + ":GREEDY", "{not json");
+
+        assertNull(agendaStore.getAgenda(EVENT, SchedulingStrategyType.GREEDY), "An entry that cannot be parsed should be treated as missing");
+    }
+
+    @Test
+    public void testInvalidationsArePublishedAsEventKeyAndVersion() {
+        ArgumentCaptor<MessageListener> listener = ArgumentCaptor.forClass(MessageListener.class);
+        List<String> received = new ArrayList<>();
+        agendaStore.subscribe((eventKey, version) -> received.add(eventKey + "@" + version));
+        verify(listenerContainer).addMessageListener(listener.capture(), any(Topic.class));
+
+        agendaStore.publishInvalidation("event_a-1", 5);
+        ArgumentCaptor<String> sent = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).convertAndSend(eq("eventflow:invalidation"), sent.capture());
+        assertEquals("event_a-1:5", sent.getValue(), "Invalidations should be sent as eventKey:version");
+
+        Message message = mock(Message.class);
+        when(message.getBody()).thenReturn(sent.getValue().getBytes(StandardCharsets.UTF_8));
+        listener.getValue().onMessage(message, null);
+
+        assertEquals(List.of("event_a-1@5"), received, "The listener should receive the event key and version");
+    }
+
+    @Test
+    public void testUnreachableRedisOnlyCostsARecomputation() {
+        RedisConnectionFailureException failure = new RedisConnectionFailureException("Connection refused");
+        when(valueOperations.get(anyString())).thenThrow(failure);
+        doThrow(failure).when(valueOperations).set(anyString(), anyString(), any(Duration.class));
+        when(valueOperations.increment(anyString())).thenThrow(failure);
+        when(redisTemplate.convertAndSend(anyString(), any())).thenThrow(failure);
+
+        assertEquals(AgendaStore.UNAVAILABLE_VERSION, agendaStore.currentVersion(EVENT), "An unreadable version should be reported as unavailable");
+        assertEquals(AgendaStore.UNAVAILABLE_VERSION, agendaStore.nextVersion(EVENT), "A failed increment should be reported as unavailable");
+        assertNull(agendaStore.getAgenda(EVENT, SchedulingStrategyType.GREEDY), "An unreadable agenda should be treated as missing");
+
+        ConferenceAgendaCache node = newNode(agendaStore);
+        AtomicInteger persisted = new AtomicInteger();
+        node.createPresentation(EVENT, new PresentationInfoDTO("Late talk", 30), persisted::incrementAndGet);
+        assertEquals(1, persisted.get(), "The presentation should be stored");
+
+        GetConferenceAgendaResponseDTO first = node.getOrCompute(EVENT, SchedulingStrategyType.GREEDY, this::loadPresentations);
+        GetConferenceAgendaResponseDTO second = node.getOrCompute(EVENT, SchedulingStrategyType.GREEDY, this::loadPresentations);
+        assertEquals(first, second, "The agenda should still be served");
+        assertEquals(2, loads.get(), "Without a version the agenda should not be kept in the near-cache");
+    }
+}
@@ -0,0 +1,139 @@
+package com.n11.eventflow.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.n11.eventflow.cache.CachedAgenda;
+import com.n11.eventflow.model.dto.Agenda.Response.GetConferenceAgendaResponseDTO;
+import com.n11.eventflow.model.dto.Presentation.PresentationInfoDTO;
+import com.n11.eventflow.service.AgendaBroadcaster;
+import com.n11.eventflow.service.ConferenceAgendaService;
+import com.n11.eventflow.util.ConferenceAgendaUtil;
+import com.n11.eventflow.util.scheduling.AgendaLayout;
+import com.n11.eventflow.util.scheduling.SchedulingStrategyType;
+import com.n11.eventflow.util.scheduling.SessionLayout;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.Compression;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.ResourcePropertySource;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Sends requests to GET /agenda through an embedded Tomcat configured with the
+ * server.compression settings of application.properties.
+ */
+public class ConferenceAgendaControllerTests {
+
+    private ConferenceAgendaService conferenceAgendaService;
+    private CachedAgenda agenda;
+
+    @Configuration
+    @EnableWebMvc
+    static class WebConfig {
+    }
+
+    @BeforeEach
+    public void setUp() {
+        List<PresentationInfoDTO> presentations = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            presentations.add(new PresentationInfoDTO("Talk " + i, 30 + (i % 4) * 15));
+        }
+        AgendaLayout layout = new ConferenceAgendaUtil().layoutSessions(presentations, SchedulingStrategyType.GREEDY, SessionLayout.DEFAULT);
+        agenda = new CachedAgenda(3, new GetConferenceAgendaResponseDTO(layout.toTrackResponses()), null,
+                presentations.size(), layout.getScheduledMinutes(), System.currentTimeMillis());
+
+        conferenceAgendaService = mock(ConferenceAgendaService.class);
+        when(conferenceAgendaService.getCachedConferenceAgenda("default", SchedulingStrategyType.GREEDY)).thenReturn(agenda);
+    }
+
+    private WebServer start() throws IOException {
+        Compression compression = new Binder(ConfigurationPropertySources.from(new ResourcePropertySource(new ClassPathResource("application.properties"))))
+                .bind("server.compression", Compression.class)
+                .orElseThrow(() -> new IllegalStateException("server.compression is not configured"));
+        TomcatServletWebServerFactory factory = new TomcatServletWebServerFactory(0);
+        factory.setCompression(compression);
+
+        AnnotationConfigWebApplicationContext context = new AnnotationConfigWebApplicationContext();
+        context.register(WebConfig.class);
+        context.addBeanFactoryPostProcessor(beanFactory -> beanFactory.registerSingleton("conferenceAgendaController",
+                new ConferenceAgendaController(conferenceAgendaService, mock(AgendaBroadcaster.class), new ObjectMapper())));
+        WebServer server = factory.getWebServer(servletContext -> servletContext.addServlet("dispatcher", new DispatcherServlet(context)).addMapping("/"));
+        server.start();
+        return server;
+    }
+
+    private HttpResponse<byte[]> get(WebServer server, String... headers) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + "/agenda"));
+        if (headers.length > 0) {
+            request.headers(headers);
+        }
+        return HttpClient.newHttpClient().send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    @Test
+    public void testAgendaIsCompressedForClientsAcceptingGzip() throws Exception {
+        WebServer server = start();
+        try {
+            HttpResponse<byte[]> response = get(server, "Accept", "application/json", "Accept-Encoding", "gzip");
+
+            assertEquals(200, response.statusCode(), "Agenda should be returned");
+            assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(null), "Agenda should be compressed with gzip");
+            assertEquals(agenda.eTag(), response.headers().firstValue("ETag").orElse(null), "Compressed agenda should keep its ETag");
+            assertTrue(response.headers().allValues("Vary").stream().flatMap(vary -> Arrays.stream(vary.split(",")))
+                            .anyMatch(field -> field.trim().equalsIgnoreCase("Accept")),
+                    "Agenda should vary by its Accept header");
+        } finally {
+            server.destroy();
+        }
+    }
+
+    @Test
+    public void testMatchingETagIsAnsweredWithNotModified() throws Exception {
+        WebServer server = start();
+        try {
+            HttpResponse<byte[]> response = get(server, "Accept-Encoding", "gzip", "If-None-Match", agenda.eTag());
+
+            assertEquals(304, response.statusCode(), "Unchanged agenda should not be sent again");
+            assertEquals(0, response.body().length, "Not modified response should have no body");
+        } finally {
+            server.destroy();
+        }
+    }
+
+    @Test
+    public void testMatchingETagOfStoredAgendaIsAnsweredWithoutScheduling() throws Exception {
+        when(conferenceAgendaService.getCachedConferenceAgendaIfPresent("default", SchedulingStrategyType.GREEDY)).thenReturn(agenda);
+        WebServer server = start();
+        try {
+            HttpResponse<byte[]> response = get(server, "If-None-Match", agenda.eTag());
+
+            assertEquals(304, response.statusCode(), "Unchanged agenda should not be sent again");
+            verify(conferenceAgendaService, never()).getCachedConferenceAgenda(anyString(), any());
+        } finally {
+            server.destroy();
+        }
+    }
+}
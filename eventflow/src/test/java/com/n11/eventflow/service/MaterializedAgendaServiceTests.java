@@ -0,0 +1,283 @@
+package com.n11.eventflow.service;
+
+import com.n11.eventflow.cache.CachedAgenda;
+import com.n11.eventflow.model.dto.Presentation.PresentationInfoDTO;
+import com.n11.eventflow.model.entity.AgendaMaterialization;
+import com.n11.eventflow.model.entity.AgendaMaterializationId;
+import com.n11.eventflow.model.entity.AgendaSlot;
+import com.n11.eventflow.model.entity.SessionBlockType;
+import com.n11.eventflow.model.entity.SessionTemplateBlock;
+import com.n11.eventflow.model.projection.PresentationSummary;
+import com.n11.eventflow.model.projection.PresentationWatermark;
+import com.n11.eventflow.repository.AgendaMaterializationRepository;
+import com.n11.eventflow.repository.AgendaSlotRepository;
+import com.n11.eventflow.repository.PresentationRepository;
+import com.n11.eventflow.util.ConferenceAgendaUtil;
+import com.n11.eventflow.util.scheduling.AgendaLayout;
+import com.n11.eventflow.util.scheduling.SchedulingStrategyType;
+import com.n11.eventflow.util.scheduling.SessionLayout;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs MaterializedAgendaService against repositories that keep their rows in lists, with the
+ * presentations of the event stored under the sequence numbers the database would assign.
+ */
+public class MaterializedAgendaServiceTests {
+
+    private static final String EVENT = "event-a";
+
+    private record StoredPresentation(long sequenceNumber, PresentationInfoDTO presentation) {
+    }
+
+    private List<StoredPresentation> presentations;
+    private List<AgendaSlot> slots;
+    private Map<AgendaMaterializationId, AgendaMaterialization> materializations;
+    private ConferenceAgendaUtil conferenceAgendaUtil;
+    private MaterializedAgendaService materializedAgendaService;
+
+    @BeforeEach
+    public void setUp() {
+        presentations = new ArrayList<>();
+        slots = new ArrayList<>();
+        materializations = new HashMap<>();
+        conferenceAgendaUtil = new ConferenceAgendaUtil();
+
+        AgendaSlotRepository agendaSlotRepository = mock(AgendaSlotRepository.class);
+        when(agendaSlotRepository.findAgenda(anyString(), any())).thenAnswer(invocation -> slots.stream()
+                .filter(slot -> slot.getEventKey().equals(invocation.getArgument(0)) && slot.getStrategy() == invocation.getArgument(1))
+                .sorted(Comparator.comparingInt(AgendaSlot::getTrack).thenComparingInt(AgendaSlot::getPosition))
+                .toList());
+        when(agendaSlotRepository.deleteTracksFrom(anyString(), any(), anyInt())).thenAnswer(invocation -> {
+            slots.removeIf(slot -> slot.getEventKey().equals(invocation.getArgument(0)) && slot.getStrategy() == invocation.getArgument(1)
+                    && slot.getTrack() >= (int) invocation.getArgument(2));
+            return 0;
+        });
+        when(agendaSlotRepository.saveAll(any())).thenAnswer(invocation -> {
+            Iterable<AgendaSlot> saved = invocation.getArgument(0);
+            saved.forEach(slots::add);
+            return List.of();
+        });
+        when(agendaSlotRepository.deleteByEvent(anyString())).thenAnswer(invocation -> {
+            slots.removeIf(slot -> slot.getEventKey().equals(invocation.getArgument(0)));
+            return 0;
+        });
+
+        AgendaMaterializationRepository agendaMaterializationRepository = mock(AgendaMaterializationRepository.class);
+        when(agendaMaterializationRepository.findById(any())).thenAnswer(invocation -> Optional.ofNullable(materializations.get(invocation.getArgument(0))));
+        when(agendaMaterializationRepository.save(any())).thenAnswer(invocation -> {
+            AgendaMaterialization materialization = invocation.getArgument(0);
+            materializations.put(new AgendaMaterializationId(materialization.getEventKey(), materialization.getStrategy()), materialization);
+            return materialization;
+        });
+        when(agendaMaterializationRepository.deleteByEvent(anyString())).thenAnswer(invocation -> {
+            materializations.keySet().removeIf(id -> id.getEventKey().equals(invocation.getArgument(0)));
+            return 0;
+        });
+
+        PresentationRepository presentationRepository = mock(PresentationRepository.class);
+        when(presentationRepository.findWatermark(EVENT)).thenAnswer(invocation -> watermark());
+        when(presentationRepository.findPageBetween(anyString(), anyLong(), anyLong(), any(Limit.class))).thenAnswer(invocation -> presentations.stream()
+                .filter(stored -> stored.sequenceNumber() > (long) invocation.getArgument(1) && stored.sequenceNumber() <= (long) invocation.getArgument(2))
+                .sorted(Comparator.comparingLong(StoredPresentation::sequenceNumber))
+                .map(MaterializedAgendaServiceTests::summary)
+                .toList());
+
+        materializedAgendaService = new MaterializedAgendaService(agendaSlotRepository, agendaMaterializationRepository, presentationRepository,
+                conferenceAgendaUtil, mock(EntityManager.class), new TransactionTemplate(mock(PlatformTransactionManager.class)));
+    }
+
+    private PresentationWatermark watermark() {
+        long count = presentations.size();
+        long last = presentations.stream().mapToLong(StoredPresentation::sequenceNumber).max().orElse(0);
+        return new PresentationWatermark() {
+            @Override
+            public long getCount() {
+                return count;
+            }
+
+            @Override
+            public long getLastSequenceNumber() {
+                return last;
+            }
+        };
+    }
+
+    private static PresentationSummary summary(StoredPresentation stored) {
+        return new PresentationSummary() {
+            @Override
+            public UUID getId() {
+                return stored.presentation().getId();
+            }
+
+            @Override
+            public String getName() {
+                return stored.presentation().getName();
+            }
+
+            @Override
+            public int getDuration() {
+                return stored.presentation().getDuration();
+            }
+
+            @Override
+            public long getSequenceNumber() {
+                return stored.sequenceNumber();
+            }
+        };
+    }
+
+    private void store(long sequenceNumber, int duration) {
+        presentations.add(new StoredPresentation(sequenceNumber, new PresentationInfoDTO(UUID.randomUUID(), "Talk " + sequenceNumber, duration)));
+    }
+
+    private void storeTalks(int count) {
+        for (int i = 1; i <= count; i++) {
+            store(i, 15 + (i % 6) * 15);
+        }
+    }
+
+    /**
+     * The stored presentations in the order a recomputation reads them.
+     */
+    private List<PresentationInfoDTO> submitted() {
+        return presentations.stream()
+                .sorted(Comparator.comparingLong(StoredPresentation::sequenceNumber))
+                .map(StoredPresentation::presentation)
+                .toList();
+    }
+
+    private AgendaLayout materialize(SchedulingStrategyType strategyType, SessionLayout sessionLayout) {
+        List<PresentationInfoDTO> loaded = submitted();
+        AgendaLayout layout = conferenceAgendaUtil.layoutSessions(loaded, strategyType, sessionLayout);
+        materializedAgendaService.write(EVENT, strategyType, layout, loaded);
+        return layout;
+    }
+
+    @Test
+    public void testMatchingWatermarkReadsStoredAgenda() {
+        storeTalks(40);
+        AgendaLayout layout = materialize(SchedulingStrategyType.BEST_FIT_DECREASING, SessionLayout.DEFAULT);
+
+        CachedAgenda agenda = materializedAgendaService.read(EVENT, SchedulingStrategyType.BEST_FIT_DECREASING, 7, SessionLayout.DEFAULT);
+
+        assertNotNull(agenda, "An up to date agenda should be read back");
+        assertEquals(7, agenda.getVersion(), "The agenda should be stamped with the requested version");
+        assertEquals(layout.toTrackResponses(), agenda.getResponse().getConferenceAgenda(), "The stored agenda should equal the computed one");
+        assertEquals(40, agenda.getPresentationCount(), "The agenda should cover every presentation");
+        assertEquals(layout.getScheduledMinutes(), agenda.getScheduledMinutes(), "The scheduled minutes should be kept");
+    }
+
+    @Test
+    public void testNewPresentationsAreAppendedToGreedyAgenda() {
+        storeTalks(40);
+        materialize(SchedulingStrategyType.GREEDY, SessionLayout.DEFAULT);
+        store(41, 60);
+        store(42, 30);
+        store(43, 45);
+
+        CachedAgenda agenda = materializedAgendaService.read(EVENT, SchedulingStrategyType.GREEDY, 2, SessionLayout.DEFAULT);
+        AgendaLayout recomputed = conferenceAgendaUtil.layoutSessions(submitted(), SchedulingStrategyType.GREEDY, SessionLayout.DEFAULT);
+
+        assertNotNull(agenda, "The GREEDY agenda should be brought up to date");
+        assertEquals(recomputed.toTrackResponses(), agenda.getResponse().getConferenceAgenda(), "The appended agenda should equal a recomputation");
+        assertEquals(43, agenda.getPresentationCount(), "The agenda should cover the new presentations");
+        assertEquals(recomputed.getScheduledMinutes(), agenda.getScheduledMinutes(), "The scheduled minutes should include the new presentations");
+
+        CachedAgenda reread = materializedAgendaService.read(EVENT, SchedulingStrategyType.GREEDY, 3, SessionLayout.DEFAULT);
+        assertNotNull(reread, "The appended agenda should have been stored");
+        assertEquals(recomputed.toTrackResponses(), reread.getResponse().getConferenceAgenda(), "The stored tracks should have been replaced");
+    }
+
+    @Test
+    public void testLateCommitWithLowerSequenceNumberIsRecomputed() {
+        store(1, 60);
+        store(2, 45);
+        store(4, 30);
+        materialize(SchedulingStrategyType.GREEDY, SessionLayout.DEFAULT);
+        // Sequence number 3 was assigned before 4 but committed after the agenda was materialized
+        store(3, 45);
+
+        assertNull(materializedAgendaService.read(EVENT, SchedulingStrategyType.GREEDY, 2, SessionLayout.DEFAULT),
+                "A presentation below the watermark should force a recomputation");
+
+        store(5, 30);
+        assertNull(materializedAgendaService.read(EVENT, SchedulingStrategyType.GREEDY, 3, SessionLayout.DEFAULT),
+                "A late presentation should not be skipped by the append");
+    }
+
+    @Test
+    public void testPackingStrategyWithNewPresentationsIsRecomputed() {
+        storeTalks(20);
+        materialize(SchedulingStrategyType.FIRST_FIT_DECREASING, SessionLayout.DEFAULT);
+        store(21, 60);
+
+        assertNull(materializedAgendaService.read(EVENT, SchedulingStrategyType.FIRST_FIT_DECREASING, 2, SessionLayout.DEFAULT),
+                "A packing strategy should be recomputed when presentations were added");
+    }
+
+    @Test
+    public void testAgendaOfAnotherLayoutIsRecomputed() {
+        SessionLayout halfDay = SessionLayout.compile(List.of(
+                new SessionTemplateBlock(SessionBlockType.SESSION, null, 9 * 60, 90),
+                new SessionTemplateBlock(SessionBlockType.SESSION, null, 11 * 60, 90)
+        ));
+        storeTalks(20);
+        // A computation that started before the template change writes its agenda after the evict
+        materializedAgendaService.evict(EVENT);
+        materialize(SchedulingStrategyType.GREEDY, SessionLayout.DEFAULT);
+
+        assertNull(materializedAgendaService.read(EVENT, SchedulingStrategyType.GREEDY, 2, halfDay),
+                "An agenda laid out with the previous template should not be served");
+
+        store(21, 60);
+        assertNull(materializedAgendaService.read(EVENT, SchedulingStrategyType.GREEDY, 3, halfDay),
+                "An agenda laid out with the previous template should not be appended to");
+    }
+
+    @Test
+    public void testEvictDropsMaterializedAgendas() {
+        storeTalks(20);
+        materialize(SchedulingStrategyType.GREEDY, SessionLayout.DEFAULT);
+        materialize(SchedulingStrategyType.BEST_FIT_DECREASING, SessionLayout.DEFAULT);
+
+        materializedAgendaService.evict(EVENT);
+
+        assertNull(materializedAgendaService.read(EVENT, SchedulingStrategyType.GREEDY, 2, SessionLayout.DEFAULT), "The GREEDY agenda should be dropped");
+        assertNull(materializedAgendaService.read(EVENT, SchedulingStrategyType.BEST_FIT_DECREASING, 2, SessionLayout.DEFAULT), "The BFD agenda should be dropped");
+        assertTrue(slots.isEmpty(), "Every slot of the event should be deleted");
+    }
+
+    @Test
+    public void testAgendaOfOutdatedPresentationsIsNotWritten() {
+        storeTalks(20);
+        List<PresentationInfoDTO> loaded = submitted();
+        store(21, 60);
+
+        materializedAgendaService.write(EVENT, SchedulingStrategyType.GREEDY,
+                conferenceAgendaUtil.layoutSessions(loaded, SchedulingStrategyType.GREEDY, SessionLayout.DEFAULT), loaded);
+
+        assertTrue(materializations.isEmpty(), "An agenda missing a stored presentation should not be materialized");
+        assertTrue(slots.isEmpty(), "No slot should be written");
+    }
+}
@@ -0,0 +1,47 @@
+package com.n11.eventflow.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoundedMapTests {
+
+    @Test
+    public void testMapNeverGrowsBeyondMaxSize() {
+        BoundedMap<String, Integer> map = new BoundedMap<>(100);
+        for (int i = 0; i < 10_000; i++) {
+            map.computeIfAbsent("event-" + i, key -> 0);
+        }
+
+        assertTrue(map.size() <= 100, "Map should hold at most 100 entries, but holds " + map.size());
+        assertNotNull(map.get("event-9999"), "The newest entry should be kept");
+        assertNull(map.get("event-0"), "The oldest entry should be dropped");
+    }
+
+    @Test
+    public void testRecentlyReadEntriesAreKept() throws InterruptedException {
+        BoundedMap<String, Integer> map = new BoundedMap<>(10);
+        for (int i = 0; i < 10; i++) {
+            map.put("event-" + i, i);
+        }
+        Thread.sleep(5);
+        map.get("event-0");
+
+        map.put("event-10", 10);
+
+        assertEquals(Integer.valueOf(0), map.get("event-0"), "A recently read entry should be kept");
+        assertNull(map.get("event-1"), "The least recently used entry should be dropped");
+        assertEquals(Integer.valueOf(10), map.get("event-10"), "The inserted entry should be kept");
+    }
+
+    @Test
+    public void testEntriesThatAreNotEvictableAreKept() {
+        BoundedMap<String, Integer> map = new BoundedMap<>(10, value -> value != 0);
+        for (int i = 0; i < 100; i++) {
+            map.put("event-" + i, i);
+        }
+
+        assertEquals(Integer.valueOf(0), map.get("event-0"), "An entry that may not be dropped should be kept");
+        assertTrue(map.size() <= 11, "Every other entry should count against the bound");
+    }
+}
@@ -4,6 +4,13 @@ import com.n11.eventflow.constants.CommonConstants;
 import com.n11.eventflow.model.dto.Agenda.ConferenceAgendaUtilDTO;
 import com.n11.eventflow.model.dto.Agenda.Response.TrackResponseDTO;
 import com.n11.eventflow.model.dto.Presentation.PresentationInfoDTO;
+import com.n11.eventflow.model.entity.SessionBlockType;
+import com.n11.eventflow.model.entity.SessionTemplate;
+import com.n11.eventflow.model.entity.SessionTemplateBlock;
+import com.n11.eventflow.util.scheduling.AgendaLayout;
+import com.n11.eventflow.util.scheduling.SchedulingStrategyType;
+import com.n11.eventflow.util.scheduling.SessionLayout;
+import com.n11.eventflow.util.scheduling.TrackPlan;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,6 +22,7 @@ import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -142,4 +150,67 @@ public class ConferenceAgendaUtilTests {
         // Networking event should not be present due to afternoon talk's duration
         assertEquals("Afternoon Talk", scheduledTalks.get(scheduledTalks.size() - 1).getName(), "Networking event should not be scheduled");
     }
+
+    @Test
+    public void testStreamSessionsEmitsTheSameTracksAsAllocateSessions() {
+        List<PresentationInfoDTO> manyPresentations = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            manyPresentations.add(new PresentationInfoDTO("Talk " + i, 5 + (i * 37) % 236));
+        }
+        List<TrackResponseDTO> streamedTracks = new ArrayList<>();
+        conferenceAgendaUtil.streamSessions(manyPresentations.iterator(), streamedTracks::add);
+
+        assertEquals(conferenceAgendaUtil.allocateSessions(manyPresentations), streamedTracks, "Streamed tracks should match the greedy agenda");
+    }
+
+    @Test
+    public void testGreedyLayoutMatchesPlannedLayout() {
+        List<PresentationInfoDTO> manyPresentations = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            manyPresentations.add(new PresentationInfoDTO("Talk " + i, 5 + (i * 37) % 236));
+        }
+        List<TrackPlan> plans = conferenceAgendaUtil.planSessions(manyPresentations, SchedulingStrategyType.GREEDY);
+        AgendaLayout layout = conferenceAgendaUtil.layoutSessions(manyPresentations, SchedulingStrategyType.GREEDY);
+
+        assertEquals(conferenceAgendaUtil.layoutTracks(plans), layout.toTrackResponses(), "The primitive greedy layout should match the planned tracks");
+        assertEquals(plans.get(plans.size() - 1), layout.toTrackPlan(layout.getTrackCount() - 1), "The last track should be rebuilt from the layout");
+    }
+
+    @Test
+    public void testNetworkingEventStartsAfterLateAfternoonSession() {
+        List<PresentationInfoDTO> latePresentations = Arrays.asList(
+                new PresentationInfoDTO("Morning Talk", 180),
+                new PresentationInfoDTO("Afternoon Talk", 210)
+        );
+        List<ConferenceAgendaUtilDTO> scheduledTalks = conferenceAgendaUtil.allocateSessions(latePresentations).get(0).getTrack();
+
+        ConferenceAgendaUtilDTO networkingEvent = scheduledTalks.get(scheduledTalks.size() - 1);
+        assertEquals("Networking Event", networkingEvent.getName(), "Networking event should close the track");
+        assertEquals("04:30PM", networkingEvent.getStartTime(), "Networking event should start when the last talk ends");
+    }
+
+    @Test
+    public void testCustomTemplateLaysOutBreaksAndNetworking() {
+        SessionTemplate template = new SessionTemplate(UUID.randomUUID(), "event-a", "Half day", List.of(
+                new SessionTemplateBlock(SessionBlockType.SESSION, null, 8 * 60, 90),
+                new SessionTemplateBlock(SessionBlockType.BREAK, "Coffee", 9 * 60 + 30, 30),
+                new SessionTemplateBlock(SessionBlockType.SESSION, null, 10 * 60, 120),
+                new SessionTemplateBlock(SessionBlockType.NETWORKING, "Drinks", 11 * 60 + 30, 60)
+        ), 0);
+        SessionLayout layout = conferenceAgendaUtil.compileTemplate(template);
+        assertSame(layout, conferenceAgendaUtil.compileTemplate(template), "An unchanged template should not be compiled again");
+
+        List<PresentationInfoDTO> presentations = Arrays.asList(
+                new PresentationInfoDTO("Keynote", 90),
+                new PresentationInfoDTO("Deep Dive", 100)
+        );
+        List<ConferenceAgendaUtilDTO> track = conferenceAgendaUtil.layoutSessions(presentations, SchedulingStrategyType.GREEDY, layout).toTrackResponses().get(0).getTrack();
+
+        assertEquals(4, track.size(), "Track should hold both talks, the break and the networking event");
+        assertEquals("08:00AM", track.get(0).getStartTime(), "First session should start at the template's start time");
+        assertEquals("Coffee", track.get(1).getName(), "Break should follow the first session");
+        assertEquals("10:00AM", track.get(2).getStartTime(), "Second session should start after the break");
+        assertEquals("Drinks", track.get(3).getName(), "Networking event should close the track");
+        assertEquals("11:40AM", track.get(3).getStartTime(), "Networking event should start when the last talk ends");
+    }
 }
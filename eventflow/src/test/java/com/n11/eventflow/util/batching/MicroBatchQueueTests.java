@@ -0,0 +1,112 @@
+package com.n11.eventflow.util.batching;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MicroBatchQueueTests {
+
+    @Test
+    public void testItemsAreFlushedInBatchesPerKey() throws Exception {
+        List<String> flushes = Collections.synchronizedList(new ArrayList<>());
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        try (MicroBatchQueue<String, String> queue = new MicroBatchQueue<>("test-writer", 100, 4, Duration.ofMillis(200),
+                item -> item.substring(0, 1), (key, items) -> flushes.add(key + items))) {
+            for (String item : List.of("a1", "b1", "a2", "a3", "a4", "a5")) {
+                futures.add(queue.submit(item));
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture<?>[]::new)).get(5, TimeUnit.SECONDS);
+        }
+
+        List<String> items = new ArrayList<>();
+        for (String flush : flushes) {
+            String key = flush.substring(0, 1);
+            for (String item : flush.substring(2, flush.length() - 1).split(", ")) {
+                assertTrue(item.startsWith(key), "A flush should only hold items of its key");
+                items.add(item);
+            }
+        }
+        assertEquals(6, items.size(), "Every item should be flushed exactly once");
+        assertTrue(flushes.size() < 6, "Items should be flushed together");
+        List<String> aItems = items.stream().filter(item -> item.startsWith("a")).toList();
+        assertEquals(List.of("a1", "a2", "a3", "a4", "a5"), aItems, "Items of a key should be flushed in submission order");
+    }
+
+    @Test
+    public void testFullQueueRejectsAndCloseFlushesWaitingItems() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> flushed = Collections.synchronizedList(new ArrayList<>());
+        MicroBatchQueue<String, String> queue = new MicroBatchQueue<>("test-writer", 2, 1, Duration.ZERO, item -> "", (key, items) -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            flushed.addAll(items);
+        });
+
+        CompletableFuture<Void> first = queue.submit("first");
+        // Wait until the writer is blocked in the flush of the first item
+        while (queue.size() > 0) {
+            Thread.onSpinWait();
+        }
+        CompletableFuture<Void> second = queue.submit("second");
+        CompletableFuture<Void> third = queue.submit("third");
+        assertThrows(RejectedExecutionException.class, () -> queue.submit("fourth"), "A full queue should reject new items");
+
+        release.countDown();
+        queue.close();
+        assertTrue(first.isDone() && second.isDone() && third.isDone(), "Close should flush every waiting item");
+        assertEquals(List.of("first", "second", "third"), flushed, "Items should be flushed in submission order");
+        assertThrows(RejectedExecutionException.class, () -> queue.submit("late"), "A closed queue should reject new items");
+    }
+
+    @Test
+    public void testFailedFlushFailsOnlyItsKey() throws Exception {
+        CompletableFuture<Void> failed;
+        CompletableFuture<Void> stored;
+        try (MicroBatchQueue<String, String> queue = new MicroBatchQueue<>("test-writer", 10, 10, Duration.ofMillis(100),
+                item -> item.substring(0, 1), (key, items) -> {
+            if (key.equals("a")) {
+                throw new IllegalStateException("Database unavailable");
+            }
+        })) {
+            failed = queue.submit("a1");
+            stored = queue.submit("b1");
+        }
+
+        ExecutionException e = assertThrows(ExecutionException.class, failed::get, "The items of a failed flush should fail");
+        assertTrue(e.getCause() instanceof IllegalStateException, "The failure should be the one the flush threw");
+        assertNull(stored.get(), "Other keys of the batch should still be stored");
+    }
+
+    @Test
+    public void testFailingKeyFailsOnlyItsItem() throws Exception {
+        CompletableFuture<Void> failed;
+        CompletableFuture<Void> stored;
+        try (MicroBatchQueue<String, String> queue = new MicroBatchQueue<>("test-writer", 10, 10, Duration.ofMillis(100), item -> {
+            if (item.isEmpty()) {
+                throw new IllegalArgumentException("No key");
+            }
+            return item.substring(0, 1);
+        }, (key, items) -> {
+        })) {
+            failed = queue.submit("");
+            stored = queue.submit("b1");
+        }
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS), "An item without a key should fail");
+        assertTrue(e.getCause() instanceof IllegalArgumentException, "The failure should be the one the key function threw");
+        assertNull(stored.get(5, TimeUnit.SECONDS), "The flusher should keep storing the other items");
+    }
+}
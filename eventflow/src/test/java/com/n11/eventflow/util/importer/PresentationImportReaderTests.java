@@ -0,0 +1,67 @@
+package com.n11.eventflow.util.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PresentationImportReaderTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private List<PresentationImportRow> read(String body, PresentationImportFormat format) throws IOException {
+        List<PresentationImportRow> rows = new ArrayList<>();
+        try (PresentationImportReader reader = new PresentationImportReader(new StringReader(body), format, objectMapper)) {
+            reader.forEachRemaining(rows::add);
+        }
+        return rows;
+    }
+
+    @Test
+    public void testJsonArrayReportsInvalidElementAndContinues() throws IOException {
+        List<PresentationImportRow> rows = read("[{\"name\":\"Talk 1\",\"duration\":30},{\"name\":\"Talk 2\",\"duration\":\"long\"},{\"name\":\"Talk 3\",\"duration\":45}]",
+                PresentationImportFormat.JSON);
+
+        assertEquals(3, rows.size(), "Every element should produce a row");
+        assertEquals("Talk 1", rows.get(0).getPresentation().getName());
+        assertNotNull(rows.get(1).getErrorMessage(), "A duration that is not a number should be reported");
+        assertEquals(2, rows.get(1).getRowNumber());
+        assertEquals(45, rows.get(2).getPresentation().getDuration());
+    }
+
+    @Test
+    public void testNdjsonSkipsBlankLines() throws IOException {
+        List<PresentationImportRow> rows = read("{\"name\":\"Talk 1\",\"duration\":30}\n\n{\"name\":\"Talk 2\",\"duration\":60}\n",
+                PresentationImportFormat.NDJSON);
+
+        assertEquals(2, rows.size());
+        assertEquals(60, rows.get(1).getPresentation().getDuration());
+    }
+
+    @Test
+    public void testMalformedJsonStopsTheImport() throws IOException {
+        List<PresentationImportRow> rows = read("[{\"name\":\"Talk 1\",\"duration\":30},{\"name\":\"Talk 2\" \"duration\":60},{\"name\":\"Talk 3\",\"duration\":45}]",
+                PresentationImportFormat.JSON);
+
+        assertEquals(2, rows.size(), "Nothing after the malformed element can be read");
+        assertEquals(2, rows.get(1).getRowNumber());
+        assertTrue(rows.get(1).getErrorMessage().startsWith("Malformed JSON"));
+    }
+
+    @Test
+    public void testCsvWithHeaderQuotedNamesAndErrors() throws IOException {
+        List<PresentationImportRow> rows = read("name,duration\nTalk 1,30\n\"Hello, \"\"World\"\"\",45\nno duration\nTalk 4,abc\n",
+                PresentationImportFormat.CSV);
+
+        assertEquals(4, rows.size(), "The header should not produce a row");
+        assertEquals(2, rows.get(0).getRowNumber(), "Row numbers should be line numbers");
+        assertEquals("Hello, \"World\"", rows.get(1).getPresentation().getName());
+        assertNotNull(rows.get(2).getErrorMessage());
+        assertNotNull(rows.get(3).getErrorMessage());
+    }
+}
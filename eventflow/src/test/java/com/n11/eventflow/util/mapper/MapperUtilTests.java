@@ -0,0 +1,51 @@
+package com.n11.eventflow.util.mapper;
+
+import com.n11.eventflow.model.dto.Presentation.PresentationInfoDTO;
+import com.n11.eventflow.model.dto.Presentation.Request.CreatePresentationRequestDTO;
+import com.n11.eventflow.model.dto.Presentation.Response.CreatePresentationResponseDTO;
+import com.n11.eventflow.model.entity.Presentation;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MapperUtilTests {
+
+    private final ModelMapper modelMapper = new ModelMapper();
+    private final MapperUtil mapperUtil = new MapperUtil(modelMapper);
+
+    @Test
+    public void testHandWrittenMappingsMatchModelMapper() {
+        Presentation presentation = new Presentation("Talk 1", 45);
+
+        assertEquals(modelMapper.map(presentation, PresentationInfoDTO.class),
+                mapperUtil.convertToDTO(presentation, PresentationInfoDTO.class),
+                "PresentationInfoDTO mapping should match the reflective mapping");
+        assertEquals(modelMapper.map(presentation, CreatePresentationResponseDTO.class),
+                mapperUtil.convertToDTO(presentation, CreatePresentationResponseDTO.class),
+                "CreatePresentationResponseDTO mapping should match the reflective mapping");
+    }
+
+    @Test
+    public void testConvertToDTOListKeepsOrder() {
+        List<Presentation> presentations = List.of(new Presentation("Talk 1", 30), new Presentation("Talk 2", 60));
+
+        List<PresentationInfoDTO> dtoList = mapperUtil.convertToDTOList(presentations, PresentationInfoDTO.class);
+
+        assertEquals(List.of(new PresentationInfoDTO("Talk 1", 30), new PresentationInfoDTO("Talk 2", 60)), dtoList,
+                "Every presentation should be mapped in order");
+        assertTrue(mapperUtil.convertToDTOList(List.of(), PresentationInfoDTO.class).isEmpty(), "An empty list should map to an empty list");
+    }
+
+    @Test
+    public void testUnregisteredPairsFallBackToModelMapper() {
+        CreatePresentationRequestDTO request = new CreatePresentationRequestDTO("Talk 1", 30);
+
+        Presentation presentation = mapperUtil.convertToEntity(request, Presentation.class);
+
+        assertEquals("Talk 1", presentation.getName(), "The name should be copied by ModelMapper");
+        assertEquals(30, presentation.getDuration(), "The duration should be copied by ModelMapper");
+    }
+}
@@ -0,0 +1,87 @@
+package com.n11.eventflow.util.scheduling;
+
+import com.n11.eventflow.model.dto.Agenda.ConferenceAgendaUtilDTO;
+import com.n11.eventflow.model.dto.Agenda.Response.AgendaDeltaResponseDTO;
+import com.n11.eventflow.model.dto.Agenda.Response.TrackDeltaDTO;
+import com.n11.eventflow.model.dto.Agenda.Response.TrackResponseDTO;
+import com.n11.eventflow.model.dto.Presentation.PresentationInfoDTO;
+import com.n11.eventflow.util.ConferenceAgendaUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AgendaDiffTests {
+
+    private final ConferenceAgendaUtil conferenceAgendaUtil = new ConferenceAgendaUtil();
+
+    private static List<PresentationInfoDTO> presentations(int count) {
+        List<PresentationInfoDTO> presentations = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            presentations.add(new PresentationInfoDTO("Talk " + i, 15 + (i * 37) % 106));
+        }
+        return presentations;
+    }
+
+    /**
+     * Applies a delta the way a subscriber does.
+     */
+    private static List<TrackResponseDTO> apply(List<TrackResponseDTO> tracks, AgendaDeltaResponseDTO delta) {
+        List<TrackResponseDTO> result = new ArrayList<>(tracks.subList(0, Math.min(tracks.size(), delta.getTrackCount())));
+        for (TrackDeltaDTO trackDelta : delta.getChangedTracks()) {
+            List<ConferenceAgendaUtilDTO> slots = trackDelta.getTrack() < result.size()
+                    ? new ArrayList<>(result.get(trackDelta.getTrack()).getTrack().subList(0, trackDelta.getFromSlot()))
+                    : new ArrayList<>();
+            slots.addAll(trackDelta.getSlots());
+            if (trackDelta.getTrack() < result.size()) {
+                result.set(trackDelta.getTrack(), new TrackResponseDTO(slots));
+            } else {
+                result.add(new TrackResponseDTO(slots));
+            }
+        }
+        return result;
+    }
+
+    @Test
+    public void testDeltaOfAnAddedPresentationRebuildsTheAgenda() {
+        List<PresentationInfoDTO> presentations = presentations(60);
+        List<TrackResponseDTO> before = conferenceAgendaUtil.allocateSessions(presentations);
+        for (int duration : new int[]{5, 30, 60, 240}) {
+            List<PresentationInfoDTO> added = new ArrayList<>(presentations);
+            added.add(new PresentationInfoDTO("New Talk", duration));
+            List<TrackResponseDTO> after = conferenceAgendaUtil.allocateSessions(added);
+
+            AgendaDeltaResponseDTO delta = AgendaDiff.diff(before, after);
+            assertEquals(after, apply(before, delta), "Applying the delta should give the new agenda for a " + duration + " min talk");
+            assertTrue(delta.getChangedTracks().stream().allMatch(track -> track.getTrack() >= before.size() - 1),
+                    "Only the last track or a new one should change for a " + duration + " min talk");
+            TrackDeltaDTO lastTrack = delta.getChangedTracks().get(0);
+            if (lastTrack.getTrack() == before.size() - 1) {
+                assertTrue(lastTrack.getFromSlot() > 0, "The unchanged slots of the last track should not be sent");
+            }
+        }
+    }
+
+    @Test
+    public void testDeltaOfARemovedTrack() {
+        List<PresentationInfoDTO> presentations = presentations(60);
+        List<TrackResponseDTO> before = conferenceAgendaUtil.allocateSessions(presentations);
+        List<TrackResponseDTO> after = conferenceAgendaUtil.allocateSessions(presentations.subList(0, 20));
+
+        AgendaDeltaResponseDTO delta = AgendaDiff.diff(before, after);
+        assertEquals(after.size(), delta.getTrackCount(), "The delta should report the new track count");
+        assertEquals(after, apply(before, delta), "Applying the delta should drop the tracks beyond the track count");
+    }
+
+    @Test
+    public void testSharedTracksAreNotSent() {
+        List<TrackResponseDTO> before = conferenceAgendaUtil.allocateSessions(presentations(60));
+        List<TrackResponseDTO> after = new ArrayList<>(before);
+
+        AgendaDeltaResponseDTO delta = AgendaDiff.diff(before, after);
+        assertTrue(delta.getChangedTracks().isEmpty(), "An unchanged agenda should have no changed tracks");
+        assertEquals(before.size(), delta.getTrackCount(), "An unchanged agenda should keep its track count");
+    }
+}
@@ -0,0 +1,77 @@
+package com.n11.eventflow.util.scheduling;
+
+import com.n11.eventflow.model.dto.Agenda.Response.TrackResponseDTO;
+import com.n11.eventflow.model.dto.Presentation.PresentationInfoDTO;
+import com.n11.eventflow.util.ConferenceAgendaUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AgendaSnapshotTests {
+
+    private final ConferenceAgendaUtil conferenceAgendaUtil = new ConferenceAgendaUtil();
+
+    private static List<PresentationInfoDTO> presentations(int count) {
+        List<PresentationInfoDTO> presentations = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            presentations.add(new PresentationInfoDTO(UUID.randomUUID(), "Talk " + i, 15 + (i * 37) % 106));
+        }
+        return presentations;
+    }
+
+    private AgendaSnapshot snapshot(List<PresentationInfoDTO> presentations, SchedulingStrategyType strategyType) {
+        return conferenceAgendaUtil.snapshotSessions(presentations, strategyType, SessionLayout.DEFAULT);
+    }
+
+    @Test
+    public void testAddedPresentationOnlyChangesTheLastTrack() {
+        List<PresentationInfoDTO> presentations = presentations(60);
+        AgendaSnapshot snapshot = snapshot(presentations, SchedulingStrategyType.GREEDY);
+        PresentationInfoDTO added = new PresentationInfoDTO("New Talk", 45);
+        AgendaSnapshot preview = snapshot.withPresentation(added);
+
+        List<PresentationInfoDTO> expected = new ArrayList<>(presentations);
+        expected.add(added);
+        assertEquals(conferenceAgendaUtil.allocateSessions(expected), preview.getTracks(), "Preview should match a full recomputation");
+        Map<Integer, TrackResponseDTO> changed = preview.changedTracks(snapshot);
+        assertFalse(changed.isEmpty(), "The new presentation should change a track");
+        assertTrue(changed.keySet().stream().allMatch(track -> track >= snapshot.getTracks().size() - 1), "Only the last track or a new one should change");
+        assertSame(snapshot.getTracks().get(0), preview.getTracks().get(0), "Unchanged tracks should be shared");
+    }
+
+    @Test
+    public void testRemovedPresentationReschedulesFromItsTrack() {
+        List<PresentationInfoDTO> presentations = presentations(60);
+        AgendaSnapshot snapshot = snapshot(presentations, SchedulingStrategyType.GREEDY);
+        int removed = 40;
+        AgendaSnapshot preview = snapshot.withoutPresentation(snapshot.indexOf(presentations.get(removed).getId()));
+
+        List<PresentationInfoDTO> expected = new ArrayList<>(presentations);
+        expected.remove(removed);
+        assertEquals(conferenceAgendaUtil.allocateSessions(expected), preview.getTracks(), "Preview should match a full recomputation");
+        int firstChanged = preview.changedTracks(snapshot).keySet().iterator().next();
+        for (int track = 0; track < firstChanged; track++) {
+            assertSame(snapshot.getTracks().get(track), preview.getTracks().get(track), "Tracks before the change should be shared");
+        }
+        assertEquals(60, snapshot.getPresentations().size(), "The snapshot itself should not change");
+    }
+
+    @Test
+    public void testPackingStrategyPreviewMatchesFullRecomputation() {
+        List<PresentationInfoDTO> presentations = presentations(60);
+        AgendaSnapshot snapshot = snapshot(presentations, SchedulingStrategyType.BEST_FIT_DECREASING);
+        AgendaSnapshot preview = snapshot.withoutPresentation(3).withPresentation(new PresentationInfoDTO("New Talk", 90));
+
+        List<PresentationInfoDTO> expected = new ArrayList<>(presentations);
+        expected.remove(3);
+        expected.add(new PresentationInfoDTO("New Talk", 90));
+        assertEquals(conferenceAgendaUtil.allocateSessions(expected, SchedulingStrategyType.BEST_FIT_DECREASING), preview.getTracks(),
+                "Preview should match a full recomputation");
+        assertEquals(-1, snapshot.indexOf(UUID.randomUUID()), "Unknown presentations should not be found");
+    }
+}
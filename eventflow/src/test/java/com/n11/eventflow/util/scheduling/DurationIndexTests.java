@@ -0,0 +1,38 @@
+package com.n11.eventflow.util.scheduling;
+
+import com.n11.eventflow.model.dto.Presentation.PresentationInfoDTO;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DurationIndexTests {
+
+    @Test
+    public void testLongestAtMostFindsTheLongestFittingDuration() {
+        DurationIndex index = new DurationIndex(240);
+        index.add(new PresentationInfoDTO("Short", 5));
+        index.add(new PresentationInfoDTO("Hour", 60));
+        index.add(new PresentationInfoDTO("Workshop", 200));
+
+        assertEquals(200, index.longestAtMost(240), "Longest duration should fit into a full afternoon");
+        assertEquals(200, index.longestAtMost(200), "A duration equal to the minutes should fit");
+        assertEquals(60, index.longestAtMost(199), "Lookup should skip to a lower word of the bitset");
+        assertEquals(5, index.longestAtMost(59), "Lookup should find the shortest duration");
+        assertEquals(0, index.longestAtMost(4), "Nothing should fit into fewer minutes than the shortest duration");
+        assertEquals(0, index.longestAtMost(0), "Nothing should fit into no minutes");
+    }
+
+    @Test
+    public void testPollKeepsSubmissionOrderAndClearsEmptyBuckets() {
+        DurationIndex index = new DurationIndex(240);
+        index.add(new PresentationInfoDTO("First", 64));
+        index.add(new PresentationInfoDTO("Second", 64));
+        index.add(new PresentationInfoDTO("Other", 30));
+
+        assertEquals("First", index.pollLongestAtMost(100).getName(), "Earliest presentation of a duration should be polled first");
+        assertEquals("Second", index.pollLongestAtMost(100).getName(), "Remaining presentation of the duration should be polled next");
+        assertEquals(30, index.longestAtMost(100), "Emptied duration should no longer be found");
+        assertEquals(1, index.size(), "One presentation should be pending");
+        assertNull(index.pollLongestAtMost(29), "Nothing should fit into 29 minutes");
+    }
+}
@@ -0,0 +1,43 @@
+package com.n11.eventflow.util.scheduling;
+
+import com.n11.eventflow.exception.InvalidParameterException;
+import com.n11.eventflow.model.dto.Presentation.PresentationInfoDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GreedyTrackBuilderTests {
+
+    @Test
+    public void testPushedPresentationsGiveTheGreedyTracks() {
+        Random random = new Random(7);
+        List<PresentationInfoDTO> presentations = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            presentations.add(new PresentationInfoDTO("Talk " + i, 5 + random.nextInt(236)));
+        }
+
+        GreedyTrackBuilder builder = new GreedyTrackBuilder(SessionLayout.DEFAULT);
+        List<TrackPlan> pushed = new ArrayList<>();
+        for (PresentationInfoDTO presentation : presentations) {
+            pushed.addAll(builder.add(presentation));
+        }
+        pushed.add(builder.finish());
+
+        assertEquals(new GreedyQueueStrategy().schedule(presentations, SessionLayout.DEFAULT), pushed,
+                "Pushed presentations should be scheduled like the queue");
+        assertNull(builder.finish(), "A finished builder should hold no track");
+    }
+
+    @Test
+    public void testUnschedulablePresentationIsRejected() {
+        GreedyTrackBuilder builder = new GreedyTrackBuilder(SessionLayout.DEFAULT);
+
+        assertThrows(InvalidParameterException.class, () -> builder.add(new PresentationInfoDTO("Marathon", 300)),
+                "A presentation longer than every session should be rejected");
+        assertNull(builder.finish(), "Nothing should have been scheduled");
+    }
+}
@@ -0,0 +1,171 @@
+package com.n11.eventflow.util.scheduling;
+
+import com.n11.eventflow.constants.CommonConstants;
+import com.n11.eventflow.exception.InvalidParameterException;
+import com.n11.eventflow.model.dto.Presentation.PresentationInfoDTO;
+import com.n11.eventflow.model.entity.SessionBlockType;
+import com.n11.eventflow.model.entity.SessionTemplateBlock;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SchedulingStrategyTests {
+
+    private static final Map<SchedulingStrategyType, SchedulingStrategy> STRATEGIES = Map.of(
+            SchedulingStrategyType.GREEDY, new GreedyQueueStrategy(),
+            SchedulingStrategyType.FIRST_FIT_DECREASING, new FirstFitDecreasingStrategy(),
+            SchedulingStrategyType.BEST_FIT_DECREASING, new BestFitDecreasingStrategy(),
+            SchedulingStrategyType.SUBSET_SUM, new SubsetSumStrategy(),
+            SchedulingStrategyType.LARGEST_FIT, new LargestFitStrategy(),
+            // Small partitions, so the test sets are split and rebalanced
+            SchedulingStrategyType.PARALLEL_BEST_FIT_DECREASING, new ParallelBestFitDecreasingStrategy(ForkJoinPool.commonPool(), 16)
+    );
+
+    /**
+     * Alternating long and short talks: the greedy queue closes the morning as soon as a long talk
+     * arrives, leaving most sessions half empty.
+     */
+    private List<PresentationInfoDTO> alternatingPresentations() {
+        List<PresentationInfoDTO> presentations = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            presentations.add(new PresentationInfoDTO("Long " + i, 150));
+            presentations.add(new PresentationInfoDTO("Short " + i, 30));
+            presentations.add(new PresentationInfoDTO("Medium " + i, 60));
+        }
+        return presentations;
+    }
+
+    @ParameterizedTest
+    @EnumSource(SchedulingStrategyType.class)
+    public void testEveryPresentationIsScheduledOnceWithinSessionLimits(SchedulingStrategyType type) {
+        List<PresentationInfoDTO> presentations = alternatingPresentations();
+        List<TrackPlan> tracks = STRATEGIES.get(type).schedule(presentations);
+
+        List<PresentationInfoDTO> scheduled = new ArrayList<>();
+        for (TrackPlan track : tracks) {
+            assertTrue(totalDuration(track.getSessions().get(0)) <= CommonConstants.MORNING_SESSION_DURATION, "Morning session should not overflow");
+            assertTrue(totalDuration(track.getSessions().get(1)) <= CommonConstants.AFTERNOON_SESSION_DURATION, "Afternoon session should not overflow");
+            assertEquals(2, track.getSessions().size(), "Every track should have a morning and an afternoon session");
+            scheduled.addAll(track.getSessions().get(0));
+            scheduled.addAll(track.getSessions().get(1));
+        }
+
+        assertEquals(presentations.size(), scheduled.size(), "Every presentation should be scheduled exactly once");
+        assertEquals(new HashSet<>(presentations).size(), new HashSet<>(scheduled).size(), "No presentation should be lost or duplicated");
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = SchedulingStrategyType.class, names = {"FIRST_FIT_DECREASING", "BEST_FIT_DECREASING", "SUBSET_SUM", "LARGEST_FIT", "PARALLEL_BEST_FIT_DECREASING"})
+    public void testPackingStrategiesUseFewerTracksThanGreedy(SchedulingStrategyType type) {
+        List<PresentationInfoDTO> presentations = alternatingPresentations();
+        int greedyTracks = STRATEGIES.get(SchedulingStrategyType.GREEDY).schedule(presentations).size();
+        int packedTracks = STRATEGIES.get(type).schedule(presentations).size();
+
+        assertTrue(packedTracks < greedyTracks, type + " should need fewer tracks than the greedy queue");
+    }
+
+    @Test
+    public void testSubsetSumFillsSessionsExactlyWhenPossible() {
+        List<PresentationInfoDTO> presentations = Arrays.asList(
+                new PresentationInfoDTO("Talk 1", 100),
+                new PresentationInfoDTO("Talk 2", 70),
+                new PresentationInfoDTO("Talk 3", 80),
+                new PresentationInfoDTO("Talk 4", 140),
+                new PresentationInfoDTO("Talk 5", 30)
+        );
+        List<TrackPlan> tracks = new SubsetSumStrategy().schedule(presentations);
+
+        assertEquals(1, tracks.size(), "Should be exactly one track");
+        assertEquals(CommonConstants.MORNING_SESSION_DURATION, totalDuration(tracks.get(0).getSessions().get(0)), "Morning session should be completely filled");
+        assertEquals(240, totalDuration(tracks.get(0).getSessions().get(1)), "Afternoon session should be completely filled");
+    }
+
+    @Test
+    public void testSubsetSumNeedsNoMoreTracksThanDecreasingFits() {
+        List<PresentationInfoDTO> presentations = new ArrayList<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            presentations.add(new PresentationInfoDTO("Talk " + i, 5 + random.nextInt(236)));
+        }
+        int subsetSumTracks = STRATEGIES.get(SchedulingStrategyType.SUBSET_SUM).schedule(presentations).size();
+
+        assertTrue(subsetSumTracks <= STRATEGIES.get(SchedulingStrategyType.FIRST_FIT_DECREASING).schedule(presentations).size(),
+                "Subset-sum should need no more tracks than first-fit-decreasing");
+        assertTrue(subsetSumTracks <= STRATEGIES.get(SchedulingStrategyType.BEST_FIT_DECREASING).schedule(presentations).size(),
+                "Subset-sum should need no more tracks than best-fit-decreasing");
+    }
+
+    @Test
+    public void testParallelSchedulingDoesNotDependOnParallelism() {
+        List<PresentationInfoDTO> presentations = new ArrayList<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            presentations.add(new PresentationInfoDTO("Talk " + i, 5 + random.nextInt(36) * 5));
+        }
+        ForkJoinPool singleThread = new ForkJoinPool(1);
+        ForkJoinPool fourThreads = new ForkJoinPool(4);
+        try {
+            List<TrackPlan> sequential = new ParallelBestFitDecreasingStrategy(singleThread, 100).schedule(presentations);
+            List<TrackPlan> parallel = new ParallelBestFitDecreasingStrategy(fourThreads, 100).schedule(presentations);
+
+            assertEquals(sequential, parallel, "The agenda should not depend on the number of threads");
+        } finally {
+            singleThread.shutdown();
+            fourThreads.shutdown();
+        }
+    }
+
+    @Test
+    public void testParallelSchedulingRejectsPresentationInAnyPartition() {
+        List<PresentationInfoDTO> presentations = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            presentations.add(new PresentationInfoDTO("Talk " + i, 30));
+        }
+        presentations.add(new PresentationInfoDTO("Marathon", CommonConstants.MAX_SESSION_DURATION + 1));
+
+        assertThrows(InvalidParameterException.class, () -> STRATEGIES.get(SchedulingStrategyType.PARALLEL_BEST_FIT_DECREASING).schedule(presentations));
+    }
+
+    @ParameterizedTest
+    @EnumSource(SchedulingStrategyType.class)
+    public void testPresentationLongerThanAnySessionIsRejected(SchedulingStrategyType type) {
+        List<PresentationInfoDTO> presentations = List.of(new PresentationInfoDTO("Marathon", CommonConstants.MAX_SESSION_DURATION + 1));
+        assertThrows(InvalidParameterException.class, () -> STRATEGIES.get(type).schedule(presentations));
+    }
+
+    @ParameterizedTest
+    @EnumSource(SchedulingStrategyType.class)
+    public void testSessionsFollowTheSessionLayout(SchedulingStrategyType type) {
+        // A half day with three one-hour sessions
+        SessionLayout layout = SessionLayout.compile(List.of(
+                new SessionTemplateBlock(SessionBlockType.SESSION, null, 9 * 60, 60),
+                new SessionTemplateBlock(SessionBlockType.BREAK, "Coffee", 10 * 60, 15),
+                new SessionTemplateBlock(SessionBlockType.SESSION, null, 10 * 60 + 15, 60),
+                new SessionTemplateBlock(SessionBlockType.SESSION, null, 11 * 60 + 15, 60)
+        ));
+        List<PresentationInfoDTO> presentations = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            presentations.add(new PresentationInfoDTO("Talk " + i, 15 + (i % 4) * 15));
+        }
+        List<TrackPlan> tracks = STRATEGIES.get(type).schedule(presentations, layout);
+
+        int scheduled = 0;
+        for (TrackPlan track : tracks) {
+            assertEquals(3, track.getSessions().size(), "Every track should have three sessions");
+            for (List<PresentationInfoDTO> session : track.getSessions()) {
+                assertTrue(totalDuration(session) <= 60, "No session should overflow");
+                scheduled += session.size();
+            }
+        }
+        assertEquals(presentations.size(), scheduled, "Every presentation should be scheduled exactly once");
+    }
+
+    private int totalDuration(List<PresentationInfoDTO> session) {
+        return session.stream().mapToInt(PresentationInfoDTO::getDuration).sum();
+    }
+}
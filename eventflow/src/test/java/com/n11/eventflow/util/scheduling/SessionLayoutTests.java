@@ -0,0 +1,66 @@
+package com.n11.eventflow.util.scheduling;
+
+import com.n11.eventflow.constants.CommonConstants;
+import com.n11.eventflow.exception.InvalidParameterException;
+import com.n11.eventflow.model.entity.SessionBlockType;
+import com.n11.eventflow.model.entity.SessionTemplateBlock;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SessionLayoutTests {
+
+    @Test
+    public void testDefaultLayoutMatchesCommonConstants() {
+        SessionLayout layout = SessionLayout.DEFAULT;
+
+        assertEquals(2, layout.getSessionCount(), "Default day should have a morning and an afternoon session");
+        assertEquals(CommonConstants.MORNING_SESSION_START_MINUTE, layout.getSessionStart(0), "Morning session should start at 9 AM");
+        assertEquals(CommonConstants.AFTERNOON_SESSION_START_MINUTE, layout.getSessionStart(1), "Afternoon session should start at 1 PM");
+        assertEquals(CommonConstants.MAX_SESSION_DURATION, layout.getMaxSessionDuration(), "Longest session should be the afternoon");
+        assertEquals(CommonConstants.MORNING_SESSION_DURATION + CommonConstants.AFTERNOON_SESSION_DURATION, layout.getTrackDuration(), "Track should hold both sessions");
+    }
+
+    @Test
+    public void testOverlappingBlocksAreRejected() {
+        List<SessionTemplateBlock> blocks = List.of(
+                new SessionTemplateBlock(SessionBlockType.SESSION, null, 9 * 60, 120),
+                new SessionTemplateBlock(SessionBlockType.BREAK, "Lunch", 10 * 60, 60)
+        );
+        assertThrows(InvalidParameterException.class, () -> SessionLayout.compile(blocks));
+    }
+
+    @Test
+    public void testNetworkingBeforeAnySessionIsRejected() {
+        List<SessionTemplateBlock> blocks = List.of(
+                new SessionTemplateBlock(SessionBlockType.NETWORKING, "Drinks", 8 * 60, 60),
+                new SessionTemplateBlock(SessionBlockType.SESSION, null, 9 * 60, 120)
+        );
+        assertThrows(InvalidParameterException.class, () -> SessionLayout.compile(blocks));
+    }
+
+    @Test
+    public void testTemplateWithoutSessionsIsRejected() {
+        List<SessionTemplateBlock> blocks = List.of(new SessionTemplateBlock(SessionBlockType.BREAK, "Lunch", 12 * 60, 60));
+        assertThrows(InvalidParameterException.class, () -> SessionLayout.compile(blocks));
+    }
+
+    @Test
+    public void testFingerprintOnlyDependsOnTheBlocks() {
+        List<SessionTemplateBlock> blocks = List.of(
+                new SessionTemplateBlock(SessionBlockType.SESSION, null, 9 * 60, 180),
+                new SessionTemplateBlock(SessionBlockType.BREAK, "Lunch", 12 * 60, 60),
+                new SessionTemplateBlock(SessionBlockType.SESSION, null, 13 * 60, 240)
+        );
+        List<SessionTemplateBlock> shorterLunch = List.of(
+                new SessionTemplateBlock(SessionBlockType.SESSION, null, 9 * 60, 180),
+                new SessionTemplateBlock(SessionBlockType.BREAK, "Lunch", 12 * 60, 45),
+                new SessionTemplateBlock(SessionBlockType.SESSION, null, 13 * 60, 240)
+        );
+
+        assertEquals(SessionLayout.compile(blocks).getFingerprint(), SessionLayout.compile(blocks).getFingerprint(), "Equal templates should have equal fingerprints");
+        assertNotEquals(SessionLayout.compile(blocks).getFingerprint(), SessionLayout.compile(shorterLunch).getFingerprint(), "A changed block should change the fingerprint");
+    }
+}
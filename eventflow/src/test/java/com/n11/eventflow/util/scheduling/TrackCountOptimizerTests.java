@@ -0,0 +1,92 @@
+package com.n11.eventflow.util.scheduling;
+
+import com.n11.eventflow.model.dto.Agenda.Response.OptimizedAgendaResponseDTO;
+import com.n11.eventflow.model.dto.Presentation.PresentationInfoDTO;
+import com.n11.eventflow.util.ConferenceAgendaUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TrackCountOptimizerTests {
+
+    private static final long BUDGET = TimeUnit.SECONDS.toNanos(5);
+
+    /**
+     * 815 minutes that fit into two tracks, where best-fit-decreasing opens a third one.
+     */
+    private List<PresentationInfoDTO> presentations() {
+        List<PresentationInfoDTO> presentations = new ArrayList<>();
+        int[] durations = {70, 60, 35, 115, 155, 165, 50, 45, 20, 100};
+        for (int i = 0; i < durations.length; i++) {
+            presentations.add(new PresentationInfoDTO("Talk " + i, durations[i]));
+        }
+        return presentations;
+    }
+
+    @Test
+    public void testLocalSearchReachesTheLowerBound() {
+        List<PresentationInfoDTO> presentations = presentations();
+        TrackCountOptimizer.Result result = new TrackCountOptimizer().optimize(presentations, SessionLayout.DEFAULT, BUDGET);
+
+        assertEquals(3, result.initialTrackCount(), "Best-fit-decreasing should need three tracks");
+        assertEquals(2, TrackCountOptimizer.lowerBound(presentations, SessionLayout.DEFAULT), "815 minutes should need at least two tracks");
+        assertEquals(2, result.tracks().size(), "Local search should empty the third track");
+
+        List<PresentationInfoDTO> scheduled = new ArrayList<>();
+        for (TrackPlan track : result.tracks()) {
+            for (int session = 0; session < track.getSessions().size(); session++) {
+                int minutes = track.getSessions().get(session).stream().mapToInt(PresentationInfoDTO::getDuration).sum();
+                assertTrue(minutes <= SessionLayout.DEFAULT.getSessionDuration(session), "No session should overflow");
+                scheduled.addAll(track.getSessions().get(session));
+            }
+        }
+        assertEquals(presentations.size(), scheduled.size(), "Every presentation should be scheduled exactly once");
+        assertTrue(scheduled.containsAll(presentations), "No presentation should be lost");
+    }
+
+    @Test
+    public void testEqualPresentationsAreAllScheduled() {
+        // Presentations created on this node are cached without ids, so equal talks are equal DTOs
+        Random random = new Random(116);
+        int[] durations = {20, 30, 45, 60, 90};
+        List<PresentationInfoDTO> presentations = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            presentations.add(new PresentationInfoDTO("Talk", durations[random.nextInt(durations.length)]));
+        }
+        TrackCountOptimizer.Result result = new TrackCountOptimizer().optimize(presentations, SessionLayout.DEFAULT, BUDGET);
+
+        int scheduled = 0;
+        int minutes = 0;
+        for (TrackPlan track : result.tracks()) {
+            for (List<PresentationInfoDTO> session : track.getSessions()) {
+                scheduled += session.size();
+                minutes += session.stream().mapToInt(PresentationInfoDTO::getDuration).sum();
+            }
+        }
+        assertEquals(presentations.size(), scheduled, "Every presentation should be scheduled, also those equal to another one");
+        assertEquals(presentations.stream().mapToInt(PresentationInfoDTO::getDuration).sum(), minutes, "Every minute should be scheduled");
+    }
+
+    @Test
+    public void testExhaustedBudgetKeepsTheInitialPacking() {
+        TrackCountOptimizer.Result result = new TrackCountOptimizer().optimize(presentations(), SessionLayout.DEFAULT, 0);
+
+        assertEquals(result.initialTrackCount(), result.tracks().size(), "Without budget the initial packing should be returned");
+    }
+
+    @Test
+    public void testOptimizedAgendaReportsTrackCountAndLowerBound() {
+        OptimizedAgendaResponseDTO response = new ConferenceAgendaUtil().optimizeSessions(presentations(), SessionLayout.DEFAULT, 5000);
+
+        assertEquals(2, response.getConferenceAgenda().size(), "Agenda should have the optimized tracks");
+        assertEquals(2, response.getTrackCount(), "Track count should match the agenda");
+        assertEquals(2, response.getLowerBound(), "Lower bound should be the total minutes divided by 420, rounded up");
+        assertEquals(840 - 815, response.getIdleMinutes(), "Idle minutes should be the unused session minutes");
+        assertEquals(815.0 / 840, response.getUtilization(), 1e-9, "Utilization should be the share of used session minutes");
+    }
+}
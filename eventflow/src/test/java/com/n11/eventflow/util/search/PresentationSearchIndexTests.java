@@ -0,0 +1,68 @@
+package com.n11.eventflow.util.search;
+
+import com.n11.eventflow.model.dto.Presentation.PresentationInfoDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PresentationSearchIndexTests {
+
+    private static PresentationSearchIndex index(String... names) {
+        PresentationSearchIndex index = new PresentationSearchIndex();
+        for (String name : names) {
+            index.addAll(List.of(new PresentationInfoDTO(name, 30)));
+        }
+        return index;
+    }
+
+    private static List<String> names(List<PresentationInfoDTO> presentations) {
+        return presentations.stream().map(PresentationInfoDTO::getName).toList();
+    }
+
+    @Test
+    public void testTokenizeSplitsLowerCaseWords() {
+        assertEquals(List.of("junit", "5", "shaping", "the", "future"), PresentationSearchIndex.tokenize("JUnit 5 - Shaping the Future, the"),
+                "Words should be lower-cased, split on anything but letters and digits and listed once");
+    }
+
+    @Test
+    public void testModesMatchEveryWordOfTheQuery() {
+        PresentationSearchIndex index = index("Cloud Native Java", "Flavors of Concurrency in Java", "Continuous Delivery", "Clojure Ate Scala (on my project)");
+
+        assertEquals(List.of("Cloud Native Java", "Clojure Ate Scala (on my project)"), names(index.search("clo", SearchMode.PREFIX, 10)),
+                "Prefix search should match the beginning of any word");
+        assertEquals(List.of("Cloud Native Java"), names(index.search("jav nat", SearchMode.PREFIX, 10)), "Every query word should have to match");
+        assertEquals(List.of("Flavors of Concurrency in Java"), names(index.search("concurency java", SearchMode.FUZZY, 10)),
+                "Fuzzy search should accept a missing letter");
+        assertTrue(index.search("concurency", SearchMode.FULL_TEXT, 10).isEmpty(), "Full-text search should only match whole words");
+        assertEquals(List.of("Cloud Native Java", "Flavors of Concurrency in Java"), names(index.search("JAVA", SearchMode.FULL_TEXT, 10)),
+                "Full-text search should ignore case and keep the submission order");
+        assertEquals(List.of("Cloud Native Java"), names(index.search("java", SearchMode.FULL_TEXT, 1)), "The limit should cut off the result");
+        assertTrue(index.search("- !", SearchMode.PREFIX, 10).isEmpty(), "A query without words should match nothing");
+    }
+
+    @Test
+    public void testFuzzyDistanceGrowsWithTheWordLength() {
+        PresentationSearchIndex index = index("Rails Magic", "Apache Spark", "Perfect Scalability");
+
+        assertEquals(List.of("Rails Magic"), names(index.search("rals", SearchMode.FUZZY, 10)), "A short word should allow one edit");
+        assertTrue(index.search("rls", SearchMode.FUZZY, 10).isEmpty(), "A short word should not allow two edits");
+        assertEquals(List.of("Perfect Scalability"), names(index.search("scalabilty perfct", SearchMode.FUZZY, 10)),
+                "A long word should allow two edits");
+    }
+
+    @Test
+    public void testAddedPresentationsAreFound() {
+        PresentationSearchIndex index = index("Monitoring Reactive Applications");
+        assertTrue(index.search("async", SearchMode.PREFIX, 10).isEmpty(), "An unknown word should match nothing");
+
+        index.addAll(List.of(new PresentationInfoDTO("Async Testing on JVM", 60), new PresentationInfoDTO("Reactive Async Streams", 45)));
+        assertEquals(List.of("Async Testing on JVM", "Reactive Async Streams"), names(index.search("async", SearchMode.PREFIX, 10)),
+                "Added presentations should be found in submission order");
+        assertEquals(List.of("Monitoring Reactive Applications", "Reactive Async Streams"), names(index.search("reactive", SearchMode.FULL_TEXT, 10)),
+                "New postings should be appended to the existing ones");
+        assertEquals(3, index.size(), "Every presentation should be indexed once");
+    }
+}